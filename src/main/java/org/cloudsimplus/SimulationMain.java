@@ -10,23 +10,64 @@ import org.cloudsimplus.hosts.Host;
 import org.cloudsimplus.hosts.HostSimple;
 import org.cloudsimplus.resources.Pe;
 import org.cloudsimplus.resources.PeSimple;
+import org.cloudsimplus.schedulers.cloudlet.CloudletScheduler;
 import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerSpaceShared;
 import org.cloudsimplus.schedulers.vm.VmSchedulerTimeShared;
 import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.vms.VmSimple;
 
+import org.cloudsimplus.examples.AgingWeightTuner;
+import org.cloudsimplus.examples.BatchModeBroker;
+import org.cloudsimplus.examples.BestFitBroker;
+import org.cloudsimplus.examples.CapacityAwareBroker;
+import org.cloudsimplus.examples.DeadlineAwareBroker;
 import org.cloudsimplus.examples.DynamicAvAgingLoadAwareBroker;
 import org.cloudsimplus.examples.DynamicAvLoadBalancingBroker;
+import org.cloudsimplus.examples.ObservableBroker;
+import org.cloudsimplus.examples.PlacementPlanner;
+import org.cloudsimplus.examples.PlanDispatchBroker;
+import org.cloudsimplus.examples.PowerOfDChoicesBroker;
+import org.cloudsimplus.examples.VmAutoscaler;
+import org.cloudsimplus.examples.VmTransferModel;
+import org.cloudsimplus.examples.VmType;
+import org.cloudsimplus.scheduling.CloudletSchedulerSjfAging;
+import org.cloudsimplus.scheduling.CloudletSchedulerSrtfAging;
 import org.cloudsimplus.scenario.DynamicWorkloadScenario;
 import org.cloudsimplus.scenario.BurstyWorkloadScenario;
 import org.cloudsimplus.scenario.HeavyLoadScenario;
 import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.DataSizes;
+import org.cloudsimplus.scenario.Deadlines;
+import org.cloudsimplus.scenario.JobShapes;
 import org.cloudsimplus.metrics.MetricsCollector;
 import org.cloudsimplus.chart.ChartPlotter;
-
+import org.cloudsimplus.monitoring.LiveSimulationStats;
+import org.cloudsimplus.prediction.EwmaLengthPredictor;
+import org.cloudsimplus.prediction.LengthEstimates;
+import org.cloudsimplus.prediction.LengthPredictor;
+import org.cloudsimplus.prediction.QuantileLengthPredictor;
+import org.cloudsimplus.monitoring.MetricsEndpoint;
+import org.cloudsimplus.profiling.CloudletDispatchEvent;
+import org.cloudsimplus.profiling.CloudletFinishEvent;
+import org.cloudsimplus.profiling.ProfiledDatacenter;
+import org.cloudsimplus.profiling.ScenarioRecording;
+import org.cloudsimplus.profiling.ScenarioRunEvent;
+import org.cloudsimplus.profiling.SimulationProfiler;
+import org.cloudsimplus.results.HtmlReportWriter;
+import org.cloudsimplus.results.ResultsCli;
+import org.cloudsimplus.results.ResultsStore;
+import org.cloudsimplus.results.RunRecord;
+import org.cloudsimplus.trace.DecisionLogWriter;
+import org.cloudsimplus.trace.VmTraceWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Main entry point for CloudSim Plus Dynamic Scheduling Simulation.
@@ -37,10 +78,127 @@ import java.util.function.Function;
  */
 public class SimulationMain {
 
-    private static final ChartPlotter chartPlotter = new ChartPlotter();
+    // Save charts without opening a window (-Dsim.headless=true), as PNG or SVG (-Dsim.chart.format=svg).
+    // Faceted charts can use a log axis (-Dsim.chart.log=true) and be normalized
+    // against a baseline broker (-Dsim.chart.baseline=Simple)
+    private static final ChartPlotter chartPlotter = new ChartPlotter()
+            .setHeadless(Boolean.getBoolean("sim.headless"))
+            .setOutputFormat(ChartPlotter.OutputFormat.valueOf(
+                    System.getProperty("sim.chart.format", "png").toUpperCase()))
+            .setLogScale(Boolean.getBoolean("sim.chart.log"))
+            .setBaselineBroker(System.getProperty("sim.chart.baseline"));
+
+    // Start a Flight Recorder recording per scenario (-Dsim.jfr=true)
+    private static final boolean JFR_RECORDING = Boolean.getBoolean("sim.jfr");
+
+    // Serve live OpenMetrics on localhost (-Dsim.metrics.port=9464), disabled when 0
+    private static final int METRICS_PORT = Integer.getInteger("sim.metrics.port", 0);
+    private static final LiveSimulationStats liveStats = new LiveSimulationStats();
+
+    // Log every mapping decision to simulation_results/decisions/<label> (-Dsim.decisionlog=true)
+    private static final boolean DECISION_LOG = Boolean.getBoolean("sim.decisionlog");
+
+    // Print/save a wall-clock profile of each run to simulation_results/profiling (-Dsim.profile=true)
+    private static final boolean PROFILE = Boolean.getBoolean("sim.profile");
+    private static final File PROFILE_DIR = new File("simulation_results", "profiling");
+
+    // Record per-VM queue depth and utilization to simulation_results/trace/<label>.vmtrace
+    // and plot them as time series (-Dsim.vmtrace=true)
+    private static final boolean VM_TRACE = Boolean.getBoolean("sim.vmtrace");
+    private static final List<Path> vmTraces = new ArrayList<>();
+
+    // Defaults of the sim.* properties that change the results of a run
+    private static final RunRecord.Config DEFAULTS = RunRecord.Config.DEFAULTS;
+
+    // Cloudlet scheduler of every VM: FIFO space-shared (default), shortest-job-first
+    // with aging (-Dsim.vm.scheduler=sjf) or preemptive shortest-remaining-time-first (srtf)
+    private static final String VM_SCHEDULER = System.getProperty("sim.vm.scheduler", DEFAULTS.vmScheduler());
+
+    // VMs that run out of work steal waiting cloudlets from the most backlogged VM (-Dsim.worksteal=true)
+    private static final boolean WORK_STEALING = Boolean.getBoolean("sim.worksteal");
+
+    // Also run every workload with a power-of-d-choices broker sampling d VMs (-Dsim.powerofd=<d>)
+    private static final int POWER_OF_D = Integer.getInteger("sim.powerofd", (int) DEFAULTS.powerOfD());
+
+    // Also run every workload with the earliest-finish-time broker that reads
+    // free PEs and remaining work of each VM (-Dsim.capacityaware=true)
+    private static final boolean CAPACITY_AWARE = Boolean.getBoolean("sim.capacityaware");
+
+    // Also run every workload with batch-mode brokers planning all waiting cloudlets
+    // at once (-Dsim.batch=minmin,maxmin,sufferage, or any subset)
+    private static final String BATCH_HEURISTICS = System.getProperty("sim.batch", "");
+
+    // Also run every workload with a genetic (-Dsim.plan=ga) or simulated annealing (sa)
+    // planner searching the whole batch for the best placement, or both (ga,sa);
+    // -Dsim.plan.budget sets the milliseconds each batch may take
+    private static final String PLANNERS = System.getProperty("sim.plan", "");
+    private static final long PLAN_BUDGET_MILLIS =
+            Long.getLong("sim.plan.budget", DEFAULTS.planBudgetMillis());
+
+    // Reshape every workload into a mix of 1-, 2- and 4-PE cloudlets, some using
+    // only part of their PEs (-Dsim.jobmix=true), keeping the total work the same;
+    // -Dsim.vm.pes sets the PEs of every VM (2 by default)
+    private static final boolean JOB_MIX = Boolean.getBoolean("sim.jobmix");
+
+    // Also run every workload with the best-fit packing broker with backfilling (-Dsim.bestfit=true)
+    private static final boolean BEST_FIT = Boolean.getBoolean("sim.bestfit");
+
+    // Make every cloudlet's input and output cross its VM's network link, queued
+    // behind the transfers in flight there, and add the transfer time to the
+    // brokers' VM cost (-Dsim.transfer=true, implies mapping on arrival).
+    // -Dsim.io=<share> turns that share of each workload into heavy-I/O jobs, and
+    // -Dsim.vm.bw sets the bandwidth of the VMs in Mbps, cycled like their MIPS
+    // (-Dsim.vm.bw=1000,1000,500,500,250,250). -Dsim.transfer.weight sets the
+    // aging broker's weight of the transfer time (0 ignores it)
+    private static final boolean TRANSFER = Boolean.getBoolean("sim.transfer");
+    private static final double TRANSFER_WEIGHT = Double.parseDouble(
+            System.getProperty("sim.transfer.weight", String.valueOf(DEFAULTS.transferWeight())));
+    private static final double HEAVY_IO_SHARE = Double.parseDouble(System.getProperty("sim.io", String.valueOf(DEFAULTS.heavyIoShare())));
+
+    // Give every cloudlet a deadline of its arrival plus a stretch factor times its
+    // runtime alone on the fastest VM, either fixed (-Dsim.deadline=3) or drawn
+    // uniformly per cloudlet (-Dsim.deadline=1.5:6). Reports deadline misses and
+    // tardiness, and also runs every workload with the EDF and least-slack brokers;
+    // -Dsim.deadline.admission=false turns off their admission control
+    private static final String DEADLINE_STRETCH = System.getProperty("sim.deadline");
+    private static final boolean DEADLINE_ADMISSION =
+            Boolean.parseBoolean(System.getProperty("sim.deadline.admission", String.valueOf(DEFAULTS.deadlineAdmission())));
+
+    // Add and remove VMs as the backlog grows and shrinks (-Dsim.autoscale=true),
+    // starting from the usual VMs; prints the VM-seconds each run consumed
+    private static final boolean AUTOSCALE = Boolean.getBoolean("sim.autoscale");
+    private static final List<VmType> AUTOSCALE_CATALOG = List.of(
+            new VmType("small", 1000, 2), new VmType("medium", 2000, 2), new VmType("large", 3500, 2));
+    private static final int AUTOSCALE_MAX_VMS = 18;
+
+    // Let the aging broker tune α and its cost weights during the run to keep the
+    // p99 waiting time under a target in seconds (-Dsim.selftune=20, implies mapping on arrival).
+    // α orders the VM queues, so it needs an SJF aging scheduler (-Dsim.vm.scheduler=sjf|srtf)
+    private static final double SELF_TUNE_TARGET = Double.parseDouble(System.getProperty("sim.selftune", String.valueOf(DEFAULTS.selfTuneTarget())));
+
+    // Map cloudlets when they arrive instead of all at submission (-Dsim.map.onarrival=true)
+    private static final boolean MAP_ON_ARRIVAL = Boolean.getBoolean("sim.map.onarrival");
+
+    // Schedule on predicted instead of true lengths (implies mapping on arrival):
+    // raw user estimates (-Dsim.predict=estimate), or estimates corrected by an
+    // EWMA (ewma) or per-user quantile (quantile) learned from finished cloudlets.
+    // -Dsim.predict.sigma sets the log-normal noise of the estimates.
+    private static final String LENGTH_PREDICTOR = System.getProperty("sim.predict");
+    private static final double PREDICTION_SIGMA = Double.parseDouble(System.getProperty("sim.predict.sigma", String.valueOf(DEFAULTS.predictionSigma())));
+    private static final int PREDICTION_USERS = 8;
+
+    // Every run is appended to simulation_results/store (see ResultsCli)
+    private static ResultsStore resultsStore;
+
+    // simulation_results/report.html is rewritten after every run, so a sweep can be followed live
+    private static final HtmlReportWriter htmlReport = new HtmlReportWriter(
+            Path.of("simulation_results", "report.html"), "CloudSim Plus - Algorithm Comparison");
+
+    // Workload scenarios W1-W4, each run with every enabled broker
+    private static final int WORKLOADS = 4;
 
     // Datacenter configuration
-    private static final int HOSTS = 2;
+    public static final int HOSTS = 2;
     private static final int HOST_PES = 4;
     private static final long HOST_MIPS = 10000;
     private static final long HOST_RAM = 16384;   // 16 GB
@@ -48,11 +206,13 @@ public class SimulationMain {
     private static final long HOST_STORAGE = 1000000; // 1 TB
 
     // VM configuration (heterogeneous) - 6 VMs for better load balancing
-    private static final int VMS = 6;
-    private static final int[] VM_MIPS = {1000, 1500, 2000, 2500, 3000, 3500}; // Wide range
-    private static final int VM_PES = 2;
+    public static final int VMS = 6;
+    public static final int[] VM_MIPS = {1000, 1500, 2000, 2500, 3000, 3500}; // Wide range
+    public static final int VM_PES = Integer.getInteger("sim.vm.pes", (int) DEFAULTS.vmPes());
     private static final long VM_RAM = 2048;
-    private static final long VM_BW = 1000;
+    private static final String VM_BW_SETTING = System.getProperty("sim.vm.bw", DEFAULTS.vmBw());
+    private static final long[] VM_BW = Arrays.stream(VM_BW_SETTING.split(","))
+            .map(String::trim).mapToLong(Long::parseLong).toArray();
     private static final long VM_SIZE = 10000;
 
     private final CloudSimPlus simulation;
@@ -60,14 +220,26 @@ public class SimulationMain {
     private final List<Vm> vmList;
     private final List<Cloudlet> cloudletList;
     private final MetricsCollector metricsCollector;
+    private final Deadlines deadlines;
     private final String scenarioLabel;
+    private final SimulationProfiler profiler;
+    private final long startedAtMillis;
 
     public static void main(String[] args) {
+        if (SELF_TUNE_TARGET > 0 && VM_SCHEDULER.equals("fifo")) {
+            throw new IllegalArgumentException(
+                    "-Dsim.selftune tunes the VMs' aging factor and needs -Dsim.vm.scheduler=sjf or srtf");
+        }
+
         System.out.println("=".repeat(70));
         System.out.println("  CloudSim Plus - Algorithm Comparison on Multiple Workloads");
-        System.out.println("  2 Algorithms × 4 Workload Scenarios = 8 Test Cases");
+        System.out.printf("  %d Algorithms × %d Workload Scenarios = %d Test Cases%n",
+                enabledBrokers(), WORKLOADS, enabledBrokers() * WORKLOADS);
         System.out.println("=".repeat(70));
 
+        MetricsEndpoint metricsEndpoint = startMetricsEndpoint();
+        resultsStore = openResultsStore();
+
         // ===================================================================
         // WORKLOAD 1: Dynamic Mixed (100 cloudlets)
         // ===================================================================
@@ -80,6 +252,7 @@ public class SimulationMain {
                     () -> DynamicWorkloadScenario.createCloudlets());
         runScenario("W1-Aging", DynamicAvAgingLoadAwareBroker::new,
                     () -> DynamicWorkloadScenario.createCloudlets());
+        runOptionalBrokers("W1", () -> DynamicWorkloadScenario.createCloudlets());
 
         // ===================================================================
         // WORKLOAD 2: Bursty Traffic (80 cloudlets)
@@ -93,6 +266,7 @@ public class SimulationMain {
                     () -> BurstyWorkloadScenario.createCloudlets());
         runScenario("W2-Aging", DynamicAvAgingLoadAwareBroker::new,
                     () -> BurstyWorkloadScenario.createCloudlets());
+        runOptionalBrokers("W2", () -> BurstyWorkloadScenario.createCloudlets());
 
         // ===================================================================
         // WORKLOAD 3: Heavy Load (150 cloudlets)
@@ -106,6 +280,7 @@ public class SimulationMain {
                     () -> HeavyLoadScenario.createCloudlets());
         runScenario("W3-Aging", DynamicAvAgingLoadAwareBroker::new,
                     () -> HeavyLoadScenario.createCloudlets());
+        runOptionalBrokers("W3", () -> HeavyLoadScenario.createCloudlets());
 
         // ===================================================================
         // WORKLOAD 4: Balanced (60 cloudlets)
@@ -119,6 +294,7 @@ public class SimulationMain {
                     () -> BalancedWorkloadScenario.createCloudlets());
         runScenario("W4-Aging", DynamicAvAgingLoadAwareBroker::new,
                     () -> BalancedWorkloadScenario.createCloudlets());
+        runOptionalBrokers("W4", () -> BalancedWorkloadScenario.createCloudlets());
 
         // ===================================================================
         // Summary & Charts
@@ -127,22 +303,180 @@ public class SimulationMain {
         System.out.println(">>> GENERATING COMPARISON CHARTS <<<");
         System.out.println("=".repeat(70));
 
+        long reportStart = System.nanoTime();
         chartPlotter.printSummaryTable();
         chartPlotter.plotAllCharts();
+        for (Path trace : vmTraces) {
+            chartPlotter.plotTimeSeries(trace, ChartPlotter.DEFAULT_TIME_SERIES_POINTS);
+        }
+        if (PROFILE) {
+            System.out.printf("[Profiler] Summary table and chart output: %.3f ms%n",
+                    (System.nanoTime() - reportStart) / 1e6);
+        }
+
+        try {
+            htmlReport.finish();
+            System.out.println("[Report] HTML report written to " + htmlReport.getFile());
+        } catch (IOException e) {
+            System.err.println("[Report] Could not write report: " + e.getMessage());
+        }
+
+        if (metricsEndpoint != null) {
+            metricsEndpoint.stop();
+        }
 
         System.out.println("\n" + "=".repeat(70));
         System.out.println("ALL SIMULATIONS COMPLETE!");
-        System.out.println("8 test cases completed - Charts saved to 'simulation_results'");
+        System.out.println(enabledBrokers() * WORKLOADS + " test cases completed - Charts saved to 'simulation_results'");
         System.out.println("=".repeat(70));
     }
 
+    private static MetricsEndpoint startMetricsEndpoint() {
+        if (METRICS_PORT <= 0) {
+            return null;
+        }
+        try {
+            return new MetricsEndpoint(liveStats, METRICS_PORT);
+        } catch (IOException e) {
+            System.err.println("[Metrics] Could not start endpoint: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static ResultsStore openResultsStore() {
+        try {
+            return new ResultsStore(ResultsCli.DEFAULT_STORE);
+        } catch (IOException e) {
+            System.err.println("[ResultsStore] Could not open store: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static LengthPredictor createLengthPredictor() {
+        return switch (LENGTH_PREDICTOR) {
+            case "estimate" -> LengthPredictor.USER_ESTIMATE;
+            case "ewma" -> new EwmaLengthPredictor();
+            case "quantile" -> new QuantileLengthPredictor();
+            default -> throw new IllegalArgumentException(
+                    "Unknown length predictor (estimate|ewma|quantile): " + LENGTH_PREDICTOR);
+        };
+    }
+
+    private static DatacenterBroker createPowerOfDBroker(CloudSimPlus simulation) {
+        return new PowerOfDChoicesBroker(simulation, POWER_OF_D, 42);
+    }
+
+    /**
+     * Number of brokers run on every workload: Simple and Aging plus those
+     * enabled by the sim.* properties, as run by {@link #runOptionalBrokers}.
+     */
+    private static int enabledBrokers() {
+        int brokers = 2;
+        if (POWER_OF_D > 0) {
+            brokers++;
+        }
+        if (CAPACITY_AWARE) {
+            brokers++;
+        }
+        if (BEST_FIT) {
+            brokers++;
+        }
+        brokers += countNames(PLANNERS);
+        if (DEADLINE_STRETCH != null) {
+            brokers += DeadlineAwareBroker.Policy.values().length;
+        }
+        brokers += countNames(BATCH_HEURISTICS);
+        return brokers;
+    }
+
+    /** Number of non-blank names in a comma-separated property */
+    private static int countNames(String names) {
+        return (int) Arrays.stream(names.split(",")).filter(name -> !name.isBlank()).count();
+    }
+
+    /**
+     * Runs a workload with the brokers enabled by system properties,
+     * labelled {@code <workload>-<broker>}.
+     */
+    private static void runOptionalBrokers(String workload,
+                                           java.util.function.Supplier<List<Cloudlet>> cloudletSupplier) {
+        if (POWER_OF_D > 0) {
+            runScenario(workload + "-PowerOfD", SimulationMain::createPowerOfDBroker, cloudletSupplier);
+        }
+        if (CAPACITY_AWARE) {
+            runScenario(workload + "-CapacityAware", CapacityAwareBroker::new, cloudletSupplier);
+        }
+        if (BEST_FIT) {
+            runScenario(workload + "-BestFit", BestFitBroker::new, cloudletSupplier);
+        }
+        for (String name : PLANNERS.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            PlacementPlanner.Method method = parsePlannerMethod(name.trim());
+            runScenario(workload + "-" + method.getLabel(),
+                    sim -> new PlanDispatchBroker(sim,
+                            new PlacementPlanner(method).setBudgetMillis(PLAN_BUDGET_MILLIS)),
+                    cloudletSupplier);
+        }
+        if (DEADLINE_STRETCH != null) {
+            for (DeadlineAwareBroker.Policy policy : DeadlineAwareBroker.Policy.values()) {
+                runScenario(workload + "-" + policy.getLabel(),
+                        sim -> new DeadlineAwareBroker(sim, policy).setAdmissionControl(DEADLINE_ADMISSION),
+                        cloudletSupplier);
+            }
+        }
+        for (String name : BATCH_HEURISTICS.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            BatchModeBroker.Heuristic heuristic = parseBatchHeuristic(name.trim());
+            runScenario(workload + "-" + heuristic.getLabel(),
+                    sim -> new BatchModeBroker(sim, heuristic), cloudletSupplier);
+        }
+    }
+
+    private static PlacementPlanner.Method parsePlannerMethod(String name) {
+        return switch (name.toLowerCase()) {
+            case "ga" -> PlacementPlanner.Method.GENETIC;
+            case "sa" -> PlacementPlanner.Method.ANNEALING;
+            default -> throw new IllegalArgumentException("Unknown planner: " + name);
+        };
+    }
+
+    private static BatchModeBroker.Heuristic parseBatchHeuristic(String name) {
+        return switch (name.toLowerCase()) {
+            case "minmin" -> BatchModeBroker.Heuristic.MIN_MIN;
+            case "maxmin" -> BatchModeBroker.Heuristic.MAX_MIN;
+            case "sufferage" -> BatchModeBroker.Heuristic.SUFFERAGE;
+            default -> throw new IllegalArgumentException("Unknown batch heuristic: " + name);
+        };
+    }
+
     private static void runScenario(String label,
                                      Function<CloudSimPlus, DatacenterBroker> brokerFactory,
                                      java.util.function.Supplier<List<Cloudlet>> cloudletSupplier) {
         System.out.println("\n" + "-".repeat(70));
         System.out.println(">>> Running: " + label + " <<<");
         System.out.println("-".repeat(70));
-        new SimulationMain(label, brokerFactory, cloudletSupplier);
+
+        ScenarioRecording recording = JFR_RECORDING ? ScenarioRecording.start(label) : null;
+
+        ScenarioRunEvent runEvent = new ScenarioRunEvent();
+        runEvent.begin();
+        try {
+            SimulationMain run = new SimulationMain(label, brokerFactory, cloudletSupplier);
+
+            runEvent.scenario = label;
+            runEvent.submittedCloudlets = run.cloudletList.size();
+            runEvent.finishedCloudlets = run.broker.getCloudletFinishedList().size();
+            runEvent.simulatedTime = run.simulation.clock();
+        } finally {
+            runEvent.commit();
+            if (recording != null) {
+                recording.close();
+            }
+        }
     }
 
     /**
@@ -156,27 +490,91 @@ public class SimulationMain {
                           Function<CloudSimPlus, DatacenterBroker> brokerFactory,
                           java.util.function.Supplier<List<Cloudlet>> cloudletSupplier) {
         this.scenarioLabel = label;
+        this.startedAtMillis = System.currentTimeMillis();
         simulation = new CloudSimPlus();
+        profiler = PROFILE ? new SimulationProfiler(label) : null;
+        if (profiler != null) {
+            profiler.attach(simulation);
+        }
 
         // Create datacenter
         Datacenter datacenter = createDatacenter();
 
         // Create broker based on factory method
         broker = brokerFactory.apply(simulation);
+        if (profiler != null && broker instanceof ObservableBroker observable) {
+            observable.setProfiler(profiler);
+        }
+        if (WORK_STEALING && broker instanceof ObservableBroker observable) {
+            observable.setWorkStealing(true);
+        }
+        AgingWeightTuner tuner = null;
+        if (SELF_TUNE_TARGET > 0 && broker instanceof DynamicAvAgingLoadAwareBroker aging) {
+            tuner = new AgingWeightTuner(SELF_TUNE_TARGET);
+            aging.setWeightTuner(tuner);
+        }
+        VmAutoscaler autoscaler = null;
+        if (AUTOSCALE && broker instanceof ObservableBroker observable) {
+            autoscaler = new VmAutoscaler(AUTOSCALE_CATALOG, SimulationMain::createVm)
+                    .setVmLimits(1, AUTOSCALE_MAX_VMS);
+            observable.setAutoscaler(autoscaler);
+        }
 
         // Create VMs (heterogeneous)
-        vmList = createVms();
+        vmList = createVms(VMS, SimulationMain::createCloudletScheduler);
         broker.submitVmList(vmList);
 
         // Create cloudlets using supplied workload scenario
-        cloudletList = cloudletSupplier.get();
+        cloudletList = JOB_MIX ? JobShapes.apply(cloudletSupplier.get(), VM_PES, 42) : cloudletSupplier.get();
+        if (HEAVY_IO_SHARE > 0) {
+            DataSizes.apply(cloudletList, HEAVY_IO_SHARE, 42);
+        }
+        registerSchedulingEvents(cloudletList);
+        if (broker instanceof ObservableBroker observable) {
+            if (MAP_ON_ARRIVAL || LENGTH_PREDICTOR != null) {
+                observable.setMapOnArrival(true);
+            }
+            if (TRANSFER) {
+                observable.setTransferModel(new VmTransferModel());
+            }
+            if (TRANSFER && broker instanceof DynamicAvAgingLoadAwareBroker aging) {
+                aging.setTransferWeight(TRANSFER_WEIGHT);
+            }
+            if (LENGTH_PREDICTOR != null) {
+                observable.setLengthPredictor(createLengthPredictor(),
+                        LengthEstimates.generate(cloudletList, PREDICTION_USERS, PREDICTION_SIGMA, 42));
+            }
+        }
+        deadlines = DEADLINE_STRETCH == null ? null : createDeadlines(cloudletList);
+        if (deadlines != null && broker instanceof DeadlineAwareBroker deadlineAware) {
+            deadlineAware.setDeadlines(deadlines);
+        }
+        if (METRICS_PORT > 0) {
+            registerLiveStats();
+        }
         broker.submitCloudletList(cloudletList);
 
         // Initialize metrics collector
         metricsCollector = new MetricsCollector();
 
         // Run simulation
+        DecisionLogWriter decisionLog = DECISION_LOG ? openDecisionLog() : null;
+        VmTraceWriter vmTrace = VM_TRACE ? openVmTrace() : null;
+        long simulationStart = System.nanoTime();
         simulation.start();
+        if (profiler != null) {
+            profiler.setSimulationNanos(System.nanoTime() - simulationStart);
+        }
+        closeDecisionLog(decisionLog);
+        closeVmTrace(vmTrace);
+        printPreemptions();
+        printStolenCloudlets();
+        printRejectedCloudlets();
+        printBackfilledCloudlets();
+        printTransfers();
+        printPlans();
+        printAutoscaling(autoscaler);
+        printSelfTuning(tuner);
 
         // Collect and print results
         List<Cloudlet> finishedCloudlets = broker.getCloudletFinishedList();
@@ -187,9 +585,20 @@ public class SimulationMain {
      * Creates a Datacenter with multiple hosts.
      */
     private Datacenter createDatacenter() {
-        List<Host> hostList = new ArrayList<>();
+        // Room for every VM the autoscaler may add
+        List<Host> hostList = createHosts(AUTOSCALE ? hostsFor(AUTOSCALE_MAX_VMS) : HOSTS);
+        return profiler != null
+                ? new ProfiledDatacenter(simulation, hostList, profiler)
+                : new DatacenterSimple(simulation, hostList);
+    }
 
-        for (int i = 0; i < HOSTS; i++) {
+    /**
+     * Creates hosts of the comparison's configuration. The other experiments
+     * build their datacenters from these too, so results stay comparable.
+     */
+    public static List<Host> createHosts(int count) {
+        List<Host> hostList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
             List<Pe> peList = new ArrayList<>();
             for (int j = 0; j < HOST_PES; j++) {
                 peList.add(new PeSimple(HOST_MIPS));
@@ -199,28 +608,266 @@ public class SimulationMain {
                     .setVmScheduler(new VmSchedulerTimeShared());
             hostList.add(host);
         }
+        return hostList;
+    }
 
-        return new DatacenterSimple(simulation, hostList);
+    /**
+     * Number of hosts with a PE for every PE of up to {@code maxVms} VMs,
+     * and no fewer than {@link #HOSTS}.
+     */
+    public static int hostsFor(int maxVms) {
+        return Math.max(HOSTS, maxVms * VM_PES / HOST_PES);
     }
 
     /**
-     * Creates heterogeneous VMs with different MIPS values.
+     * Creates heterogeneous VMs with different MIPS values, each running its
+     * cloudlets with a scheduler from the given supplier.
      */
-    private List<Vm> createVms() {
+    public static List<Vm> createVms(int count, Supplier<CloudletScheduler> scheduler) {
         List<Vm> vms = new ArrayList<>();
 
-        for (int i = 0; i < VMS; i++) {
-            Vm vm = new VmSimple(VM_MIPS[i % VM_MIPS.length], VM_PES)
-                    .setRam(VM_RAM)
-                    .setBw(VM_BW)
-                    .setSize(VM_SIZE)
-                    .setCloudletScheduler(new CloudletSchedulerSpaceShared());
-            vms.add(vm);
+        for (int i = 0; i < count; i++) {
+            vms.add(createVm(new VmType("vm" + i, VM_MIPS[i % VM_MIPS.length], VM_PES),
+                    VM_BW[i % VM_BW.length], scheduler.get()));
         }
 
         return vms;
     }
 
+    /**
+     * Creates a VM of the given type running its cloudlets with the given scheduler.
+     */
+    public static Vm createVm(VmType type, CloudletScheduler scheduler) {
+        return createVm(type, VM_BW[0], scheduler);
+    }
+
+    private static Vm createVm(VmType type) {
+        return createVm(type, createCloudletScheduler());
+    }
+
+    private static Vm createVm(VmType type, long bw, CloudletScheduler scheduler) {
+        return new VmSimple(type.mips(), type.pes())
+                .setRam(VM_RAM)
+                .setBw(bw)
+                .setSize(VM_SIZE)
+                .setCloudletScheduler(scheduler);
+    }
+
+    /**
+     * Creates the cloudlet scheduler selected by the sim.vm.scheduler property.
+     */
+    private static CloudletScheduler createCloudletScheduler() {
+        return switch (VM_SCHEDULER) {
+            case "fifo" -> new CloudletSchedulerSpaceShared();
+            case "sjf" -> new CloudletSchedulerSjfAging();
+            case "srtf" -> new CloudletSchedulerSrtfAging();
+            default -> throw new IllegalArgumentException("Unknown VM scheduler: " + VM_SCHEDULER);
+        };
+    }
+
+    private static Deadlines createDeadlines(List<Cloudlet> cloudlets) {
+        double fastest = Arrays.stream(VM_MIPS).max().orElseThrow();
+        String[] range = DEADLINE_STRETCH.split(":");
+        double min = Double.parseDouble(range[0]);
+        double max = range.length > 1 ? Double.parseDouble(range[1]) : min;
+        return Deadlines.uniformStretch(cloudlets, min, max, fastest, 42);
+    }
+
+    private void printPreemptions() {
+        long preemptions = vmList.stream()
+                .filter(vm -> vm.getCloudletScheduler() instanceof CloudletSchedulerSrtfAging)
+                .mapToLong(vm -> ((CloudletSchedulerSrtfAging) vm.getCloudletScheduler()).getPreemptions())
+                .sum();
+        if (preemptions > 0) {
+            System.out.printf("[Scheduler] %d cloudlet preemptions%n", preemptions);
+        }
+    }
+
+    private void printAutoscaling(VmAutoscaler autoscaler) {
+        if (autoscaler != null) {
+            System.out.printf("[Autoscaler] %d VMs added, %d removed, peak %d VMs, %.1f VM-seconds%n",
+                    autoscaler.getScaleUps(), autoscaler.getScaleDowns(), autoscaler.getPeakVms(),
+                    autoscaler.getVmSeconds());
+        }
+    }
+
+    private void printSelfTuning(AgingWeightTuner tuner) {
+        if (tuner != null && !tuner.getSteps().isEmpty()) {
+            double maxAlpha = tuner.getSteps().stream().mapToDouble(AgingWeightTuner.Step::alpha).max().orElse(0);
+            double maxSpread = tuner.getSteps().stream().mapToDouble(AgingWeightTuner.Step::spread).max().orElse(0);
+            System.out.printf("[SelfTuning] %d steps, final alpha %.2f (max %.2f), weight spread %.2f (max %.2f)%n",
+                    tuner.getSteps().size(), tuner.getAlpha(), maxAlpha, tuner.getSpread(), maxSpread);
+        }
+    }
+
+    private void printPlans() {
+        if (broker instanceof PlanDispatchBroker planned) {
+            for (PlacementPlanner.Result result : planned.getResults()) {
+                System.out.printf("[Planner] %d cloudlets: objective %.2f (seed %.2f), est. makespan %.2f s, "
+                                + "mean flow %.2f s, %d plans evaluated in %d rounds%n",
+                        result.vms().length, result.objective(), result.seedObjective(), result.makespan(),
+                        result.meanFlowTime(), result.evaluations(), result.rounds());
+            }
+        }
+    }
+
+    private void printRejectedCloudlets() {
+        if (broker instanceof DeadlineAwareBroker deadlineAware && deadlineAware.getRejectedCloudlets() > 0) {
+            System.out.printf("[Admission] %d cloudlets demoted to best effort%n", deadlineAware.getRejectedCloudlets());
+        }
+    }
+
+    private void printBackfilledCloudlets() {
+        if (broker instanceof BestFitBroker bestFit && bestFit.getBackfilledCloudlets() > 0) {
+            System.out.printf("[Backfill] %d cloudlets started ahead of a blocked head%n", bestFit.getBackfilledCloudlets());
+        }
+    }
+
+    private void printTransfers() {
+        if (broker instanceof ObservableBroker observable && observable.getTransferModel() != null) {
+            VmTransferModel transfers = observable.getTransferModel();
+            System.out.printf("[Transfer] %d inputs staged, %.4f s mean / %.4f s max delay, %.1f GB moved%n",
+                    transfers.getStageIns(), transfers.getMeanStageInDelay(), transfers.getMaxStageInDelay(),
+                    transfers.getMovedMegabytes() / 1000);
+        }
+    }
+
+    private void printStolenCloudlets() {
+        if (broker instanceof ObservableBroker observable && observable.getStolenCloudlets() > 0) {
+            System.out.printf("[WorkStealing] %d cloudlets moved to idle VMs%n", observable.getStolenCloudlets());
+        }
+    }
+
+    /**
+     * Emits JFR dispatch and finish events for each cloudlet.
+     */
+    private void registerSchedulingEvents(List<Cloudlet> cloudlets) {
+        for (Cloudlet cloudlet : cloudlets) {
+            cloudlet.addOnStartListener(info -> new CloudletDispatchEvent(
+                    info.getCloudlet().getId(), info.getVm().getId(),
+                    info.getCloudlet().getSubmissionDelay(), info.getTime()).commit());
+            cloudlet.addOnFinishListener(info -> new CloudletFinishEvent(
+                    info.getCloudlet().getId(), info.getVm().getId(), info.getCloudlet().getLength(),
+                    info.getCloudlet().getSubmissionDelay(), info.getCloudlet().getStartTime(),
+                    info.getTime()).commit());
+        }
+    }
+
+    /**
+     * Opens a decision log for this scenario and attaches it to the broker.
+     */
+    private DecisionLogWriter openDecisionLog() {
+        if (!(broker instanceof ObservableBroker observable)) {
+            return null;
+        }
+        try {
+            DecisionLogWriter writer = new DecisionLogWriter(
+                    Path.of("simulation_results", "decisions", scenarioLabel));
+            observable.addOnMappingListener(writer);
+            return writer;
+        } catch (IOException e) {
+            System.err.println("[DecisionLog] Could not open log: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeDecisionLog(DecisionLogWriter writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+            System.out.printf("[DecisionLog] %d decisions written to %s%n",
+                    writer.getTotalRecords(), writer.getDirectory());
+        } catch (IOException e) {
+            System.err.println("[DecisionLog] Error closing log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a VM trace for this scenario, sampled on every clock tick.
+     */
+    private VmTraceWriter openVmTrace() {
+        try {
+            VmTraceWriter writer = new VmTraceWriter(
+                    Path.of("simulation_results", "trace", scenarioLabel + ".vmtrace"), vmList);
+            writer.attach(simulation);
+            return writer;
+        } catch (IOException e) {
+            System.err.println("[VmTrace] Could not open trace: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeVmTrace(VmTraceWriter writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+            vmTraces.add(writer.getFile());
+            System.out.printf("[VmTrace] %d samples written to %s%n", writer.getRows(), writer.getFile());
+        } catch (IOException e) {
+            System.err.println("[VmTrace] Error closing trace: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends this run's configuration and metrics to the results store
+     * and the HTML report.
+     */
+    private void saveResult() {
+        RunRecord record = RunRecord.of(scenarioLabel, broker.getClass().getSimpleName(),
+                vmList.size(), cloudletList.size(), runConfig(), startedAtMillis, System.currentTimeMillis(),
+                simulation.clock(), metricsCollector);
+        if (resultsStore != null) {
+            try {
+                resultsStore.append(record);
+            } catch (IOException e) {
+                System.err.println("[ResultsStore] Could not save result: " + e.getMessage());
+            }
+        }
+        try {
+            htmlReport.add(record);
+        } catch (IOException e) {
+            System.err.println("[Report] Could not update report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The settings of this run selected by the sim.* properties.
+     */
+    private static RunRecord.Config runConfig() {
+        return new RunRecord.Config(VM_SCHEDULER, VM_PES, VM_BW_SETTING, WORK_STEALING,
+                MAP_ON_ARRIVAL, LENGTH_PREDICTOR == null ? "" : LENGTH_PREDICTOR, PREDICTION_SIGMA,
+                JOB_MIX, TRANSFER, TRANSFER_WEIGHT, HEAVY_IO_SHARE,
+                DEADLINE_STRETCH == null ? "" : DEADLINE_STRETCH, DEADLINE_ADMISSION, AUTOSCALE,
+                SELF_TUNE_TARGET, POWER_OF_D, PLAN_BUDGET_MILLIS);
+    }
+
+    /**
+     * Feeds the live metrics endpoint from simulation, broker and cloudlet listeners.
+     */
+    private void registerLiveStats() {
+        liveStats.beginScenario(scenarioLabel, vmList.size());
+        liveStats.cloudletsSubmitted(cloudletList.size());
+
+        simulation.addOnClockTickListener(info -> liveStats.setSimulationTime(info.getTime()));
+        if (broker instanceof ObservableBroker observable) {
+            observable.addOnMappingListener((cloudlet, vm, length, cost, runnerUpCost, time) -> liveStats.cloudletMapped(vm.getId()));
+        }
+
+        for (Cloudlet cloudlet : cloudletList) {
+            cloudlet.addOnStartListener(info -> liveStats.cloudletStarted());
+            cloudlet.addOnFinishListener(info -> {
+                Cloudlet c = info.getCloudlet();
+                liveStats.cloudletFinished(info.getVm().getId(),
+                        Math.max(0.0, c.getStartTime() - c.getSubmissionDelay()),
+                        Math.max(0.0, info.getTime() - c.getSubmissionDelay()));
+            });
+        }
+    }
+
     /**
      * Prints simulation results and metrics for the current scenario.
      */
@@ -234,7 +881,11 @@ public class SimulationMain {
         System.out.println("Total Cloudlets: " + cloudlets.size());
 
         // Collect and print metrics
+        long metricsStart = System.nanoTime();
         metricsCollector.collectMetrics(cloudlets);
+        if (deadlines != null) {
+            metricsCollector.collectDeadlineMetrics(cloudlets, deadlines);
+        }
         metricsCollector.printMetrics();
 
         // Add results to chart plotter for later comparison
@@ -246,6 +897,13 @@ public class SimulationMain {
                 metricsCollector.getThroughput()
         );
 
+        saveResult();
+
+        if (profiler != null) {
+            profiler.add(SimulationProfiler.Phase.METRICS, System.nanoTime() - metricsStart);
+            profiler.printAndSave(PROFILE_DIR);
+        }
+
         System.out.println("=".repeat(60));
     }
 }
\ No newline at end of file
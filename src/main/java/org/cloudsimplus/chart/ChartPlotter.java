@@ -1,5 +1,7 @@
 package org.cloudsimplus.chart;
 
+import org.cloudsimplus.results.RunRecord;
+import org.cloudsimplus.trace.VmTraceReader;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.ChartUtils;
@@ -10,13 +12,24 @@ import org.jfree.chart.renderer.category.BarRenderer;
 import org.jfree.chart.renderer.category.StandardBarPainter;
 import org.jfree.chart.title.TextTitle;
 import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * ChartPlotter for visualizing simulation results.
@@ -26,9 +39,23 @@ import java.util.Map;
  * - Average Response Time
  * - Makespan
  * - Throughput
+ *
+ * Each chart is built once, then all files are rendered and encoded in
+ * parallel. In headless mode (no display, or {@link #setHeadless(boolean)})
+ * only the files are written; otherwise the charts are also shown in a window.
+ *
+ * Scenario names of the form {@code <workload>-<broker>} (e.g. "W1-Aging") are
+ * also drawn as faceted charts, one panel per workload, in
+ * 'simulation_results/faceted' (see {@link FacetedChartPlotter}).
+ *
+ * VM traces (see {@link org.cloudsimplus.trace.VmTraceWriter}) are drawn as
+ * queue depth and utilization time series by {@link #plotTimeSeries(Path, int)}.
  */
 public class ChartPlotter {
 
+    /** File format of the saved charts */
+    public enum OutputFormat { PNG, SVG }
+
     // Store results for each scenario (scenario name -> metrics)
     private final Map<String, SimulationResult> results;
 
@@ -40,10 +67,55 @@ public class ChartPlotter {
             new Color(243, 156, 18)    // Orange
     };
 
+    /** Points kept per time series: about one per horizontal pixel */
+    public static final int DEFAULT_TIME_SERIES_POINTS = 2000;
+
+    // Rows read from a trace between two updates of a displayed time series
+    private static final int TIME_SERIES_CHUNK_ROWS = 1 << 16;
+
+    private OutputFormat outputFormat = OutputFormat.PNG;
+    private boolean headless = GraphicsEnvironment.isHeadless();
+    private boolean logScale;
+    private String baselineBroker;
+
     public ChartPlotter() {
         this.results = new LinkedHashMap<>();
     }
 
+    /**
+     * Sets the file format used to save charts (PNG by default).
+     */
+    public ChartPlotter setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+        return this;
+    }
+
+    /**
+     * Sets whether charts are only saved to files, without opening a window.
+     * Defaults to true when no display is available.
+     */
+    public ChartPlotter setHeadless(boolean headless) {
+        this.headless = headless || GraphicsEnvironment.isHeadless();
+        return this;
+    }
+
+    /**
+     * Sets whether faceted charts use a logarithmic value axis.
+     */
+    public ChartPlotter setLogScale(boolean logScale) {
+        this.logScale = logScale;
+        return this;
+    }
+
+    /**
+     * Sets the broker (the part of the scenario name after the workload, e.g. "Simple")
+     * that faceted charts normalize every metric against. Null disables normalization.
+     */
+    public ChartPlotter setBaselineBroker(String baselineBroker) {
+        this.baselineBroker = baselineBroker;
+        return this;
+    }
+
     /**
      * Adds simulation result for a specific scenario.
      *
@@ -59,7 +131,18 @@ public class ChartPlotter {
     }
 
     /**
-     * Creates and displays all comparison charts in a single window, and saves them as PNG files.
+     * Adds the result of a stored run (see {@link org.cloudsimplus.results.ResultsStore}),
+     * labelled with the settings it ran with unless they are the defaults.
+     * A later run with the same label and settings replaces an earlier one.
+     */
+    public void addResult(RunRecord record) {
+        addResult(record.variantLabel(), record.averageWaitingTime(), record.averageResponseTime(),
+                record.makespan(), record.throughput());
+    }
+
+    /**
+     * Builds all comparison charts once, saves them to 'simulation_results'
+     * and, unless headless, displays them in a single window.
      */
     public void plotAllCharts() {
         if (results.isEmpty()) {
@@ -67,24 +150,172 @@ public class ChartPlotter {
             return;
         }
 
+        List<NamedChart> charts = List.of(
+                new NamedChart("waiting_time_comparison", createWaitingTimeChart(), 800, 600),
+                new NamedChart("response_time_comparison", createResponseTimeChart(), 800, 600),
+                new NamedChart("makespan_comparison", createMakespanChart(), 800, 600),
+                new NamedChart("throughput_comparison", createThroughputChart(), 800, 600),
+                new NamedChart("combined_comparison", createCombinedChart(), 1200, 700)
+        );
+
+        // Save first: the frame's panels draw the same chart objects on the EDT
+        saveChartsToFiles(charts);
+        saveFacetedCharts();
+
+        if (headless) {
+            return;
+        }
+
         // Create main frame with all charts - LARGER SIZE
         JFrame frame = new JFrame("Simulation Results Comparison");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setLayout(new GridLayout(2, 2, 15, 15));  // More spacing
 
         // Add four charts (Waiting Time, Response Time, Makespan, Throughput)
-        frame.add(createChartPanel(createWaitingTimeChart()));
-        frame.add(createChartPanel(createResponseTimeChart()));
-        frame.add(createChartPanel(createMakespanChart()));
-        frame.add(createChartPanel(createThroughputChart()));
+        for (int i = 0; i < 4; i++) {
+            frame.add(createChartPanel(charts.get(i).chart()));
+        }
 
         // LARGER WINDOW SIZE for better visibility
         frame.setSize(1600, 1000);
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
+    }
+
+    /**
+     * Plots the per-VM queue depth and utilization of a VM trace and saves both
+     * charts to 'simulation_results/timeseries'.
+     *
+     * The trace is streamed from disk once and each series is downsampled with
+     * {@link LttbDownsampler}, so only {@code maxPoints} points per VM are ever
+     * held. Unless headless, the window opens right away and the series fill in
+     * as the trace is read; the files are saved when reading completes.
+     *
+     * @param traceFile trace written by {@link org.cloudsimplus.trace.VmTraceWriter}
+     * @param maxPoints maximum points kept per series
+     */
+    public void plotTimeSeries(Path traceFile, int maxPoints) {
+        VmTraceReader reader;
+        try {
+            reader = new VmTraceReader(traceFile);
+        } catch (IOException e) {
+            System.err.println("Error reading trace: " + e.getMessage());
+            return;
+        }
+
+        String name = traceFile.getFileName().toString().replaceFirst("\\.[^.]+$", "");
+        int vmCount = reader.getVmCount();
+        XYSeriesCollection queueData = new XYSeriesCollection();
+        XYSeriesCollection utilizationData = new XYSeriesCollection();
+        for (int vm = 0; vm < vmCount; vm++) {
+            queueData.addSeries(new XYSeries("VM " + vm, false, true));
+            utilizationData.addSeries(new XYSeries("VM " + vm, false, true));
+        }
+
+        List<NamedChart> charts = List.of(
+                new NamedChart(name + "_queue_depth", createTimeSeriesChart(
+                        "Queue Depth - " + name, "Waiting cloudlets", queueData), 1200, 600),
+                new NamedChart(name + "_utilization", createTimeSeriesChart(
+                        "CPU Utilization - " + name, "Utilization (%)", utilizationData), 1200, 600));
+        File outputDir = new File("simulation_results", "timeseries");
+
+        if (headless) {
+            streamTimeSeries(reader, maxPoints, queueData, utilizationData, Runnable::run);
+            saveTimeSeries(charts, outputDir);
+            return;
+        }
+
+        JFrame frame = new JFrame("VM Time Series - " + name);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setLayout(new GridLayout(2, 1, 10, 10));
+        charts.forEach(chart -> frame.add(new ChartPanel(chart.chart())));
+        frame.setSize(1400, 1000);
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
 
-        // Save charts as image files
-        saveChartsToFiles();
+        Thread loader = new Thread(() -> {
+            streamTimeSeries(reader, maxPoints, queueData, utilizationData, SwingUtilities::invokeLater);
+            SwingUtilities.invokeLater(() -> saveTimeSeries(charts, outputDir));
+        }, "trace-loader-" + name);
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Reads the trace once, downsampling every series, and hands the kept
+     * points to the datasets in chunks through the given executor.
+     */
+    private void streamTimeSeries(VmTraceReader reader, int maxPoints, XYSeriesCollection queueData,
+                                  XYSeriesCollection utilizationData, Executor updates) {
+        int vmCount = reader.getVmCount();
+        List<PendingPoints> pending = new ArrayList<>();
+        LttbDownsampler[] queueSamplers = new LttbDownsampler[vmCount];
+        LttbDownsampler[] utilizationSamplers = new LttbDownsampler[vmCount];
+        for (int vm = 0; vm < vmCount; vm++) {
+            PendingPoints queuePoints = new PendingPoints(queueData.getSeries(vm));
+            PendingPoints utilizationPoints = new PendingPoints(utilizationData.getSeries(vm));
+            pending.add(queuePoints);
+            pending.add(utilizationPoints);
+            queueSamplers[vm] = new LttbDownsampler(reader.getRowCount(), maxPoints, queuePoints);
+            utilizationSamplers[vm] = new LttbDownsampler(reader.getRowCount(), maxPoints, utilizationPoints);
+        }
+
+        long[] rows = {0};
+        try {
+            reader.forEach((time, queueDepths, utilizations) -> {
+                for (int vm = 0; vm < vmCount; vm++) {
+                    queueSamplers[vm].add(time, queueDepths[vm]);
+                    utilizationSamplers[vm].add(time, utilizations[vm] * 100.0);
+                }
+                if (++rows[0] % TIME_SERIES_CHUNK_ROWS == 0) {
+                    flushPending(pending, updates);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error reading trace: " + e.getMessage());
+        }
+        for (int vm = 0; vm < vmCount; vm++) {
+            queueSamplers[vm].finish();
+            utilizationSamplers[vm].finish();
+        }
+        flushPending(pending, updates);
+    }
+
+    private static void flushPending(List<PendingPoints> pending, Executor updates) {
+        for (PendingPoints points : pending) {
+            Runnable update = points.drain();
+            if (update != null) {
+                updates.execute(update);
+            }
+        }
+    }
+
+    private void saveTimeSeries(List<NamedChart> charts, File outputDir) {
+        outputDir.mkdirs();
+        try {
+            charts.forEach(chart -> saveChart(chart, outputDir));
+            System.out.println("[ChartPlotter] Time series saved to '" + outputDir + "' folder");
+        } catch (UncheckedIOException e) {
+            System.err.println("Error saving time series: " + e.getCause().getMessage());
+        }
+    }
+
+    private JFreeChart createTimeSeriesChart(String title, String valueLabel, XYSeriesCollection dataset) {
+        JFreeChart chart = ChartFactory.createXYLineChart(
+                title,
+                "Simulation time (s)",
+                valueLabel,
+                dataset,
+                PlotOrientation.VERTICAL,
+                true,
+                true,
+                false
+        );
+        chart.setBackgroundPaint(Color.WHITE);
+        chart.getXYPlot().setBackgroundPaint(new Color(250, 250, 250));
+        chart.getXYPlot().setDomainGridlinePaint(new Color(200, 200, 200));
+        chart.getXYPlot().setRangeGridlinePaint(new Color(200, 200, 200));
+        return chart;
     }
 
     /**
@@ -266,55 +497,72 @@ public class ChartPlotter {
     }
 
     /**
-     * Saves all charts to PNG files in a directory 'simulation_results'.
+     * Saves all charts to a directory 'simulation_results', rendering and
+     * encoding them in parallel.
      */
-    private void saveChartsToFiles() {
+    private void saveChartsToFiles(List<NamedChart> charts) {
+        // Create output directory if not exists
+        File outputDir = new File("simulation_results");
+        if (!outputDir.exists()) {
+            outputDir.mkdirs();
+        }
+
         try {
-            // Create output directory if not exists
-            File outputDir = new File("simulation_results");
-            if (!outputDir.exists()) {
-                outputDir.mkdirs();
-            }
+            charts.parallelStream().forEach(chart -> saveChart(chart, outputDir));
+            System.out.println("\n[ChartPlotter] Charts saved to 'simulation_results' folder");
+        } catch (UncheckedIOException e) {
+            System.err.println("Error saving charts: " + e.getCause().getMessage());
+        }
+    }
 
-            // Save each chart as PNG
-            ChartUtils.saveChartAsPNG(
-                    new File(outputDir, "waiting_time_comparison.png"),
-                    createWaitingTimeChart(),
-                    800, 600
-            );
-
-            ChartUtils.saveChartAsPNG(
-                    new File(outputDir, "response_time_comparison.png"),
-                    createResponseTimeChart(),
-                    800, 600
-            );
-
-            ChartUtils.saveChartAsPNG(
-                    new File(outputDir, "makespan_comparison.png"),
-                    createMakespanChart(),
-                    800, 600
-            );
-
-            ChartUtils.saveChartAsPNG(
-                    new File(outputDir, "throughput_comparison.png"),
-                    createThroughputChart(),
-                    800, 600
-            );
-
-            // Also save a combined chart with all metrics side-by-side
-            saveCombinedChart(outputDir);
+    /**
+     * Saves the per-workload faceted charts to 'simulation_results/faceted'.
+     */
+    private void saveFacetedCharts() {
+        FacetedChartPlotter faceted = new FacetedChartPlotter()
+                .setOutputFormat(outputFormat)
+                .setLogScale(logScale)
+                .setBaselineBroker(baselineBroker);
+        for (Map.Entry<String, SimulationResult> entry : results.entrySet()) {
+            String name = entry.getKey();
+            int dash = name.indexOf('-');
+            String workload = dash > 0 ? name.substring(0, dash) : "All";
+            String broker = dash > 0 ? name.substring(dash + 1) : name;
+            SimulationResult r = entry.getValue();
+            faceted.addResult(workload, broker, r.avgWaitingTime, r.avgResponseTime, r.makespan, r.throughput);
+        }
 
-            System.out.println("\n[ChartPlotter] Charts saved to 'simulation_results' folder");
+        try {
+            faceted.saveAll(new File("simulation_results", "faceted"));
+            System.out.println("[ChartPlotter] Faceted charts saved to 'simulation_results/faceted' folder");
+        } catch (IOException e) {
+            System.err.println("Error saving faceted charts: " + e.getMessage());
+        }
+    }
 
+    /**
+     * Saves one chart in the configured output format.
+     */
+    private void saveChart(NamedChart chart, File outputDir) {
+        try {
+            if (outputFormat == OutputFormat.SVG) {
+                File file = new File(outputDir, chart.fileName() + ".svg");
+                try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    SvgChartWriter.write(chart.chart(), chart.width(), chart.height(), writer);
+                }
+            } else {
+                File file = new File(outputDir, chart.fileName() + ".png");
+                ChartUtils.saveChartAsPNG(file, chart.chart(), chart.width(), chart.height());
+            }
         } catch (IOException e) {
-            System.err.println("Error saving charts: " + e.getMessage());
+            throw new UncheckedIOException(e);
         }
     }
 
     /**
-     * Creates and saves a combined comparison chart for all metrics.
+     * Creates a combined comparison chart for all metrics.
      */
-    private void saveCombinedChart(File outputDir) throws IOException {
+    private JFreeChart createCombinedChart() {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
         // Determine max values to scale throughput for combined chart (for better visibility)
@@ -362,11 +610,7 @@ public class ChartPlotter {
                 org.jfree.chart.axis.CategoryLabelPositions.UP_45
         );
 
-        ChartUtils.saveChartAsPNG(
-                new File(outputDir, "combined_comparison.png"),
-                chart,
-                1200, 700
-        );
+        return chart;
     }
 
     /**
@@ -430,6 +674,56 @@ public class ChartPlotter {
         System.out.println("=".repeat(100));
     }
 
+    /**
+     * Kept points of one series not yet added to its dataset.
+     */
+    private static final class PendingPoints implements LttbDownsampler.PointSink {
+        private final XYSeries series;
+        private double[] xs = new double[256];
+        private double[] ys = new double[256];
+        private int size;
+
+        PendingPoints(XYSeries series) {
+            this.series = series;
+        }
+
+        @Override
+        public void accept(double x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+
+        /**
+         * Returns an update adding the pending points to the series with a
+         * single change notification, or null if there are none.
+         */
+        Runnable drain() {
+            if (size == 0) {
+                return null;
+            }
+            double[] x = Arrays.copyOf(xs, size);
+            double[] y = Arrays.copyOf(ys, size);
+            size = 0;
+            return () -> {
+                for (int i = 0; i < x.length; i++) {
+                    series.add(x[i], y[i], false);
+                }
+                series.fireSeriesChanged();
+            };
+        }
+    }
+
+    /**
+     * A chart built once, with the file name and size it is saved with.
+     */
+    private record NamedChart(String fileName, JFreeChart chart, int width, int height) {
+    }
+
     /**
      * Inner class to store simulation results for a scenario.
      */
@@ -0,0 +1,273 @@
+package org.cloudsimplus.chart;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.CategoryLabelPositions;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.renderer.category.BarRenderer;
+import org.jfree.chart.renderer.category.StandardBarPainter;
+import org.jfree.data.category.DefaultCategoryDataset;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Faceted comparison charts for large experiment matrices.
+ *
+ * Each metric gets one file with a grid of panels, one panel per workload,
+ * showing the brokers side by side. A broker keeps the same color in every
+ * panel. Values can be normalized against a baseline broker of the same
+ * workload and drawn on a logarithmic axis. All panels of all metrics are
+ * rendered concurrently, then stitched into the grid files.
+ */
+public class FacetedChartPlotter {
+
+    /** Metrics that get a faceted chart */
+    public enum Metric {
+        WAITING_TIME("waiting_time", "Average Waiting Time", "s"),
+        RESPONSE_TIME("response_time", "Average Response Time", "s"),
+        MAKESPAN("makespan", "Makespan", "s"),
+        THROUGHPUT("throughput", "Throughput", "tasks/s");
+
+        private final String fileName;
+        private final String title;
+        private final String unit;
+
+        Metric(String fileName, String title, String unit) {
+            this.fileName = fileName;
+            this.title = title;
+            this.unit = unit;
+        }
+    }
+
+    private static final int PANEL_MIN_WIDTH = 360;
+    private static final int PANEL_HEIGHT = 340;
+    private static final int BAR_SLOT = 18;
+    private static final int MAX_GRID_COLUMNS = 5;
+    private static final int HEADER_HEIGHT = 40;
+
+    // workload -> broker -> metric values, both in insertion order
+    private final Map<String, Map<String, double[]>> cells = new LinkedHashMap<>();
+    // broker -> color, so a broker looks the same in every panel
+    private final Map<String, Color> brokerColors = new LinkedHashMap<>();
+
+    private ChartPlotter.OutputFormat outputFormat = ChartPlotter.OutputFormat.PNG;
+    private boolean logScale;
+    private String baselineBroker;
+
+    public FacetedChartPlotter setOutputFormat(ChartPlotter.OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+        return this;
+    }
+
+    /**
+     * Sets whether the value axis is logarithmic. Non-positive values are
+     * left out of log-scale panels.
+     */
+    public FacetedChartPlotter setLogScale(boolean logScale) {
+        this.logScale = logScale;
+        return this;
+    }
+
+    /**
+     * Sets the broker every other broker is normalized against, per workload
+     * and metric (the baseline itself becomes 1.0). Workloads without the
+     * baseline broker are drawn with absolute values. Null disables normalization.
+     */
+    public FacetedChartPlotter setBaselineBroker(String baselineBroker) {
+        this.baselineBroker = baselineBroker;
+        return this;
+    }
+
+    /**
+     * Adds the result of one broker on one workload.
+     * A later result for the same pair replaces an earlier one.
+     */
+    public void addResult(String workload, String broker, double avgWaitingTime,
+                          double avgResponseTime, double makespan, double throughput) {
+        cells.computeIfAbsent(workload, w -> new LinkedHashMap<>())
+                .put(broker, new double[]{avgWaitingTime, avgResponseTime, makespan, throughput});
+        brokerColors.computeIfAbsent(broker, b -> paletteColor(brokerColors.size()));
+    }
+
+    /**
+     * Renders all panels concurrently and saves one grid file per metric,
+     * named {@code faceted_<metric>.png} or {@code .svg}, in the given directory.
+     */
+    public void saveAll(File outputDir) throws IOException {
+        if (cells.isEmpty()) {
+            return;
+        }
+        outputDir.mkdirs();
+
+        List<Panel> panels = new ArrayList<>();
+        for (Metric metric : Metric.values()) {
+            for (String workload : cells.keySet()) {
+                panels.add(new Panel(metric, workload, panels.size()));
+            }
+        }
+
+        Object[] rendered = new Object[panels.size()];
+        try {
+            panels.parallelStream().forEach(panel -> rendered[panel.index()] = render(panel));
+            for (Metric metric : Metric.values()) {
+                int first = metric.ordinal() * cells.size();
+                List<Object> metricPanels = List.of(rendered).subList(first, first + cells.size());
+                saveGrid(metric, metricPanels, outputDir);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object render(Panel panel) {
+        JFreeChart chart = createPanelChart(panel.metric(), panel.workload());
+        int width = panelWidth();
+        if (outputFormat == ChartPlotter.OutputFormat.SVG) {
+            StringWriter svg = new StringWriter();
+            try {
+                SvgChartWriter.write(chart, width, PANEL_HEIGHT, svg);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return svg.toString();
+        }
+        return chart.createBufferedImage(width, PANEL_HEIGHT);
+    }
+
+    private JFreeChart createPanelChart(Metric metric, String workload) {
+        Map<String, double[]> brokers = cells.get(workload);
+        double[] baseline = baselineBroker != null ? brokers.get(baselineBroker) : null;
+        double baselineValue = baseline != null ? baseline[metric.ordinal()] : 0;
+        boolean normalized = baselineValue > 0;
+
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        List<Color> colors = new ArrayList<>();
+        for (Map.Entry<String, double[]> entry : brokers.entrySet()) {
+            double value = entry.getValue()[metric.ordinal()];
+            if (normalized) {
+                value /= baselineValue;
+            }
+            if (logScale && value <= 0) {
+                continue;
+            }
+            dataset.addValue(value, metric.title, entry.getKey());
+            colors.add(brokerColors.get(entry.getKey()));
+        }
+
+        String axisLabel = normalized ? "× " + baselineBroker : metric.unit;
+        JFreeChart chart = ChartFactory.createBarChart(
+                workload, null, axisLabel, dataset, PlotOrientation.VERTICAL, false, true, false);
+        chart.setBackgroundPaint(Color.WHITE);
+        chart.getTitle().setFont(new Font("SansSerif", Font.BOLD, 14));
+
+        CategoryPlot plot = chart.getCategoryPlot();
+        plot.setBackgroundPaint(new Color(250, 250, 250));
+        plot.setRangeGridlinePaint(new Color(200, 200, 200));
+        plot.setOutlinePaint(Color.GRAY);
+        if (logScale) {
+            LogAxis axis = new LogAxis(axisLabel);
+            axis.setSmallestValue(1e-6);
+            axis.setNumberFormatOverride(new DecimalFormat("0.###"));
+            plot.setRangeAxis(axis);
+        }
+        plot.getRangeAxis().setUpperMargin(0.1);
+        plot.getDomainAxis().setCategoryLabelPositions(CategoryLabelPositions.UP_45);
+        plot.getDomainAxis().setTickLabelFont(new Font("SansSerif", Font.PLAIN, 10));
+
+        BarRenderer renderer = new BarRenderer() {
+            @Override
+            public Paint getItemPaint(int row, int column) {
+                return colors.get(column);
+            }
+        };
+        renderer.setBarPainter(new StandardBarPainter());
+        renderer.setShadowVisible(false);
+        renderer.setMaximumBarWidth(0.6);
+        if (logScale) {
+            // Ratios grow up or down from 1; otherwise a zero base would stretch
+            // the log axis down to its smallest value
+            renderer.setBase(normalized ? 1.0 : 0.0);
+            renderer.setIncludeBaseInRange(normalized);
+        }
+        plot.setRenderer(renderer);
+        return chart;
+    }
+
+    private void saveGrid(Metric metric, List<Object> panels, File outputDir) throws IOException {
+        int columns = Math.min(MAX_GRID_COLUMNS, (int) Math.ceil(Math.sqrt(panels.size())));
+        int rows = (panels.size() + columns - 1) / columns;
+        int panelWidth = panelWidth();
+        int width = columns * panelWidth;
+        int height = HEADER_HEIGHT + rows * PANEL_HEIGHT;
+        String title = metric.title + (baselineBroker != null ? " (relative to " + baselineBroker + ")" : "")
+                + (logScale ? " [log scale]" : "");
+
+        if (outputFormat == ChartPlotter.OutputFormat.SVG) {
+            File file = new File(outputDir, "faceted_" + metric.fileName + ".svg");
+            try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                out.write(String.format(Locale.ROOT,
+                        "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\""
+                                + " viewBox=\"0 0 %d %d\" font-family=\"SansSerif\">\n", width, height, width, height));
+                out.write(String.format(Locale.ROOT,
+                        "<rect width=\"%d\" height=\"%d\" fill=\"white\"/>\n"
+                                + "<text x=\"%d\" y=\"27\" text-anchor=\"middle\" font-size=\"20\""
+                                + " font-weight=\"bold\">%s</text>\n",
+                        width, height, width / 2, SvgChartWriter.escape(title)));
+                for (int i = 0; i < panels.size(); i++) {
+                    out.write(String.format(Locale.ROOT, "<g transform=\"translate(%d,%d)\">\n",
+                            (i % columns) * panelWidth, HEADER_HEIGHT + (i / columns) * PANEL_HEIGHT));
+                    out.write((String) panels.get(i));
+                    out.write("</g>\n");
+                }
+                out.write("</svg>\n");
+            }
+            return;
+        }
+
+        BufferedImage grid = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = grid.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.BLACK);
+        g.setFont(new Font("SansSerif", Font.BOLD, 20));
+        g.drawString(title, (width - g.getFontMetrics().stringWidth(title)) / 2, 27);
+        for (int i = 0; i < panels.size(); i++) {
+            g.drawImage((BufferedImage) panels.get(i),
+                    (i % columns) * panelWidth, HEADER_HEIGHT + (i / columns) * PANEL_HEIGHT, null);
+        }
+        g.dispose();
+        ImageIO.write(grid, "png", new File(outputDir, "faceted_" + metric.fileName + ".png"));
+    }
+
+    /** Panels widen with the number of brokers so their labels stay readable. */
+    private int panelWidth() {
+        return Math.max(PANEL_MIN_WIDTH, 100 + brokerColors.size() * BAR_SLOT);
+    }
+
+    /** Spreads hues by the golden angle so neighbouring brokers get distinct colors. */
+    private static Color paletteColor(int index) {
+        float hue = (index * 0.618034f) % 1f;
+        return Color.getHSBColor(hue, 0.65f, 0.8f);
+    }
+
+    private record Panel(Metric metric, String workload, int index) {
+    }
+}
@@ -0,0 +1,149 @@
+package org.cloudsimplus.chart;
+
+import java.util.Arrays;
+
+/**
+ * Streaming Largest-Triangle-Three-Buckets (LTTB) downsampling of one series.
+ *
+ * The points between the first and last are split into {@code threshold - 2}
+ * equal buckets. From each bucket the point forming the largest triangle with
+ * the previously kept point and the average of the next bucket is kept, which
+ * preserves peaks and troughs far better than averaging or striding.
+ *
+ * Points must arrive in x order and the total count must be known up front,
+ * so only the current and next bucket are held in memory. Kept points are
+ * passed to the sink as soon as they are chosen.
+ */
+public class LttbDownsampler {
+
+    /** Receives the kept points, in x order */
+    @FunctionalInterface
+    public interface PointSink {
+        void accept(double x, double y);
+    }
+
+    private final long totalPoints;
+    private final int threshold;
+    private final double bucketSize;
+    private final PointSink sink;
+    private final boolean passThrough;
+
+    private long index;
+    private double keptX;
+    private double keptY;
+    private int currentBucket;
+    private Bucket current = new Bucket();
+    private Bucket next = new Bucket();
+    private double lastX;
+    private double lastY;
+
+    /**
+     * @param totalPoints number of points that will be added
+     * @param threshold maximum number of points to keep (at least 3 to downsample)
+     * @param sink receiver of the kept points
+     */
+    public LttbDownsampler(long totalPoints, int threshold, PointSink sink) {
+        this.totalPoints = totalPoints;
+        this.threshold = threshold;
+        this.sink = sink;
+        this.passThrough = threshold < 3 || totalPoints <= threshold;
+        this.bucketSize = passThrough ? 0 : (double) (totalPoints - 2) / (threshold - 2);
+    }
+
+    public void add(double x, double y) {
+        long i = index++;
+        if (passThrough || i == 0) {
+            sink.accept(x, y);
+            keptX = x;
+            keptY = y;
+            return;
+        }
+        if (i == totalPoints - 1) {
+            lastX = x;
+            lastY = y;
+            return;
+        }
+
+        int bucket = (int) Math.min(threshold - 3, (long) ((i - 1) / bucketSize));
+        if (bucket > currentBucket + 1) {
+            // The next bucket is complete: its average decides the current one
+            keep(current, next.averageX(), next.averageY());
+            Bucket done = current;
+            current = next;
+            next = done.reset();
+            currentBucket++;
+        }
+        (bucket == currentBucket ? current : next).add(x, y);
+    }
+
+    /**
+     * Flushes the remaining buckets and the last point. Call once after all points were added.
+     */
+    public void finish() {
+        if (passThrough || index < 2) {
+            return;
+        }
+        if (next.size > 0) {
+            keep(current, next.averageX(), next.averageY());
+            keep(next, lastX, lastY);
+        } else {
+            keep(current, lastX, lastY);
+        }
+        sink.accept(lastX, lastY);
+    }
+
+    private void keep(Bucket bucket, double nextX, double nextY) {
+        if (bucket.size == 0) {
+            return;
+        }
+        int best = 0;
+        double maxArea = -1;
+        for (int i = 0; i < bucket.size; i++) {
+            double area = Math.abs((keptX - nextX) * (bucket.ys[i] - keptY)
+                    - (keptX - bucket.xs[i]) * (nextY - keptY));
+            if (area > maxArea) {
+                maxArea = area;
+                best = i;
+            }
+        }
+        keptX = bucket.xs[best];
+        keptY = bucket.ys[best];
+        sink.accept(keptX, keptY);
+    }
+
+    /** Growable buffer of the points in one bucket */
+    private static final class Bucket {
+        private double[] xs = new double[16];
+        private double[] ys = new double[16];
+        private int size;
+        private double sumX;
+        private double sumY;
+
+        void add(double x, double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+            sumX += x;
+            sumY += y;
+        }
+
+        double averageX() {
+            return sumX / size;
+        }
+
+        double averageY() {
+            return sumY / size;
+        }
+
+        Bucket reset() {
+            size = 0;
+            sumX = 0;
+            sumY = 0;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package org.cloudsimplus.chart;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.LogAxis;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.category.BarRenderer;
+import org.jfree.chart.renderer.category.CategoryItemRenderer;
+import org.jfree.data.category.CategoryDataset;
+import org.jfree.data.xy.XYDataset;
+
+import java.awt.Color;
+import java.awt.Paint;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Streams a JFreeChart bar chart as SVG straight to a {@link Writer}.
+ *
+ * Only the data, title, axis labels and series colors of the chart's
+ * {@link CategoryPlot} are used, so nothing is rasterized and no extra
+ * dependency is needed. The output is meant for reports, not as a
+ * pixel-exact copy of the PNG rendering. A {@link LogAxis} range axis is
+ * drawn with one tick per decade; non-positive values are then skipped.
+ * Line charts ({@link XYPlot}) are written as one polyline per series.
+ */
+public final class SvgChartWriter {
+
+    private static final int MARGIN_LEFT = 70;
+    private static final int MARGIN_RIGHT = 20;
+    private static final int MARGIN_TOP = 50;
+    private static final int MARGIN_BOTTOM = 110;
+    private static final int TICKS = 5;
+
+    private SvgChartWriter() {
+    }
+
+    /**
+     * Writes the chart as a standalone SVG document.
+     */
+    public static void write(JFreeChart chart, int width, int height, Writer out) throws IOException {
+        if (chart.getPlot() instanceof XYPlot xyPlot) {
+            writeXY(chart, xyPlot, width, height, out);
+            return;
+        }
+        CategoryPlot plot = chart.getCategoryPlot();
+        CategoryDataset dataset = plot.getDataset();
+        CategoryItemRenderer renderer = plot.getRenderer();
+
+        int rows = dataset.getRowCount();
+        int columns = dataset.getColumnCount();
+
+        boolean log = plot.getRangeAxis() instanceof LogAxis;
+        double base = renderer instanceof BarRenderer barRenderer ? barRenderer.getBase() : 0;
+        double max = Math.max(0, base);
+        double minPositive = base > 0 ? base : Double.MAX_VALUE;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                Number value = dataset.getValue(r, c);
+                if (value != null) {
+                    max = Math.max(max, value.doubleValue());
+                    if (value.doubleValue() > 0) {
+                        minPositive = Math.min(minPositive, value.doubleValue());
+                    }
+                }
+            }
+        }
+
+        // Maps a value to its fraction of the plot height, and lists the tick values
+        DoubleUnaryOperator scale;
+        double[] ticks;
+        if (log && max > 0) {
+            // Step one decade lower when the smallest value sits on a decade, so its bar stays visible
+            int lowDecade = (int) Math.ceil(Math.log10(minPositive)) - 1;
+            int highDecade = Math.max(lowDecade + 1, (int) Math.ceil(Math.log10(max)));
+            double decades = highDecade - lowDecade;
+            scale = value -> (Math.log10(value) - lowDecade) / decades;
+            ticks = new double[highDecade - lowDecade + 1];
+            for (int t = 0; t < ticks.length; t++) {
+                ticks[t] = Math.pow(10, lowDecade + t);
+            }
+        } else {
+            double step = niceStep(max / TICKS);
+            double top = step * Math.max(1, Math.ceil(max / step));
+            scale = value -> value / top;
+            ticks = new double[TICKS + 1];
+            for (int t = 0; t <= TICKS; t++) {
+                ticks[t] = top * t / TICKS;
+            }
+        }
+
+        int plotWidth = width - MARGIN_LEFT - MARGIN_RIGHT;
+        int plotHeight = height - MARGIN_TOP - MARGIN_BOTTOM;
+
+        out.write(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\""
+                        + " font-family=\"SansSerif\">\n", width, height, width, height));
+        out.write(String.format(Locale.ROOT,
+                "<rect width=\"%d\" height=\"%d\" fill=\"white\"/>\n", width, height));
+
+        String title = chart.getTitle() != null ? chart.getTitle().getText() : "";
+        out.write(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"28\" text-anchor=\"middle\" font-size=\"18\" font-weight=\"bold\">%s</text>\n",
+                width / 2, escape(title)));
+
+        // Grid lines and range ticks
+        for (double value : ticks) {
+            double y = MARGIN_TOP + plotHeight - plotHeight * scale.applyAsDouble(value);
+            out.write(String.format(Locale.ROOT,
+                    "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#c8c8c8\"/>"
+                            + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\" font-size=\"11\">%s</text>\n",
+                    MARGIN_LEFT, y, MARGIN_LEFT + plotWidth, y, MARGIN_LEFT - 6, y + 4, formatTick(value)));
+        }
+        out.write(String.format(Locale.ROOT,
+                "<text transform=\"translate(16,%d) rotate(-90)\" text-anchor=\"middle\" font-size=\"13\""
+                        + " font-weight=\"bold\">%s</text>\n",
+                MARGIN_TOP + plotHeight / 2, escape(plot.getRangeAxis().getLabel())));
+
+        // Bars, grouped by category, growing from the renderer's base value
+        double baseFraction = log && base <= 0 ? 0 : Math.max(0, Math.min(1, scale.applyAsDouble(base)));
+        double groupWidth = columns > 0 ? (double) plotWidth / columns : plotWidth;
+        double barWidth = groupWidth * 0.8 / Math.max(1, rows);
+        for (int c = 0; c < columns; c++) {
+            double groupX = MARGIN_LEFT + c * groupWidth + groupWidth * 0.1;
+            for (int r = 0; r < rows; r++) {
+                Number value = dataset.getValue(r, c);
+                if (value == null || (log && value.doubleValue() <= 0)) {
+                    continue;
+                }
+                double valueFraction = scale.applyAsDouble(value.doubleValue());
+                double barTop = Math.max(valueFraction, baseFraction);
+                double barHeight = plotHeight * Math.abs(valueFraction - baseFraction);
+                out.write(String.format(Locale.ROOT,
+                        "<rect x=\"%.1f\" y=\"%.1f\" width=\"%.1f\" height=\"%.1f\" fill=\"%s\">"
+                                + "<title>%s / %s: %.4f</title></rect>\n",
+                        groupX + r * barWidth, MARGIN_TOP + plotHeight * (1 - barTop), barWidth, barHeight,
+                        toHex(renderer.getItemPaint(r, c)),
+                        escape(dataset.getRowKey(r).toString()), escape(dataset.getColumnKey(c).toString()),
+                        value.doubleValue()));
+            }
+
+            double labelX = MARGIN_LEFT + (c + 0.5) * groupWidth;
+            double labelY = MARGIN_TOP + plotHeight + 14;
+            out.write(String.format(Locale.ROOT,
+                    "<text transform=\"translate(%.1f,%.1f) rotate(-45)\" text-anchor=\"end\" font-size=\"11\">%s</text>\n",
+                    labelX, labelY, escape(dataset.getColumnKey(c).toString())));
+        }
+        out.write(String.format(Locale.ROOT,
+                "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"gray\"/>\n",
+                MARGIN_LEFT, MARGIN_TOP, plotWidth, plotHeight));
+
+        // Legend
+        double legendX = MARGIN_LEFT;
+        for (int r = 0; r < rows; r++) {
+            String key = dataset.getRowKey(r).toString();
+            out.write(String.format(Locale.ROOT,
+                    "<rect x=\"%.1f\" y=\"%d\" width=\"10\" height=\"10\" fill=\"%s\"/>"
+                            + "<text x=\"%.1f\" y=\"%d\" font-size=\"11\">%s</text>\n",
+                    legendX, height - 20, toHex(renderer.getItemPaint(r, 0)),
+                    legendX + 14, height - 11, escape(key)));
+            legendX += 24 + key.length() * 6.5;
+        }
+
+        out.write("</svg>\n");
+    }
+
+    private static void writeXY(JFreeChart chart, XYPlot plot, int width, int height, Writer out)
+            throws IOException {
+        XYDataset dataset = plot.getDataset();
+        int seriesCount = dataset.getSeriesCount();
+
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = 0;
+        for (int s = 0; s < seriesCount; s++) {
+            for (int i = 0; i < dataset.getItemCount(s); i++) {
+                minX = Math.min(minX, dataset.getXValue(s, i));
+                maxX = Math.max(maxX, dataset.getXValue(s, i));
+                maxY = Math.max(maxY, dataset.getYValue(s, i));
+            }
+        }
+        if (minX > maxX) {
+            minX = 0;
+            maxX = 1;
+        }
+        double spanX = Math.max(maxX - minX, 1e-9);
+        double stepY = niceStep(maxY / TICKS);
+        double topY = stepY * Math.max(1, Math.ceil(maxY / stepY));
+
+        int plotWidth = width - MARGIN_LEFT - MARGIN_RIGHT;
+        int plotHeight = height - MARGIN_TOP - MARGIN_BOTTOM;
+
+        out.write(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\""
+                        + " font-family=\"SansSerif\">\n", width, height, width, height));
+        out.write(String.format(Locale.ROOT,
+                "<rect width=\"%d\" height=\"%d\" fill=\"white\"/>\n", width, height));
+        String title = chart.getTitle() != null ? chart.getTitle().getText() : "";
+        out.write(String.format(Locale.ROOT,
+                "<text x=\"%d\" y=\"28\" text-anchor=\"middle\" font-size=\"18\" font-weight=\"bold\">%s</text>\n",
+                width / 2, escape(title)));
+
+        for (int t = 0; t <= TICKS; t++) {
+            double y = MARGIN_TOP + plotHeight - plotHeight * (double) t / TICKS;
+            double x = MARGIN_LEFT + plotWidth * (double) t / TICKS;
+            out.write(String.format(Locale.ROOT,
+                    "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#c8c8c8\"/>"
+                            + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\" font-size=\"11\">%s</text>\n"
+                            + "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\" font-size=\"11\">%s</text>\n",
+                    MARGIN_LEFT, y, MARGIN_LEFT + plotWidth, y, MARGIN_LEFT - 6, y + 4, formatTick(topY * t / TICKS),
+                    x, MARGIN_TOP + plotHeight + 16, formatTick(minX + spanX * t / TICKS)));
+        }
+        out.write(String.format(Locale.ROOT,
+                "<text transform=\"translate(16,%d) rotate(-90)\" text-anchor=\"middle\" font-size=\"13\""
+                        + " font-weight=\"bold\">%s</text>\n"
+                        + "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\" font-size=\"13\""
+                        + " font-weight=\"bold\">%s</text>\n",
+                MARGIN_TOP + plotHeight / 2, escape(plot.getRangeAxis().getLabel()),
+                MARGIN_LEFT + plotWidth / 2, MARGIN_TOP + plotHeight + 40, escape(plot.getDomainAxis().getLabel())));
+
+        double legendX = MARGIN_LEFT;
+        for (int s = 0; s < seriesCount; s++) {
+            String color = toHex(plot.getRenderer().getItemPaint(s, 0));
+            StringBuilder points = new StringBuilder(dataset.getItemCount(s) * 16);
+            for (int i = 0; i < dataset.getItemCount(s); i++) {
+                points.append(String.format(Locale.ROOT, "%.1f,%.1f ",
+                        MARGIN_LEFT + plotWidth * (dataset.getXValue(s, i) - minX) / spanX,
+                        MARGIN_TOP + plotHeight - plotHeight * dataset.getYValue(s, i) / topY));
+            }
+            out.write(String.format(Locale.ROOT,
+                    "<polyline fill=\"none\" stroke=\"%s\" stroke-width=\"1\" points=\"%s\"/>\n",
+                    color, points));
+
+            String key = dataset.getSeriesKey(s).toString();
+            out.write(String.format(Locale.ROOT,
+                    "<rect x=\"%.1f\" y=\"%d\" width=\"10\" height=\"10\" fill=\"%s\"/>"
+                            + "<text x=\"%.1f\" y=\"%d\" font-size=\"11\">%s</text>\n",
+                    legendX, height - 20, color, legendX + 14, height - 11, escape(key)));
+            legendX += 24 + key.length() * 6.5;
+        }
+        out.write(String.format(Locale.ROOT,
+                "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"gray\"/>\n",
+                MARGIN_LEFT, MARGIN_TOP, plotWidth, plotHeight));
+        out.write("</svg>\n");
+    }
+
+    /** Rounds a raw tick step up to 1, 2 or 5 times a power of ten. */
+    static double niceStep(double raw) {
+        if (raw <= 0) {
+            return 1;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(raw)));
+        double fraction = raw / magnitude;
+        double nice = fraction <= 1 ? 1 : fraction <= 2 ? 2 : fraction <= 5 ? 5 : 10;
+        return nice * magnitude;
+    }
+
+    private static String formatTick(double value) {
+        if (value != 0 && Math.abs(value) < 0.01) {
+            return String.format(Locale.ROOT, "%.0e", value);
+        }
+        return value == Math.rint(value)
+                ? String.format(Locale.ROOT, "%.0f", value)
+                : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    static String toHex(Paint paint) {
+        Color color = paint instanceof Color c ? c : Color.GRAY;
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
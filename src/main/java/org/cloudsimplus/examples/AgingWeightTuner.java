@@ -0,0 +1,238 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.metrics.RollingPercentiles;
+import org.cloudsimplus.scheduling.CloudletSchedulerSjfAging;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feedback controller for α and the cost weights of a
+ * {@link DynamicAvAgingLoadAwareBroker}, so they need no retuning per
+ * workload.
+ *
+ * Every {@link #setInterval interval} it measures two things:
+ *
+ * - tail wait: the p99 waiting time of recently started cloudlets, or the
+ *   age of the oldest cloudlet still waiting if that is larger, so starving
+ *   cloudlets count before they start;
+ * - queue imbalance: how far the most backlogged VM is above the mean, as
+ *   {@code max_j / mean_j − 1} of the per-VM backlog (running and queued
+ *   work over the VM's MIPS, from a {@link VmCapacityTracker}).
+ *
+ * and moves two knobs by multiplicative steps proportional to the error:
+ *
+ * - α goes up while the tail wait is above the target (VM queues move
+ *   towards FIFO) and down while it is well below it (towards SJF, which
+ *   gives the lowest mean response time and the highest throughput);
+ * - a spread factor multiplying the assignment penalty and the historical
+ *   load weight goes up while the imbalance is above its limit (cloudlets
+ *   spread to more VMs) and down while the queues are balanced and the tail
+ *   is on target (the fast VMs get more of the work).
+ *
+ * Both knobs are clamped, and the execution time weight stays fixed, as
+ * only the ratio of the weights matters.
+ *
+ * α only orders the VM queues when the VMs run a
+ * {@link CloudletSchedulerSjfAging}; the tuner starts from their aging
+ * factor, and warns when no VM has one, as then it only weighs the
+ * broker's own mapping cost.
+ */
+public class AgingWeightTuner {
+
+    private static final double MIN_ALPHA = 0.05;
+    private static final double MAX_ALPHA = 4.0;
+    private static final double MIN_SPREAD = 0.25;
+    private static final double MAX_SPREAD = 8.0;
+    /** Tail below (1 − margin) · target counts as well below it */
+    private static final double MARGIN = 0.2;
+
+    private final double targetP99Wait;
+    private double interval = 2.0;
+    private double gain = 0.25;
+    private double maxImbalance = 0.5;
+
+    private DynamicAvAgingLoadAwareBroker broker;
+    private VmCapacityTracker capacity;
+    private double baseAssignmentPenalty;
+    private double baseHistoryWeight;
+    private double alpha;
+    private double spread = 1.0;
+
+    private final RollingPercentiles recentWaits = new RollingPercentiles(64);
+    // Mapped cloudlets that haven't started -> arrival time
+    private final Map<Cloudlet, Double> waiting = new IdentityHashMap<>();
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * One control step.
+     *
+     * @param time simulation time
+     * @param tailWait measured tail waiting time (seconds)
+     * @param imbalance measured queue imbalance
+     * @param alpha α after the step
+     * @param spread spread factor after the step
+     */
+    public record Step(double time, double tailWait, double imbalance, double alpha, double spread) {
+    }
+
+    /**
+     * @param targetP99Wait p99 waiting time (seconds) to stay under
+     */
+    public AgingWeightTuner(double targetP99Wait) {
+        if (targetP99Wait <= 0) {
+            throw new IllegalArgumentException("Target p99 wait must be positive: " + targetP99Wait);
+        }
+        this.targetP99Wait = targetP99Wait;
+    }
+
+    /** Seconds between two control steps */
+    public AgingWeightTuner setInterval(double interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        return this;
+    }
+
+    /** Largest relative change of a knob in one step */
+    public AgingWeightTuner setGain(double gain) {
+        if (gain <= 0 || gain >= 1) {
+            throw new IllegalArgumentException("Gain must be in (0, 1): " + gain);
+        }
+        this.gain = gain;
+        return this;
+    }
+
+    /** Queue imbalance above which cloudlets are spread to more VMs */
+    public AgingWeightTuner setMaxImbalance(double maxImbalance) {
+        this.maxImbalance = Math.max(0, maxImbalance);
+        return this;
+    }
+
+    public double getTargetP99Wait() { return targetP99Wait; }
+    public double getAlpha()         { return alpha; }
+    public double getSpread()        { return spread; }
+
+    /** @return every control step so far */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    void attach(DynamicAvAgingLoadAwareBroker broker) {
+        if (this.broker != null && this.broker != broker) {
+            throw new IllegalStateException("The tuner already belongs to " + this.broker);
+        }
+        this.broker = broker;
+        this.capacity = new VmCapacityTracker(broker);
+        this.alpha = broker.getAlpha();
+        this.baseAssignmentPenalty = broker.getAssignmentPenalty();
+        this.baseHistoryWeight = broker.getHistoryWeight();
+    }
+
+    void start() {
+        List<CloudletSchedulerSjfAging> schedulers = agingSchedulers();
+        if (schedulers.isEmpty()) {
+            System.err.println("[SelfTune] No VM of " + broker.getName()
+                    + " runs an SJF aging scheduler, so alpha does not reach the VM queues");
+        } else {
+            // Step from the factor the VM queues actually use, and give all of them the same
+            alpha = schedulers.get(0).getAgingFactor();
+            schedulers.forEach(scheduler -> scheduler.setAgingFactor(alpha));
+            broker.setAlpha(alpha);
+        }
+        scheduleStep();
+    }
+
+    /** Schedulers of the broker's VMs, submitted or created, that age their queues */
+    private List<CloudletSchedulerSjfAging> agingSchedulers() {
+        List<CloudletSchedulerSjfAging> schedulers = new ArrayList<>();
+        for (List<? extends Vm> vms : List.of(broker.getVmWaitingList(), broker.getVmCreatedList())) {
+            for (Vm vm : vms) {
+                if (vm.getCloudletScheduler() instanceof CloudletSchedulerSjfAging scheduler) {
+                    schedulers.add(scheduler);
+                }
+            }
+        }
+        return schedulers;
+    }
+
+    void onMapped(Cloudlet cloudlet, Vm vm) {
+        capacity.onMapped(cloudlet, vm);
+        waiting.put(cloudlet, broker.getSimulation().clock());
+    }
+
+    private void scheduleStep() {
+        broker.schedule(interval, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, (Runnable) this::step);
+    }
+
+    private void step() {
+        if (broker.isAllSubmittedCloudletsFinished()) {
+            return;
+        }
+        double now = broker.getSimulation().clock();
+
+        double oldestWait = 0;
+        for (Iterator<Map.Entry<Cloudlet, Double>> it = waiting.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Cloudlet, Double> entry = it.next();
+            Cloudlet cloudlet = entry.getKey();
+            if (cloudlet.getStartTime() >= 0) {
+                recentWaits.add(Math.max(0, cloudlet.getStartTime() - entry.getValue()));
+                it.remove();
+            } else {
+                oldestWait = Math.max(oldestWait, now - entry.getValue());
+            }
+        }
+        if (recentWaits.getCount() == 0 && waiting.isEmpty()) {
+            scheduleStep();
+            return;
+        }
+
+        double tailWait = Math.max(recentWaits.quantiles(0.99)[0], oldestWait);
+        double imbalance = queueImbalance();
+        double error = tailWait / targetP99Wait - 1;
+
+        if (error > 0) {
+            alpha *= 1 + gain * Math.min(error, 1);
+        } else if (error < -MARGIN) {
+            alpha *= 1 - gain / 2 * Math.min(-error, 1);
+        }
+        if (imbalance > maxImbalance) {
+            spread *= 1 + gain * Math.min(imbalance / maxImbalance - 1, 1);
+        } else if (imbalance < maxImbalance / 2 && error <= 0) {
+            spread *= 1 - gain / 2;
+        }
+        alpha = Math.max(MIN_ALPHA, Math.min(MAX_ALPHA, alpha));
+        spread = Math.max(MIN_SPREAD, Math.min(MAX_SPREAD, spread));
+
+        broker.setAlpha(alpha);
+        broker.setWeights(broker.getExecWeight(), baseAssignmentPenalty * spread, baseHistoryWeight * spread);
+        steps.add(new Step(now, tailWait, imbalance, alpha, spread));
+
+        scheduleStep();
+    }
+
+    /**
+     * @return max / mean − 1 of the per-VM backlog in seconds, or 0 when the
+     *         mean backlog is below one interval (nothing worth balancing)
+     */
+    private double queueImbalance() {
+        List<Vm> vms = broker.getMappableVms();
+        double max = 0;
+        double sum = 0;
+        for (Vm vm : vms) {
+            double backlog = (capacity.remainingRunningWork(vm) + capacity.queuedWork(vm))
+                    / (vm.getMips() * vm.getPesNumber());
+            max = Math.max(max, backlog);
+            sum += backlog;
+        }
+        double mean = vms.isEmpty() ? 0 : sum / vms.size();
+        return mean < interval ? 0 : max / mean - 1;
+    }
+}
@@ -0,0 +1,95 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.metrics.MetricsCollector;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerSpaceShared;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cluster sizing: p99 waiting time against VM-seconds consumed.
+ *
+ * Runs every workload with the load-aware broker (mapping on arrival) on
+ * fixed clusters of growing size, and with a {@link VmAutoscaler} starting
+ * from two VMs under a few threshold settings. Each line is one point of
+ * the cost/latency trade-off; a fixed size that is dominated by an
+ * autoscaled run wastes VM-seconds on idle capacity.
+ */
+public class AutoscalingSizing {
+
+    private static final int[] FIXED_SIZES = {2, 4, 6, 9, 12};
+    /** Scale-up / scale-down backlog thresholds in seconds */
+    private static final double[][] THRESHOLDS = {{5, 1}, {10, 2}, {20, 5}};
+    private static final double PROVISIONING_DELAY = 5.0;
+    private static final int INITIAL_VMS = 2;
+    private static final int MAX_VMS = 18;
+
+    private static final List<VmType> CATALOG = List.of(
+            new VmType("small", 1000, 2), new VmType("medium", 2000, 2), new VmType("large", 3500, 2));
+
+    public static void main(String[] args) {
+        String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+        List<Supplier<List<Cloudlet>>> workloads = List.of(
+                DynamicWorkloadScenario::createCloudlets,
+                BurstyWorkloadScenario::createCloudlets,
+                HeavyLoadScenario::createCloudlets,
+                BalancedWorkloadScenario::createCloudlets);
+
+        List<String> rows = new ArrayList<>();
+        for (int w = 0; w < names.length; w++) {
+            for (int size : FIXED_SIZES) {
+                rows.add(run(names[w], "fixed " + size + " VMs", workloads.get(w), size, null));
+            }
+            for (double[] thresholds : THRESHOLDS) {
+                VmAutoscaler autoscaler = new VmAutoscaler(CATALOG,
+                        type -> SimulationMain.createVm(type, new CloudletSchedulerSpaceShared()))
+                        .setThresholds(thresholds[0], thresholds[1])
+                        .setProvisioningDelay(PROVISIONING_DELAY)
+                        .setVmLimits(1, MAX_VMS);
+                String config = String.format("autoscale up>%.0fs down<%.0fs", thresholds[0], thresholds[1]);
+                rows.add(run(names[w], config, workloads.get(w), INITIAL_VMS, autoscaler));
+            }
+        }
+
+        System.out.println("\n" + "=".repeat(104));
+        System.out.printf("CLUSTER SIZING: p99 WAITING TIME vs VM-SECONDS (provisioning delay %.0f s)%n", PROVISIONING_DELAY);
+        System.out.println("=".repeat(104));
+        System.out.printf("%-12s %-28s %12s %12s %12s %12s %10s%n",
+                "Workload", "Cluster", "p99 WT", "avg WT", "Makespan", "VM-seconds", "Peak VMs");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(String workload, String config, Supplier<List<Cloudlet>> cloudlets,
+                              int vms, VmAutoscaler autoscaler) {
+        CloudSimPlus simulation = new CloudSimPlus();
+        new DatacenterSimple(simulation, SimulationMain.createHosts(SimulationMain.hostsFor(MAX_VMS)));
+
+        DynamicAvAgingLoadAwareBroker broker = new DynamicAvAgingLoadAwareBroker(simulation);
+        broker.setMapOnArrival(true);
+        broker.setWorkStealing(true);
+        if (autoscaler != null) {
+            broker.setAutoscaler(autoscaler);
+        }
+
+        broker.submitVmList(SimulationMain.createVms(vms, CloudletSchedulerSpaceShared::new));
+        broker.submitCloudletList(cloudlets.get());
+        simulation.start();
+
+        MetricsCollector metrics = new MetricsCollector();
+        metrics.collectMetrics(broker.getCloudletFinishedList());
+        double vmSeconds = autoscaler != null ? autoscaler.getVmSeconds() : VmAutoscaler.vmSecondsOf(broker);
+        int peak = autoscaler != null ? autoscaler.getPeakVms() : vms;
+        return String.format("%-12s %-28s %12.4f %12.4f %12.4f %12.1f %10d",
+                workload, config, metrics.getP99WaitingTime(), metrics.getAverageWaitingTime(),
+                metrics.getMakespan(), vmSeconds, peak);
+    }
+}
@@ -0,0 +1,110 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.profiling.CloudletMappingEvent;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch-mode broker: Min-Min, Max-Min or Sufferage
+ *
+ * The other brokers map one cloudlet at a time. This one plans every
+ * cloudlet waiting to be mapped as a batch, over the expected completion
+ * time of each cloudlet on each VM (see {@link EctMatrix}):
+ *
+ *   ECT_ij = max(ready_j, arrival_i) + L_i / MIPS_j
+ *
+ * The heuristic picks the next cloudlet of the batch, which goes to the VM
+ * where it completes first, and that VM's ready time moves on. Mapped up
+ * front (the default), the whole workload is one batch, using each
+ * cloudlet's submission delay as its arrival. Mapped on arrival, a batch
+ * is what arrived at the same time. Ready times carry over from one batch
+ * to the next, but are not corrected by what the VMs actually do.
+ *
+ * Only the VM choice comes from the plan: each VM still runs its cloudlets
+ * in the order of its own cloudlet scheduler.
+ */
+public class BatchModeBroker extends ObservableBroker {
+
+    /** Which cloudlet of a batch is mapped next */
+    public enum Heuristic {
+        /** Smallest completion time first: short cloudlets first */
+        MIN_MIN("MinMin"),
+        /** Largest completion time first: long cloudlets first */
+        MAX_MIN("MaxMin"),
+        /** Largest gap between the best and second best VM first */
+        SUFFERAGE("Sufferage");
+
+        private final String label;
+
+        Heuristic(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Heuristic heuristic;
+    private final EctMatrix ect = new EctMatrix();
+    private final Map<Cloudlet, EctMatrix.Assignment> plan = new IdentityHashMap<>();
+    private long batches;
+
+    public BatchModeBroker(CloudSimPlus simulation, Heuristic heuristic) {
+        super(simulation);
+        this.heuristic = heuristic;
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /** @return how many batches were planned */
+    public long getBatches() {
+        return batches;
+    }
+
+    @Override
+    protected Vm defaultVmMapper(final Cloudlet cloudlet) {
+        final List<Vm> vms = getMappableVms();
+
+        if (vms.isEmpty()) {
+            return Vm.NULL;
+        }
+
+        CloudletMappingEvent mappingEvent = new CloudletMappingEvent();
+        mappingEvent.begin();
+
+        EctMatrix.Assignment assignment = plan.remove(cloudlet);
+        if (assignment == null || !vms.contains(assignment.vm())) {
+            planBatch(cloudlet, vms);
+            assignment = plan.remove(cloudlet);
+        }
+
+        Vm vm = assignment.vm();
+        mappingEvent.commit(heuristic.getLabel(), cloudlet, vm, assignment.completionTime(),
+                vms.size(), getSimulation().clock());
+        notifyMapping(cloudlet, vm, assignment.completionTime(), Double.NaN);
+
+        return vm;
+    }
+
+    /**
+     * Plans the given cloudlet with every other waiting cloudlet that has no
+     * plan yet.
+     */
+    private void planBatch(Cloudlet cloudlet, List<Vm> vms) {
+        Batch batch = collectBatch(cloudlet, plan::containsKey);
+        EctMatrix.Assignment[] assignments = ect.plan(heuristic, vms, batch.lengths(), batch.pes(),
+                batch.arrivals(), getSimulation().clock());
+        for (int i = 0; i < batch.size(); i++) {
+            plan.put(batch.cloudlets().get(i), assignments[i]);
+        }
+        batches++;
+    }
+}
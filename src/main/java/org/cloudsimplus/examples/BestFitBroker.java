@@ -0,0 +1,239 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packing broker: fits multi-PE cloudlets into the free PEs of the VMs by
+ * best fit, with EASY backfilling.
+ *
+ * The other brokers treat a VM as one server with a speed, so a 2-PE
+ * cloudlet may queue on a VM with a single free PE while another VM has
+ * two. This one keeps arrived cloudlets in a FIFO queue and starts each on
+ * the VM it leaves the fewest free PEs on (the fastest on ties), so whole
+ * VMs stay free for wide cloudlets instead of being fragmented by narrow
+ * ones. As the VMs differ in speed, only VMs where the cloudlet would
+ * finish within a tolerance of its earliest expected finish on any VM,
+ * waiting for busy ones included, are candidates:
+ *
+ *   now + runtime_j ≤ now + (1 + tolerance) · (min_k finish_k − now)
+ *
+ * so a long cloudlet rather waits for a fast VM than starts on a slow one.
+ * With a {@link VmTransferModel}, a cloudlet starts no earlier than its
+ * input can reach the VM, so a VM behind a busy link is a worse fit.
+ *
+ * When the head has no candidate, it gets a reservation on the VM it would
+ * finish first on, from the time (shadow time) enough of its PEs are
+ * expected to free up. Later cloudlets are backfilled, by best fit, if
+ * they can't delay the head: they run on another VM, finish before the
+ * shadow time, or only use the PEs the head leaves free at that time.
+ * Expected free times come from the expected finish of running cloudlets.
+ */
+public class BestFitBroker extends QueueingBroker {
+
+    public static final double DEFAULT_TOLERANCE = 0.25;
+
+    private final LinkedList<Cloudlet> queue = new LinkedList<>();
+    private double tolerance = DEFAULT_TOLERANCE;
+    private long backfilled;
+
+    public BestFitBroker(CloudSimPlus simulation) {
+        super(simulation);
+    }
+
+    /**
+     * How much later than its earliest expected finish, as a fraction of the
+     * time until then, a cloudlet may finish on the VM best fit picks.
+     * 0 always takes the earliest finish.
+     */
+    public BestFitBroker setTolerance(double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must not be negative: " + tolerance);
+        }
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /** @return how many cloudlets started ahead of a blocked queue head */
+    public long getBackfilledCloudlets() {
+        return backfilled;
+    }
+
+    @Override
+    protected void onArrival(Cloudlet cloudlet) {
+        queue.add(cloudlet);
+        requestDispatch();
+    }
+
+    @Override
+    protected String getLabel() {
+        return "BestFit";
+    }
+
+    /**
+     * Starts queued cloudlets in order while they have a candidate VM, then
+     * backfills behind the first one that doesn't.
+     */
+    @Override
+    protected void dispatchReady() {
+        List<Vm> vms = getMappableVms();
+        Map<Vm, double[]> freeTimes = expectedFreeTimes(vms);
+        while (!queue.isEmpty()) {
+            Cloudlet head = queue.peek();
+            Vm vm = bestFit(vms, freeTimes, head, null);
+            if (vm == Vm.NULL) {
+                break;
+            }
+            queue.poll();
+            launch(head, vm, freeTimes);
+        }
+        if (queue.size() > 1) {
+            backfill(vms, freeTimes, reserve(vms, freeTimes, queue.peek()));
+        }
+    }
+
+    private void backfill(List<Vm> vms, Map<Vm, double[]> freeTimes, Reservation reservation) {
+        double now = getSimulation().clock();
+        Iterator<Cloudlet> waiting = queue.iterator();
+        waiting.next();
+        while (waiting.hasNext()) {
+            Cloudlet cloudlet = waiting.next();
+            Vm vm = bestFit(vms, freeTimes, cloudlet, reservation);
+            if (vm == Vm.NULL) {
+                continue;
+            }
+            if (vm == reservation.vm
+                    && now + stageInDelayOf(cloudlet, vm) + runtime(cloudlet, vm.getMips()) > reservation.shadowTime) {
+                reservation.extraPes -= (int) cloudlet.getPesNumber();
+            }
+            waiting.remove();
+            launch(cloudlet, vm, freeTimes);
+            backfilled++;
+        }
+    }
+
+    /**
+     * VM and time the head is expected to start at, and the PEs of that VM
+     * it leaves free then.
+     */
+    private static final class Reservation {
+        private Vm vm = Vm.NULL;
+        private double shadowTime = Double.MAX_VALUE;
+        private int extraPes;
+    }
+
+    private Reservation reserve(List<Vm> vms, Map<Vm, double[]> freeTimes, Cloudlet head) {
+        int pes = (int) head.getPesNumber();
+        Reservation reservation = new Reservation();
+        double bestFinish = Double.MAX_VALUE;
+        for (Vm vm : vms) {
+            double[] times = freeTimes.get(vm);
+            if (times.length < pes) {
+                continue;
+            }
+            double finish = Math.max(times[pes - 1], getSimulation().clock() + stageInDelayOf(head, vm))
+                    + runtime(head, vm.getMips());
+            if (finish < bestFinish) {
+                bestFinish = finish;
+                reservation.vm = vm;
+                reservation.shadowTime = times[pes - 1];
+                int freeThen = pes;
+                while (freeThen < times.length && times[freeThen] <= reservation.shadowTime) {
+                    freeThen++;
+                }
+                reservation.extraPes = freeThen - pes;
+            }
+        }
+        return reservation;
+    }
+
+    /**
+     * @param reservation the head's reservation when backfilling, or null
+     * @return the candidate VM with enough free PEs for the cloudlet that
+     *         has the fewest left after it, the fastest on ties, or
+     *         {@link Vm#NULL}
+     */
+    private Vm bestFit(List<Vm> vms, Map<Vm, double[]> freeTimes, Cloudlet cloudlet, Reservation reservation) {
+        int pes = (int) cloudlet.getPesNumber();
+        double now = getSimulation().clock();
+        double latestFinish = now + (1 + tolerance) * (earliestFinish(vms, freeTimes, cloudlet) - now);
+        Vm best = Vm.NULL;
+        int bestLeft = Integer.MAX_VALUE;
+        for (Vm vm : vms) {
+            int left = freePes(vm) - pes;
+            if (left < 0 || now + stageInDelayOf(cloudlet, vm) + runtime(cloudlet, vm.getMips()) > latestFinish
+                    || (reservation != null && !canBackfill(vm, cloudlet, reservation))) {
+                continue;
+            }
+            if (left < bestLeft || (left == bestLeft && vm.getMips() > best.getMips())) {
+                best = vm;
+                bestLeft = left;
+            }
+        }
+        return best;
+    }
+
+    private double earliestFinish(List<Vm> vms, Map<Vm, double[]> freeTimes, Cloudlet cloudlet) {
+        int pes = (int) cloudlet.getPesNumber();
+        double earliest = Double.MAX_VALUE;
+        for (Vm vm : vms) {
+            double[] times = freeTimes.get(vm);
+            if (times.length >= pes) {
+                double start = Math.max(times[pes - 1], getSimulation().clock() + stageInDelayOf(cloudlet, vm));
+                earliest = Math.min(earliest, start + runtime(cloudlet, vm.getMips()));
+            }
+        }
+        return earliest;
+    }
+
+    private boolean canBackfill(Vm vm, Cloudlet cloudlet, Reservation reservation) {
+        return vm != reservation.vm
+                || getSimulation().clock() + stageInDelayOf(cloudlet, vm) + runtime(cloudlet, vm.getMips())
+                        <= reservation.shadowTime
+                || cloudlet.getPesNumber() <= reservation.extraPes;
+    }
+
+    /** @return expected free time of every PE of each VM, earliest first */
+    private Map<Vm, double[]> expectedFreeTimes(List<Vm> vms) {
+        double now = getSimulation().clock();
+        Map<Vm, double[]> freeTimes = new IdentityHashMap<>();
+        Map<Vm, Integer> filled = new IdentityHashMap<>();
+        for (Vm vm : vms) {
+            double[] times = new double[(int) vm.getPesNumber()];
+            Arrays.fill(times, now);
+            freeTimes.put(vm, times);
+            filled.put(vm, freePes(vm));
+        }
+        getRunningCloudlets().forEach((cloudlet, finish) -> {
+            double[] times = freeTimes.get(cloudlet.getVm());
+            if (times != null) {
+                int from = filled.merge(cloudlet.getVm(), (int) cloudlet.getPesNumber(), Integer::sum);
+                Arrays.fill(times, from - (int) cloudlet.getPesNumber(), from, Math.max(now, finish));
+            }
+        });
+        freeTimes.values().forEach(Arrays::sort);
+        return freeTimes;
+    }
+
+    /** Starts a cloudlet and marks the PEs it takes busy until its expected finish */
+    private void launch(Cloudlet cloudlet, Vm vm, Map<Vm, double[]> freeTimes) {
+        // Free PEs are the first ones, at the current time
+        double[] times = freeTimes.get(vm);
+        Arrays.fill(times, 0, (int) cloudlet.getPesNumber(),
+                getSimulation().clock() + stageInDelayOf(cloudlet, vm) + runtime(cloudlet, vm.getMips()));
+        Arrays.sort(times);
+        start(cloudlet, vm);
+    }
+}
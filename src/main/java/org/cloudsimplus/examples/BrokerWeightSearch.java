@@ -0,0 +1,268 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletSimple;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.metrics.MetricsCollector;
+import org.cloudsimplus.metrics.ParetoFront;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+import org.cloudsimplus.scheduling.CloudletSchedulerSjfAging;
+import org.cloudsimplus.utilizationmodels.UtilizationModelFull;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Searches the weights of {@link DynamicAvAgingLoadAwareBroker} (α, exec
+ * weight, assignment penalty, historical load weight) on the four workload
+ * scenarios, running the simulations in parallel on all cores.
+ *
+ * Candidates are drawn at random (log-uniform α and exec weight, uniform
+ * penalties), plus the hand-tuned defaults. Two strategies:
+ *
+ * - random: every candidate runs every workload;
+ * - halving (successive halving): every candidate runs the first workload,
+ *   the better half by the mean of its three metrics relative to the
+ *   defaults also runs the second one, the better half of those the
+ *   remaining ones, so most of the budget goes to promising weights.
+ *
+ * The output is the Pareto front of the candidates that ran every workload
+ * over mean response time, p99 waiting time and makespan, each averaged
+ * over the workloads relative to the defaults. VMs run a
+ * {@link CloudletSchedulerSjfAging} with α as aging factor, as with
+ * {@code -Dsim.vm.scheduler=sjf} in {@link SimulationMain}, so α matters.
+ *
+ * Usage: {@code BrokerWeightSearch [candidates] [halving|random]}
+ */
+public class BrokerWeightSearch {
+
+    private static final int DEFAULT_CANDIDATES = 64;
+    private static final long SEED = 42;
+    /** Share of the candidates kept at each halving rung is 1 / ETA */
+    private static final int ETA = 2;
+
+    private static final int MEAN_RT = 0;
+    private static final int P99_WT = 1;
+    private static final int MAKESPAN = 2;
+    private static final String[] OBJECTIVES = {"mean RT", "p99 WT", "makespan"};
+
+    /** One point of the search space */
+    public record Weights(double alpha, double exec, double assignment, double history) {
+        static final Weights DEFAULTS = new Weights(
+                DynamicAvAgingLoadAwareBroker.DEFAULT_ALPHA,
+                DynamicAvAgingLoadAwareBroker.DEFAULT_EXEC_WEIGHT,
+                DynamicAvAgingLoadAwareBroker.DEFAULT_ASSIGNMENT_PENALTY,
+                DynamicAvAgingLoadAwareBroker.DEFAULT_HISTORY_WEIGHT);
+
+        static Weights random(Random random) {
+            return new Weights(
+                    logUniform(random, 0.05, 4.0),
+                    logUniform(random, 0.5, 24.0),
+                    random.nextDouble() * 8.0,
+                    random.nextDouble() * 2.0);
+        }
+
+        private static double logUniform(Random random, double min, double max) {
+            return Math.exp(Math.log(min) + random.nextDouble() * (Math.log(max) - Math.log(min)));
+        }
+    }
+
+    private final String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+    private final List<List<Cloudlet>> workloads = new ArrayList<>();
+    private final List<Weights> candidates = new ArrayList<>();
+    /** [candidate][workload][objective], NaN until run */
+    private final double[][][] results;
+    private long evaluations;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CANDIDATES;
+        boolean halving = args.length < 2 || args[1].equalsIgnoreCase("halving");
+        new BrokerWeightSearch(count).search(halving);
+    }
+
+    private BrokerWeightSearch(int count) {
+        // The scenarios share one random generator: take each workload once and run copies of it
+        workloads.add(DynamicWorkloadScenario.createCloudlets());
+        workloads.add(BurstyWorkloadScenario.createCloudlets());
+        workloads.add(HeavyLoadScenario.createCloudlets());
+        workloads.add(BalancedWorkloadScenario.createCloudlets());
+
+        Random random = new Random(SEED);
+        candidates.add(Weights.DEFAULTS);
+        while (candidates.size() < Math.max(1, count)) {
+            candidates.add(Weights.random(random));
+        }
+        results = new double[candidates.size()][workloads.size()][OBJECTIVES.length];
+        for (double[][] perWorkload : results) {
+            for (double[] metrics : perWorkload) {
+                metrics[0] = Double.NaN;
+            }
+        }
+    }
+
+    private void search(boolean halving) {
+        long start = System.nanoTime();
+        List<Integer> survivors = IntStream.range(0, candidates.size()).boxed().toList();
+        if (halving) {
+            int budget = 1;
+            while (budget < workloads.size()) {
+                evaluate(survivors, budget);
+                evaluate(List.of(0), budget);
+                int rungBudget = budget;
+                int keep = Math.max(1, (survivors.size() + ETA - 1) / ETA);
+                survivors = survivors.stream()
+                        .sorted(Comparator.comparingDouble(c -> score(c, rungBudget)))
+                        .limit(keep)
+                        .toList();
+                budget = Math.min(workloads.size(), budget * ETA);
+            }
+        }
+        evaluate(survivors, workloads.size());
+        evaluate(List.of(0), workloads.size());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        printFront(halving ? "successive halving" : "random search", elapsedSeconds);
+    }
+
+    /**
+     * Runs the candidates on the first {@code budget} workloads they have not run yet, in parallel.
+     */
+    private void evaluate(List<Integer> candidateIndexes, int budget) {
+        List<int[]> runs = new ArrayList<>();
+        for (int c : candidateIndexes) {
+            for (int w = 0; w < budget; w++) {
+                if (Double.isNaN(results[c][w][0])) {
+                    runs.add(new int[]{c, w});
+                }
+            }
+        }
+
+        // Brokers and scenarios print progress; keep the report readable
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            runs.parallelStream().forEach(run -> results[run[0]][run[1]] = simulate(candidates.get(run[0]), run[1]));
+        } finally {
+            System.setOut(out);
+        }
+        evaluations += runs.size();
+    }
+
+    /**
+     * Mean of the candidate's metrics relative to the defaults over the first
+     * {@code budget} workloads: 1 is as good as the defaults, lower is better.
+     */
+    private double score(int candidate, int budget) {
+        double total = 0;
+        for (double relative : relativeObjectives(candidate, budget)) {
+            total += relative;
+        }
+        return total / OBJECTIVES.length;
+    }
+
+    /**
+     * @return each objective of the candidate divided by the defaults',
+     *         averaged over the first {@code budget} workloads
+     */
+    private double[] relativeObjectives(int candidate, int budget) {
+        double[] relative = new double[OBJECTIVES.length];
+        for (int w = 0; w < budget; w++) {
+            for (int k = 0; k < OBJECTIVES.length; k++) {
+                relative[k] += results[candidate][w][k] / results[0][w][k] / budget;
+            }
+        }
+        return relative;
+    }
+
+    private double[] simulate(Weights weights, int workload) {
+        CloudSimPlus simulation = new CloudSimPlus();
+        new DatacenterSimple(simulation, SimulationMain.createHosts(SimulationMain.HOSTS));
+
+        DynamicAvAgingLoadAwareBroker broker = new DynamicAvAgingLoadAwareBroker(simulation);
+        broker.setAlpha(weights.alpha()).setWeights(weights.exec(), weights.assignment(), weights.history());
+        broker.submitVmList(SimulationMain.createVms(SimulationMain.VMS,
+                () -> new CloudletSchedulerSjfAging(weights.alpha())));
+        broker.submitCloudletList(copyOf(workloads.get(workload)));
+        simulation.start();
+
+        MetricsCollector metrics = new MetricsCollector();
+        metrics.collectMetrics(broker.getCloudletFinishedList());
+        double[] objectives = new double[OBJECTIVES.length];
+        objectives[MEAN_RT] = metrics.getAverageResponseTime();
+        objectives[P99_WT] = metrics.getP99WaitingTime();
+        objectives[MAKESPAN] = metrics.getMakespan();
+        return objectives;
+    }
+
+    private void printFront(String strategy, double elapsedSeconds) {
+        List<Integer> complete = IntStream.range(0, candidates.size())
+                .filter(c -> !Double.isNaN(results[c][workloads.size() - 1][0]))
+                .boxed().toList();
+        double[][] points = new double[complete.size()][];
+        for (int i = 0; i < complete.size(); i++) {
+            points[i] = relativeObjectives(complete.get(i), workloads.size());
+        }
+        List<Integer> front = ParetoFront.of(points).stream()
+                .sorted(Comparator.comparingDouble(i -> points[i][MEAN_RT]))
+                .toList();
+
+        System.out.println("\n" + "=".repeat(112));
+        System.out.printf("BROKER WEIGHT SEARCH (%s): %d candidates, %d simulations in %.1f s on %d cores%n",
+                strategy, candidates.size(), evaluations, elapsedSeconds, Runtime.getRuntime().availableProcessors());
+        System.out.println("Workloads: " + String.join(", ", names));
+        System.out.println("=".repeat(112));
+        System.out.printf("PARETO FRONT of %d candidates that ran every workload (metrics averaged over workloads, "
+                + "%% vs defaults)%n", complete.size());
+        System.out.printf("%8s %8s %8s %8s   %18s %18s %18s%n",
+                "alpha", "exec", "assign", "history", OBJECTIVES[MEAN_RT], OBJECTIVES[P99_WT], OBJECTIVES[MAKESPAN]);
+        boolean defaultsOnFront = false;
+        for (int i : front) {
+            int c = complete.get(i);
+            defaultsOnFront |= c == 0;
+            printRow(c, points[i], c == 0 ? "  <- defaults" : "");
+        }
+        if (!defaultsOnFront) {
+            System.out.println("-".repeat(112));
+            printRow(0, relativeObjectives(0, workloads.size()), "  <- defaults (dominated)");
+        }
+        System.out.println("=".repeat(112));
+    }
+
+    private void printRow(int candidate, double[] relative, String note) {
+        Weights weights = candidates.get(candidate);
+        double[] absolute = new double[OBJECTIVES.length];
+        for (int w = 0; w < workloads.size(); w++) {
+            for (int k = 0; k < OBJECTIVES.length; k++) {
+                absolute[k] += results[candidate][w][k] / workloads.size();
+            }
+        }
+        System.out.printf("%8.3f %8.3f %8.3f %8.3f   %9.3f (%+5.1f%%) %9.3f (%+5.1f%%) %9.3f (%+5.1f%%)%s%n",
+                weights.alpha(), weights.exec(), weights.assignment(), weights.history(),
+                absolute[MEAN_RT], (relative[MEAN_RT] - 1) * 100,
+                absolute[P99_WT], (relative[P99_WT] - 1) * 100,
+                absolute[MAKESPAN], (relative[MAKESPAN] - 1) * 100, note);
+    }
+
+    private static List<Cloudlet> copyOf(List<Cloudlet> cloudlets) {
+        List<Cloudlet> copies = new ArrayList<>(cloudlets.size());
+        for (Cloudlet cloudlet : cloudlets) {
+            Cloudlet copy = new CloudletSimple(cloudlet.getLength(), cloudlet.getPesNumber())
+                    .setFileSize(cloudlet.getFileSize())
+                    .setOutputSize(cloudlet.getOutputSize())
+                    .setUtilizationModelCpu(new UtilizationModelFull());
+            copy.setSubmissionDelay(cloudlet.getSubmissionDelay());
+            copies.add(copy);
+        }
+        return copies;
+    }
+}
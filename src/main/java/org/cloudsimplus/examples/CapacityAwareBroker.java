@@ -0,0 +1,82 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.profiling.CloudletMappingEvent;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.List;
+
+/**
+ * Capacity-aware broker: earliest finish time on multi-PE VMs
+ *
+ * The other brokers score a VM by its MIPS and their own assignment
+ * counters, as if every VM ran one cloudlet at a time and nothing ever
+ * finished. This one maps each cloudlet to the VM where it would finish
+ * first, given what the VM is actually doing:
+ *
+ *   EFT_j = t + max(0, (R_j + Q_j) / (MIPS_j · PEs_j)) + L_i / (MIPS_j · u_i)
+ *
+ * where R_j is the work left of the VM's running cloudlets and Q_j the work
+ * of cloudlets mapped to it that have not started, both divided by the CPU
+ * utilization u of their cloudlets, which run at that fraction of the MIPS. The wait is dropped when
+ * the VM has enough free PEs and nothing queued. With a
+ * {@link VmTransferModel}, the cloudlet can't start before its input
+ * crossed the VM's link, behind the transfers in flight there. The state
+ * comes from a {@link VmCapacityTracker}, updated as cloudlets start and
+ * finish, so each decision costs O(VMs) like the other brokers. Cloudlets
+ * are mapped when they arrive, as the VM state at submission says nothing
+ * about the time they will get there.
+ */
+public class CapacityAwareBroker extends ObservableBroker {
+
+    private final VmCapacityTracker capacity = new VmCapacityTracker(this);
+
+    public CapacityAwareBroker(CloudSimPlus simulation) {
+        super(simulation);
+        setMapOnArrival(true);
+    }
+
+    @Override
+    protected Vm defaultVmMapper(final Cloudlet cloudlet) {
+        final List<Vm> vms = getMappableVms();
+
+        if (vms.isEmpty()) {
+            return Vm.NULL;
+        }
+
+        CloudletMappingEvent mappingEvent = new CloudletMappingEvent();
+        mappingEvent.begin();
+
+        Vm bestVm = Vm.NULL;
+        double minCost = Double.MAX_VALUE;
+        double runnerUpCost = Double.MAX_VALUE;
+
+        for (Vm vm : vms) {
+            if (vm.getPesNumber() < cloudlet.getPesNumber()) {
+                continue;
+            }
+            double runtime = runtime(cloudlet, vm.getMips());
+            double start = Math.max(capacity.earliestFinishTime(cloudlet, vm) - runtime,
+                    getSimulation().clock() + stageInDelayOf(cloudlet, vm));
+            double cost = start + runtime;
+            if (cost < minCost) {
+                runnerUpCost = minCost;
+                minCost = cost;
+                bestVm = vm;
+            } else if (cost < runnerUpCost) {
+                runnerUpCost = cost;
+            }
+        }
+
+        if (bestVm != Vm.NULL) {
+            capacity.onMapped(cloudlet, bestVm);
+        }
+
+        mappingEvent.commit("CapacityAware", cloudlet, bestVm, minCost, vms.size(), getSimulation().clock());
+        notifyMapping(cloudlet, bestVm, minCost,
+                runnerUpCost == Double.MAX_VALUE ? Double.NaN : runnerUpCost);
+
+        return bestVm;
+    }
+}
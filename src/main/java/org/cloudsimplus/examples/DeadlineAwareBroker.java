@@ -0,0 +1,238 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.scenario.Deadlines;
+import org.cloudsimplus.util.IndexedMinHeap;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Deadline-aware broker: earliest deadline first or least slack first
+ *
+ * The other brokers send each cloudlet to a VM queue, whose scheduler then
+ * ignores deadlines. This one keeps arrived cloudlets in its own ready
+ * queue, an {@link IndexedMinHeap} ordered by
+ *
+ *   EDF:         deadline_i
+ *   least slack: deadline_i − runtime_i on the fastest VM   (latest start time)
+ *
+ * and dispatches the head to the fastest VM with enough free PEs whenever
+ * a PE frees up, so VMs never queue and the most urgent cloudlet always
+ * runs next.
+ *
+ * With admission control, a cloudlet is admitted on arrival only if it
+ * would meet its deadline. The estimate list-schedules, on the PEs of all
+ * VMs, the admitted cloudlets ahead of it and then the cloudlet itself,
+ * each on the PEs that free up first, from the expected finish of the
+ * cloudlets running now. The queue only visits the cloudlets ahead, so a
+ * test costs O((P + a) log P) for P PEs and a cloudlets ahead.
+ * Cloudlets that fail the test, or that can no longer make their deadline
+ * when they reach the head, are demoted to a best-effort queue that only
+ * runs when no admitted cloudlet waits, so they don't push admitted ones
+ * over their deadlines. Only the new cloudlet is checked, so admitted
+ * cloudlets with later deadlines can still miss theirs.
+ *
+ * Cloudlets without a deadline queue after every admitted cloudlet that
+ * has one.
+ */
+public class DeadlineAwareBroker extends QueueingBroker {
+
+    /** Order of the ready queue */
+    public enum Policy {
+        /** Earliest deadline first */
+        EDF("EDF"),
+        /** Least slack (latest start time) first */
+        LEAST_SLACK("LeastSlack");
+
+        private final String label;
+
+        Policy(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Policy policy;
+    private Deadlines deadlines;
+    private boolean admissionControl = true;
+
+    private final IndexedMinHeap<Cloudlet> admitted = new IndexedMinHeap<>();
+    private final IndexedMinHeap<Cloudlet> bestEffort = new IndexedMinHeap<>();
+    private long rejected;
+
+    public DeadlineAwareBroker(CloudSimPlus simulation, Policy policy) {
+        super(simulation);
+        this.policy = policy;
+    }
+
+    /**
+     * Sets the deadlines of the cloudlets to be submitted.
+     * Must be set before cloudlets are submitted.
+     */
+    public DeadlineAwareBroker setDeadlines(Deadlines deadlines) {
+        this.deadlines = deadlines;
+        return this;
+    }
+
+    /**
+     * Enables or disables admission control. Without it every cloudlet is
+     * admitted and served in deadline order, late or not.
+     */
+    public DeadlineAwareBroker setAdmissionControl(boolean admissionControl) {
+        this.admissionControl = admissionControl;
+        return this;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /** @return how many cloudlets were demoted to best effort by admission control */
+    public long getRejectedCloudlets() {
+        return rejected;
+    }
+
+    @Override
+    protected void onArrival(Cloudlet cloudlet) {
+        double key = keyOf(cloudlet);
+        if (admissionControl && hasDeadline(cloudlet) && !isFeasible(cloudlet, key)) {
+            bestEffort.add(cloudlet, key);
+            rejected++;
+        } else {
+            admitted.add(cloudlet, key);
+        }
+        requestDispatch();
+    }
+
+    @Override
+    protected String getLabel() {
+        return policy.getLabel();
+    }
+
+    /**
+     * Sends ready cloudlets, admitted ones first, to free VMs until no VM
+     * has room for the head of the queue.
+     */
+    @Override
+    protected void dispatchReady() {
+        List<Vm> vms = getMappableVms();
+        double now = getSimulation().clock();
+        while (true) {
+            IndexedMinHeap<Cloudlet> queue = admitted.isEmpty() ? bestEffort : admitted;
+            Cloudlet cloudlet = queue.peek();
+            if (cloudlet == null) {
+                return;
+            }
+            Vm vm = fastestFreeVm(vms, (int) cloudlet.getPesNumber());
+            if (vm == Vm.NULL) {
+                return;
+            }
+            queue.poll();
+            if (queue == admitted && admissionControl && hasDeadline(cloudlet)
+                    && now + runtime(cloudlet, maxMips(vms)) > deadlines.getDeadline(cloudlet)) {
+                bestEffort.add(cloudlet, keyOf(cloudlet));
+                rejected++;
+                continue;
+            }
+            start(cloudlet, vm);
+        }
+    }
+
+    private boolean isFeasible(Cloudlet cloudlet, double key) {
+        List<Vm> vms = submittedVms();
+        if (vms.isEmpty()) {
+            return true;
+        }
+
+        // {free time, MIPS} of every PE, earliest free and then fastest first
+        double now = getSimulation().clock();
+        PriorityQueue<double[]> pes = new PriorityQueue<>(
+                Comparator.<double[]>comparingDouble(pe -> pe[0]).thenComparingDouble(pe -> -pe[1]));
+        getRunningCloudlets().forEach((c, finish) -> {
+            for (int p = 0; p < c.getPesNumber(); p++) {
+                pes.add(new double[]{Math.max(now, finish), c.getVm().getMips()});
+            }
+        });
+        for (Vm vm : vms) {
+            for (int p = 0; p < freePes(vm); p++) {
+                pes.add(new double[]{now, vm.getMips()});
+            }
+        }
+
+        admitted.forEachUpTo(key, ahead -> place(pes, ahead));
+        return place(pes, cloudlet) <= deadlines.getDeadline(cloudlet);
+    }
+
+    /**
+     * Runs a cloudlet on the PEs that free up first, at the speed of the
+     * slowest of them, and keeps them busy until it finishes.
+     *
+     * @return the estimated finish time
+     */
+    private double place(PriorityQueue<double[]> pes, Cloudlet cloudlet) {
+        if (pes.size() < cloudlet.getPesNumber()) {
+            return Double.MAX_VALUE;
+        }
+        List<double[]> taken = new ArrayList<>();
+        double start = 0;
+        double mips = Double.MAX_VALUE;
+        for (int p = 0; p < cloudlet.getPesNumber(); p++) {
+            double[] pe = pes.poll();
+            start = Math.max(start, pe[0]);
+            mips = Math.min(mips, pe[1]);
+            taken.add(pe);
+        }
+        double finish = start + runtime(cloudlet, mips);
+        for (double[] pe : taken) {
+            pe[0] = finish;
+            pes.add(pe);
+        }
+        return finish;
+    }
+
+    private Vm fastestFreeVm(List<Vm> vms, int pes) {
+        Vm fastest = Vm.NULL;
+        for (Vm vm : vms) {
+            if (freePes(vm) >= pes && (fastest == Vm.NULL || vm.getMips() > fastest.getMips())) {
+                fastest = vm;
+            }
+        }
+        return fastest;
+    }
+
+    private double keyOf(Cloudlet cloudlet) {
+        if (!hasDeadline(cloudlet)) {
+            return Double.MAX_VALUE;
+        }
+        double deadline = deadlines.getDeadline(cloudlet);
+        return switch (policy) {
+            case EDF -> deadline;
+            case LEAST_SLACK -> deadline - runtime(cloudlet, maxMips(submittedVms()));
+        };
+    }
+
+    private boolean hasDeadline(Cloudlet cloudlet) {
+        return deadlines != null && deadlines.has(cloudlet);
+    }
+
+    private List<Vm> submittedVms() {
+        List<Vm> vms = getMappableVms();
+        return vms.isEmpty() ? getVmWaitingList() : vms;
+    }
+
+    private static double maxMips(List<Vm> vms) {
+        double max = 0;
+        for (Vm vm : vms) {
+            max = Math.max(max, vm.getMips());
+        }
+        return max;
+    }
+}
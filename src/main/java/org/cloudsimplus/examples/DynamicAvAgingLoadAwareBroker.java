@@ -1,8 +1,9 @@
 package org.cloudsimplus.examples;
 
 import org.cloudsimplus.core.CloudSimPlus;
-import org.cloudsimplus.brokers.DatacenterBrokerSimple;
 import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.profiling.CloudletMappingEvent;
+import org.cloudsimplus.scheduling.CloudletSchedulerSjfAging;
 import org.cloudsimplus.vms.Vm;
 
 import java.util.*;
@@ -16,11 +17,32 @@ import java.util.stream.Collectors;
  * 2. Historical Load tracking: H_j(t+) = H_j(t) + T_i,j^exec
  * 3. Predictive Load Balancing: VM* = arg min(T_i,j^exec + H_j(t))
  * 4. Priority Aging to prevent starvation
+ * 5. With a {@link VmTransferModel}, the time T_i,j^xfer the VM's link needs
+ *    for in-flight transfers and the cloudlet's input and output
+ *
+ * α and the cost weights start at the hand-tuned defaults below. An
+ * {@link AgingWeightTuner} can adjust them during the run instead.
  */
-public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
+public class DynamicAvAgingLoadAwareBroker extends ObservableBroker {
 
     /** Aging coefficient α (from paper formula) */
-    private static final double ALPHA = 1.0;
+    public static final double DEFAULT_ALPHA = 1.0;
+    /** Weight of the MIPS-normalized execution time in the VM cost */
+    public static final double DEFAULT_EXEC_WEIGHT = 3.0;
+    /** Cost per cloudlet already assigned to the VM */
+    public static final double DEFAULT_ASSIGNMENT_PENALTY = 1.5;
+    /** Weight of the historical load H_j in the VM cost */
+    public static final double DEFAULT_HISTORY_WEIGHT = 0.1;
+    /** Weight of the transfer time T_i,j^xfer in the VM cost */
+    public static final double DEFAULT_TRANSFER_WEIGHT = 1.0;
+
+    private double alpha = DEFAULT_ALPHA;
+    private double execWeight = DEFAULT_EXEC_WEIGHT;
+    private double assignmentPenalty = DEFAULT_ASSIGNMENT_PENALTY;
+    private double historyWeight = DEFAULT_HISTORY_WEIGHT;
+    private double transferWeight = DEFAULT_TRANSFER_WEIGHT;
+
+    private AgingWeightTuner tuner;
 
     /** Track cloudlet arrival times for W_i(t) calculation */
     private final Map<Long, Double> cloudletArrivalTimes = new HashMap<>();
@@ -38,6 +60,78 @@ public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
         super(simulation);
     }
 
+    public double getAlpha()             { return alpha; }
+    public double getExecWeight()        { return execWeight; }
+    public double getAssignmentPenalty() { return assignmentPenalty; }
+    public double getHistoryWeight()     { return historyWeight; }
+    public double getTransferWeight()    { return transferWeight; }
+
+    /**
+     * Sets the aging coefficient α. It is also the aging factor of every VM
+     * running a {@link CloudletSchedulerSjfAging}: the broker maps cloudlets
+     * as they come, so the order in which they wait is decided there.
+     */
+    public DynamicAvAgingLoadAwareBroker setAlpha(double alpha) {
+        if (alpha < 0) {
+            throw new IllegalArgumentException("Alpha must not be negative: " + alpha);
+        }
+        this.alpha = alpha;
+        for (Vm vm : getMappableVms()) {
+            if (vm.getCloudletScheduler() instanceof CloudletSchedulerSjfAging scheduler) {
+                scheduler.setAgingFactor(alpha);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Sets the weights of the VM cost:
+     * cost_j = normalizedExecTime · execWeight + assigned_j · assignmentPenalty + H_j · historyWeight
+     */
+    public DynamicAvAgingLoadAwareBroker setWeights(double execWeight, double assignmentPenalty, double historyWeight) {
+        if (execWeight < 0 || assignmentPenalty < 0 || historyWeight < 0) {
+            throw new IllegalArgumentException("Cost weights must not be negative");
+        }
+        this.execWeight = execWeight;
+        this.assignmentPenalty = assignmentPenalty;
+        this.historyWeight = historyWeight;
+        return this;
+    }
+
+    /**
+     * Sets the weight of the transfer time, which only counts with a
+     * {@link #setTransferModel transfer model}:
+     * cost_j += T_i,j^xfer · transferWeight
+     */
+    public DynamicAvAgingLoadAwareBroker setTransferWeight(double transferWeight) {
+        if (transferWeight < 0) {
+            throw new IllegalArgumentException("Transfer weight must not be negative: " + transferWeight);
+        }
+        this.transferWeight = transferWeight;
+        return this;
+    }
+
+    /**
+     * Lets a tuner adjust α and the cost weights during the run. Turns on
+     * {@link #setMapOnArrival mapping on arrival}, as weights learned during
+     * the run are useless for cloudlets mapped at the start.
+     * Must be set before cloudlets are submitted.
+     */
+    public DynamicAvAgingLoadAwareBroker setWeightTuner(AgingWeightTuner tuner) {
+        tuner.attach(this);
+        this.tuner = tuner;
+        setMapOnArrival(true);
+        return this;
+    }
+
+    @Override
+    public void startInternal() {
+        super.startInternal();
+        if (tuner != null) {
+            tuner.start();
+        }
+    }
+
     /**
      * Override to implement priority-based scheduling
      * Sort cloudlets by priority before submission
@@ -64,22 +158,26 @@ public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
         double arrivalTime = cloudlet.getSubmissionDelay();
         cloudletArrivalTimes.putIfAbsent(cloudlet.getId(), arrivalTime);
 
-        double basePriority = 1.0 / cloudlet.getLength();
+        double basePriority = 1.0 / lengthOf(cloudlet);
         double waitingTime = Math.max(0, currentTime - arrivalTime);
-        double agingComponent = ALPHA * waitingTime;
+        double agingComponent = alpha * waitingTime;
 
         return basePriority + agingComponent;
     }
 
     @Override
     protected Vm defaultVmMapper(final Cloudlet cloudlet) {
-        final List<Vm> vms = getVmCreatedList();
+        final List<Vm> vms = getMappableVms();
 
         if (vms.isEmpty()) {
             return Vm.NULL;
         }
 
         if (vms.size() == 1) {
+            notifyMapping(cloudlet, vms.get(0), 0.0, Double.NaN);
+            if (tuner != null) {
+                tuner.onMapped(cloudlet, vms.get(0));
+            }
             return vms.get(0);
         }
 
@@ -116,6 +214,10 @@ public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
             // Update assignment count (CRITICAL for load balancing!)
             vmAssignmentCount.put(selectedVm.getId(), vmAssignmentCount.get(selectedVm.getId()) + 1);
 
+            if (tuner != null) {
+                tuner.onMapped(cloudlet, selectedVm);
+            }
+
             // Debug logging - Only every 25 cloudlets to reduce noise
             if (cloudlet.getId() % 25 == 0) {
                 int assignedCount = vmAssignmentCount.get(selectedVm.getId());
@@ -151,14 +253,14 @@ public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
      */
     private double calculateDynamicPriority(Cloudlet cloudlet, double currentTime) {
         // 1/L_i: Base priority (inversely proportional to length - SJF)
-        double basePriority = 1.0 / cloudlet.getLength();
+        double basePriority = 1.0 / lengthOf(cloudlet);
 
         // W_i(t) = t - t_i^arr: Waiting time
         double arrivalTime = cloudletArrivalTimes.get(cloudlet.getId());
         double waitingTime = currentTime - arrivalTime;
 
         // α·W_i(t): Aging component (increases priority over time)
-        double agingComponent = ALPHA * waitingTime;
+        double agingComponent = alpha * waitingTime;
 
         // P_i(t) = 1/L_i + α·W_i(t)
         double priority = basePriority + agingComponent;
@@ -180,16 +282,20 @@ public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
      * Result: Fast VMs handle majority of workload → Much faster completion
      */
     private Vm selectVmWithPredictiveLoadBalancing(Cloudlet cloudlet, List<Vm> vms) {
+        CloudletMappingEvent mappingEvent = new CloudletMappingEvent();
+        mappingEvent.begin();
+
         Vm bestVm = Vm.NULL;
         double minCost = Double.MAX_VALUE;
+        double runnerUpCost = Double.MAX_VALUE;
 
         for (Vm vm : vms) {
-            // T_i,j^exec = L_i / MIPS_j: Estimated execution time
-            double execTime = (double) cloudlet.getLength() / vm.getMips();
+            // T_i,j^exec = L_i / (MIPS_j · u_i): Estimated execution time
+            double execTime = runtime(cloudlet, vm.getMips());
 
             // VERY LIGHT assignment penalty (1.5 vs Simple's 6.0 → 75% lighter!)
             int assignedCount = vmAssignmentCount.get(vm.getId());
-            double assignmentPenalty = assignedCount * 1.5;
+            double assignmentCost = assignedCount * assignmentPenalty;
 
             // Historical load (minimal weight)
             double historicalLoad = vmHistoricalLoad.get(vm.getId());
@@ -200,15 +306,25 @@ public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
             double mipsNormalizer = 1000.0 / vm.getMips();
             double normalizedExecTime = execTime * mipsNormalizer;
 
+            // T_i,j^xfer: in-flight transfers on the VM's link plus this cloudlet's data
+            double transferTime = transferTimeOf(cloudlet, vm);
+
             // Cost calculation: Strong preference for fast VMs
-            double cost = normalizedExecTime * 3.0 + assignmentPenalty + historicalLoad * 0.1;
+            double cost = normalizedExecTime * execWeight + assignmentCost + historicalLoad * historyWeight
+                    + transferTime * transferWeight;
 
             if (cost < minCost) {
+                runnerUpCost = minCost;
                 minCost = cost;
                 bestVm = vm;
+            } else if (cost < runnerUpCost) {
+                runnerUpCost = cost;
             }
         }
 
+        mappingEvent.commit("Aging", cloudlet, bestVm, minCost, vms.size(), getSimulation().clock());
+        notifyMapping(cloudlet, bestVm, minCost, runnerUpCost);
+
         return bestVm;
     }
 
@@ -217,8 +333,8 @@ public class DynamicAvAgingLoadAwareBroker extends DatacenterBrokerSimple {
      * H_j(t+) = H_j(t) + T_i,j^exec
      */
     private void updateHistoricalLoad(Cloudlet cloudlet, Vm vm) {
-        // T_i,j^exec = L_i / MIPS_j
-        double execTime = (double) cloudlet.getLength() / vm.getMips();
+        // T_i,j^exec = L_i / (MIPS_j · u_i)
+        double execTime = runtime(cloudlet, vm.getMips());
 
         // H_j(t+) = H_j(t) + T_i,j^exec (standard formula)
         double currentLoad = vmHistoricalLoad.get(vm.getId());
@@ -1,9 +1,9 @@
 package org.cloudsimplus.examples;
 
-import org.cloudsimplus.brokers.DatacenterBrokerSimple;
 import org.cloudsimplus.cloudlets.Cloudlet;
 import org.cloudsimplus.vms.Vm;
 import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.profiling.CloudletMappingEvent;
 
 import java.util.HashMap;
 import java.util.List;
@@ -14,9 +14,9 @@ import java.util.Map;
  *
  * - Dynamic AV calculation
  * - Load balancing across ALL VMs
- * - Simple scoring: exec time + load penalty
+ * - Simple scoring: exec time + load penalty (+ transfer time with a transfer model)
  */
-public class DynamicAvLoadBalancingBroker extends DatacenterBrokerSimple {
+public class DynamicAvLoadBalancingBroker extends ObservableBroker {
 
     /** Track number of cloudlets assigned to each VM (CloudSim doesn't update waiting list immediately) */
     private final Map<Long, Integer> vmAssignmentCount = new HashMap<>();
@@ -27,13 +27,14 @@ public class DynamicAvLoadBalancingBroker extends DatacenterBrokerSimple {
 
     @Override
     protected Vm defaultVmMapper(final Cloudlet cloudlet) {
-        final List<Vm> vms = getVmCreatedList();
+        final List<Vm> vms = getMappableVms();
 
         if (vms.isEmpty()) {
             return Vm.NULL;
         }
 
         if (vms.size() == 1) {
+            notifyMapping(cloudlet, vms.get(0), 0.0, Double.NaN);
             return vms.get(0);
         }
 
@@ -45,9 +46,9 @@ public class DynamicAvLoadBalancingBroker extends DatacenterBrokerSimple {
         // Calculate dynamic AV
         double av = getCloudletSubmittedList().stream()
                 .filter(c -> c.getStatus() != Cloudlet.Status.SUCCESS)
-                .mapToDouble(Cloudlet::getLength)
+                .mapToDouble(this::lengthOf)
                 .average()
-                .orElse(cloudlet.getLength());
+                .orElse(lengthOf(cloudlet));
 
         // Select VM with load balancing
         Vm selectedVm = selectVmWithLoadBalancing(cloudlet, vms, av);
@@ -76,32 +77,45 @@ public class DynamicAvLoadBalancingBroker extends DatacenterBrokerSimple {
     }
 
     private Vm selectVmWithLoadBalancing(Cloudlet cloudlet, List<Vm> vms, double av) {
+        CloudletMappingEvent mappingEvent = new CloudletMappingEvent();
+        mappingEvent.begin();
+
         Vm bestVm = Vm.NULL;
         double bestScore = Double.MAX_VALUE;
+        double runnerUpScore = Double.MAX_VALUE;
 
         for (Vm vm : vms) {
             // Use our tracked assignment count (more accurate than CloudSim's waiting list)
             int assignedCount = vmAssignmentCount.getOrDefault(vm.getId(), 0);
 
             // Execution time
-            double execTime = cloudlet.getLength() / vm.getMips();
+            double execTime = runtime(cloudlet, vm.getMips());
 
             // HEAVY load penalty (NAIVE approach - over-balance)
             // This causes poor utilization of fast VMs
             double loadPenalty = assignedCount * 6.0;  // INCREASED to 6.0 (naive balancing)
 
             // AV-based bias (SJF logic)
-            double avBias = (cloudlet.getLength() < av) ? -0.5 : 0.5;
+            double avBias = (lengthOf(cloudlet) < av) ? -0.5 : 0.5;
+
+            // Time the VM's link needs for in-flight transfers and this cloudlet's data
+            double transferTime = transferTimeOf(cloudlet, vm);
 
-            // Simple score: exec time + linear load + AV bias
-            double score = execTime + loadPenalty + avBias;
+            // Simple score: exec time + linear load + AV bias + transfer time
+            double score = execTime + loadPenalty + avBias + transferTime;
 
             if (score < bestScore) {
+                runnerUpScore = bestScore;
                 bestScore = score;
                 bestVm = vm;
+            } else if (score < runnerUpScore) {
+                runnerUpScore = score;
             }
         }
 
+        mappingEvent.commit("Simple", cloudlet, bestVm, bestScore, vms.size(), getSimulation().clock());
+        notifyMapping(cloudlet, bestVm, bestScore, runnerUpScore);
+
         // Debug logging every 10 cloudlets
         if (cloudlet.getId() % 10 == 0) {
             int assignedCount = vmAssignmentCount.getOrDefault(bestVm.getId(), 0);
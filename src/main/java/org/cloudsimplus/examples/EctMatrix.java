@@ -0,0 +1,235 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.examples.BatchModeBroker.Heuristic;
+import org.cloudsimplus.util.IndexedMinHeap;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expected completion time matrix of a batch of cloudlets over a set of VMs,
+ * used by {@link BatchModeBroker} to plan a batch with one of its
+ * {@link BatchModeBroker.Heuristic heuristics}.
+ *
+ *   ECT_ij = max(ready_j(pes_i), arrival_i) + L_i / MIPS_j
+ *
+ * where ready_j(q) is the time the q-th PE of VM j becomes free, from the
+ * cloudlets planned on it so far (kept across batches). Each row keeps its
+ * best VM, and its second best, and the rows are kept in a
+ * {@link IndexedMinHeap} by the heuristic's key, re-keyed in place.
+ *
+ * Assigning a cloudlet to VM j only delays column j, and ECTs never go
+ * down, so only rows watching j need a look: a row whose best VM is j and
+ * still beats its (possibly older, so no larger) second best only gets a
+ * new key, any other row watching j is rescanned. Min-Min and Max-Min
+ * rows only watch their best VM, as their key ignores the second best;
+ * Sufferage rows watch both.
+ *
+ * A batch of k cloudlets costs O(k·V) for the first scan, then O(V) per
+ * rescanned row and O(log k) per re-keyed row, with the heap rebuilt in
+ * O(k) instead when an assignment re-keys more rows than that is worth.
+ * On a fleet where one or two fast VMs are best for most rows, nearly
+ * every assignment touches nearly every row, so the worst case is
+ * O(k²·V), as for rescanning the whole matrix per assignment; the gain is
+ * in the rows that are only re-keyed and in batches spread over the VMs.
+ */
+final class EctMatrix {
+
+    /** Planned VM and completion time of a cloudlet */
+    record Assignment(Vm vm, double completionTime) {
+    }
+
+    // Free time of each PE of a VM, ascending
+    private final Map<Vm, double[]> peReady = new IdentityHashMap<>();
+
+    /**
+     * Plans a batch and books the chosen VMs' PEs for it.
+     *
+     * @param lengths length (MI) of each cloudlet
+     * @param pes PEs of each cloudlet
+     * @param arrivals earliest start of each cloudlet
+     * @param now current time; no PE is free before it
+     * @return the assignment of each cloudlet, VM {@link Vm#NULL} if no VM has enough PEs
+     */
+    Assignment[] plan(Heuristic heuristic, List<Vm> vms, double[] lengths, int[] pes,
+                      double[] arrivals, double now) {
+        return new Batch(heuristic, vms, lengths, pes, arrivals, now).run();
+    }
+
+    private double[] readyTimes(Vm vm, double now) {
+        double[] ready = peReady.computeIfAbsent(vm, v -> new double[(int) v.getPesNumber()]);
+        for (int p = 0; p < ready.length; p++) {
+            ready[p] = Math.max(ready[p], now);
+        }
+        return ready;
+    }
+
+    private final class Batch {
+        private final Heuristic heuristic;
+        private final List<Vm> vms;
+        private final double[] lengths;
+        private final int[] pes;
+        private final double[] arrivals;
+        private final double[][] ready;
+
+        private final int[] best;
+        private final int[] second;
+        private final double[] bestEct;
+        private final double[] secondEct;
+        private final boolean[] planned;
+        // Rows waiting to be planned, keyed by the heuristic
+        private final IndexedMinHeap<Integer> next = new IndexedMinHeap<>();
+        // Rows watching each VM, each at most once as marked in watching[j][row]
+        private final List<List<Integer>> watchers = new ArrayList<>();
+        private final boolean[][] watching;
+        // Rows watching the VM just booked, copied out of its list
+        private final int[] affected;
+
+        Batch(Heuristic heuristic, List<Vm> vms, double[] lengths, int[] pes, double[] arrivals, double now) {
+            this.heuristic = heuristic;
+            this.vms = vms;
+            this.lengths = lengths;
+            this.pes = pes;
+            this.arrivals = arrivals;
+            this.ready = new double[vms.size()][];
+            for (int j = 0; j < vms.size(); j++) {
+                ready[j] = readyTimes(vms.get(j), now);
+                watchers.add(new ArrayList<>());
+            }
+            int k = lengths.length;
+            best = new int[k];
+            second = new int[k];
+            bestEct = new double[k];
+            secondEct = new double[k];
+            planned = new boolean[k];
+            affected = new int[k];
+            watching = new boolean[vms.size()][k];
+        }
+
+        Assignment[] run() {
+            int k = lengths.length;
+            Assignment[] plan = new Assignment[k];
+            // Rows enter in order, so equal keys go to the lowest row
+            for (int i = 0; i < k; i++) {
+                scan(i);
+                next.add(i, key(i));
+            }
+
+            List<Integer> rekeyed = new ArrayList<>();
+            while (!next.isEmpty()) {
+                int i = next.poll();
+                planned[i] = true;
+                int j = best[i];
+                if (j < 0) {
+                    plan[i] = new Assignment(Vm.NULL, Double.NaN);
+                    continue;
+                }
+                plan[i] = new Assignment(vms.get(j), bestEct[i]);
+                book(j, pes[i], bestEct[i]);
+
+                List<Integer> watcherList = watchers.get(j);
+                int count = watcherList.size();
+                for (int w = 0; w < count; w++) {
+                    affected[w] = watcherList.get(w);
+                    watching[j][affected[w]] = false;
+                }
+                watcherList.clear();
+                rekeyed.clear();
+                for (int w = 0; w < count; w++) {
+                    int row = affected[w];
+                    if (!planned[row]) {
+                        update(row, j);
+                        rekeyed.add(row);
+                    }
+                }
+                rekey(rekeyed);
+            }
+            return plan;
+        }
+
+        /** Brings a row up to date after VM j, which it watches, was booked */
+        private void update(int i, int j) {
+            if (best[i] != j) {
+                scan(i);
+                return;
+            }
+            double ect = ect(i, j);
+            if (ect < secondEct[i] || (ect == secondEct[i] && j < second[i])) {
+                bestEct[i] = ect;
+                watch(j, i);
+            } else {
+                scan(i);
+            }
+        }
+
+        /** Re-keys the given rows one by one, or rebuilds the heap if that is cheaper */
+        private void rekey(List<Integer> changed) {
+            int size = next.size();
+            if ((long) changed.size() * (32 - Integer.numberOfLeadingZeros(size)) > size) {
+                next.rekey((row, key) -> key(row));
+                return;
+            }
+            for (int row : changed) {
+                next.add(row, key(row));
+            }
+        }
+
+        /** Finds the best and second best VM of a row and watches them */
+        private void scan(int i) {
+            best[i] = second[i] = -1;
+            bestEct[i] = secondEct[i] = Double.MAX_VALUE;
+            for (int j = 0; j < vms.size(); j++) {
+                if (ready[j].length < pes[i]) {
+                    continue;
+                }
+                double ect = ect(i, j);
+                if (ect < bestEct[i]) {
+                    second[i] = best[i];
+                    secondEct[i] = bestEct[i];
+                    best[i] = j;
+                    bestEct[i] = ect;
+                } else if (ect < secondEct[i]) {
+                    second[i] = j;
+                    secondEct[i] = ect;
+                }
+            }
+            if (best[i] >= 0) {
+                watch(best[i], i);
+            }
+            if (second[i] >= 0 && heuristic == Heuristic.SUFFERAGE) {
+                watch(second[i], i);
+            }
+        }
+
+        private void watch(int j, int i) {
+            if (!watching[j][i]) {
+                watching[j][i] = true;
+                watchers.get(j).add(i);
+            }
+        }
+
+        private double ect(int i, int j) {
+            return Math.max(ready[j][pes[i] - 1], arrivals[i]) + lengths[i] / vms.get(j).getMips();
+        }
+
+        private double key(int i) {
+            return switch (heuristic) {
+                case MIN_MIN -> bestEct[i];
+                case MAX_MIN -> best[i] < 0 ? Double.MAX_VALUE : -bestEct[i];
+                case SUFFERAGE -> second[i] < 0 ? -Double.MAX_VALUE : -(secondEct[i] - bestEct[i]);
+            };
+        }
+
+        /** Takes the q earliest free PEs of VM j until the given time */
+        private void book(int j, int q, double until) {
+            for (int p = 0; p < q; p++) {
+                ready[j][p] = until;
+            }
+            Arrays.sort(ready[j]);
+        }
+    }
+}
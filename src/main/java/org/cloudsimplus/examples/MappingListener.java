@@ -0,0 +1,22 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.vms.Vm;
+
+/**
+ * Listener notified every time a broker maps a cloudlet to a VM.
+ */
+@FunctionalInterface
+public interface MappingListener {
+
+    /**
+     * @param cloudlet the cloudlet being mapped
+     * @param vm the selected VM
+     * @param length length of the cloudlet the broker decided on: the
+     *               predicted one with a length predictor, otherwise the true one
+     * @param cost score of the selected VM in the broker's cost function
+     * @param runnerUpCost score of the second best VM, or NaN if there was no other candidate
+     * @param time current simulation time
+     */
+    void onMapping(Cloudlet cloudlet, Vm vm, double length, double cost, double runnerUpCost, double time);
+}
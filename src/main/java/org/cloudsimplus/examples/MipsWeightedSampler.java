@@ -0,0 +1,82 @@
+package org.cloudsimplus.examples;
+
+/**
+ * Draws VM indexes with probability proportional to their MIPS in O(1),
+ * using Vose's alias method. Building the table takes O(n).
+ *
+ * The sampler takes the uniform random numbers as arguments, so callers
+ * decide on the random source and its reproducibility.
+ */
+public class MipsWeightedSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param mips MIPS of each VM; all must be positive
+     */
+    public MipsWeightedSampler(double[] mips) {
+        int n = mips.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("No VMs to sample from");
+        }
+        probability = new double[n];
+        alias = new int[n];
+
+        double total = 0;
+        for (double value : mips) {
+            if (!(value > 0)) {
+                throw new IllegalArgumentException("MIPS must be positive: " + value);
+            }
+            total += value;
+        }
+
+        // Scaled weights: 1.0 is the average. Small and large ones are paired up.
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = mips[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] -= 1.0 - scaled[less];
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Leftovers are 1.0 up to rounding
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * @param uniform a random number in [0, 1)
+     * @return the index of the drawn VM
+     */
+    public int sample(double uniform) {
+        double scaled = uniform * probability.length;
+        int column = Math.min((int) scaled, probability.length - 1);
+        return scaled - column < probability[column] ? column : alias[column];
+    }
+}
@@ -0,0 +1,415 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.brokers.DatacenterBrokerSimple;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.core.events.SimEvent;
+import org.cloudsimplus.datacenters.Datacenter;
+import org.cloudsimplus.prediction.LengthEstimates;
+import org.cloudsimplus.prediction.LengthPredictor;
+import org.cloudsimplus.profiling.SimulationProfiler;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Base class for the scheduling brokers that lets monitoring code
+ * observe every cloudlet-to-VM decision, optionally reports
+ * the broker's wall-clock time to a {@link SimulationProfiler},
+ * can let VMs steal waiting cloudlets from each other, can
+ * schedule on predicted instead of true cloudlet lengths, can
+ * let a {@link VmAutoscaler} add and remove VMs, and can make cloudlets
+ * move their data over a {@link VmTransferModel}.
+ */
+public abstract class ObservableBroker extends DatacenterBrokerSimple {
+
+    private final List<MappingListener> mappingListeners = new ArrayList<>();
+
+    private SimulationProfiler profiler;
+
+    private WorkStealer workStealer;
+
+    private LengthPredictor lengthPredictor;
+    private LengthEstimates lengthEstimates;
+
+    private VmAutoscaler autoscaler;
+    private long submittedCloudlets;
+
+    private VmTransferModel transferModel;
+
+    private boolean mapOnArrival;
+    // Cloudlets submitted with a delay, until the broker starts and releases them
+    private final List<Cloudlet> heldCloudlets = new ArrayList<>();
+    // Released cloudlets waiting to be mapped -> their original submission delay
+    private final Map<Cloudlet, Double> releasedDelays = new IdentityHashMap<>();
+
+    protected ObservableBroker(CloudSimPlus simulation) {
+        super(simulation);
+        setVmMapper(this::mapCloudlet);
+    }
+
+    /**
+     * Adds a listener notified after each mapping decision.
+     */
+    public ObservableBroker addOnMappingListener(MappingListener listener) {
+        mappingListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Reports time spent in VM mapping and in the remaining broker event
+     * processing to the given profiler.
+     */
+    public ObservableBroker setProfiler(SimulationProfiler profiler) {
+        this.profiler = profiler;
+        return this;
+    }
+
+    /**
+     * Enables or disables work stealing: a VM that runs out of work takes
+     * waiting cloudlets from the most backlogged VM.
+     * Must be set before cloudlets are submitted.
+     */
+    public ObservableBroker setWorkStealing(boolean enabled) {
+        this.workStealer = enabled ? new WorkStealer(this) : null;
+        return this;
+    }
+
+    /**
+     * @return how many cloudlets were moved to another VM by work stealing
+     */
+    public long getStolenCloudlets() {
+        return workStealer == null ? 0 : workStealer.getSteals();
+    }
+
+    /**
+     * Makes the broker map cloudlets on predicted lengths: the predictor is
+     * asked for the length of each cloudlet from its user's estimate, and
+     * learns the true length when the cloudlet returns. The simulation still
+     * runs the true lengths. Null goes back to true lengths.
+     *
+     * @param estimates user and estimated length of every submitted cloudlet
+     */
+    public ObservableBroker setLengthPredictor(LengthPredictor predictor, LengthEstimates estimates) {
+        this.lengthPredictor = predictor;
+        this.lengthEstimates = estimates;
+        return this;
+    }
+
+    /**
+     * Sets whether cloudlets are mapped when they arrive (after their
+     * submission delay) instead of all at submission. Needed for anything
+     * learned during the run, such as length predictions, to affect mapping.
+     * Must be set before cloudlets are submitted.
+     */
+    public ObservableBroker setMapOnArrival(boolean mapOnArrival) {
+        this.mapOnArrival = mapOnArrival;
+        return this;
+    }
+
+    /**
+     * Lets an autoscaler add and remove VMs during the run. Turns on
+     * {@link #setMapOnArrival mapping on arrival}, so cloudlets can go to
+     * VMs created after they were submitted.
+     * Must be set before cloudlets are submitted.
+     */
+    public ObservableBroker setAutoscaler(VmAutoscaler autoscaler) {
+        autoscaler.attach(this);
+        this.autoscaler = autoscaler;
+        this.mapOnArrival = true;
+        return this;
+    }
+
+    /**
+     * Makes each cloudlet's input cross its VM's link before the cloudlet is
+     * submitted to the VM, and its output cross it after the cloudlet
+     * returns. Turns on {@link #setMapOnArrival mapping on arrival}, so
+     * transfers are queued in time order.
+     * Must be set before cloudlets are submitted.
+     */
+    public ObservableBroker setTransferModel(VmTransferModel transferModel) {
+        this.transferModel = transferModel;
+        this.mapOnArrival = true;
+        return this;
+    }
+
+    public VmTransferModel getTransferModel() {
+        return transferModel;
+    }
+
+    /**
+     * VMs a cloudlet can be mapped to: the created VMs, minus those an
+     * autoscaler destroyed. Subclasses use this instead of
+     * {@link #getVmCreatedList()}.
+     */
+    protected List<Vm> getMappableVms() {
+        return autoscaler == null ? getVmCreatedList() : autoscaler.getActiveVms();
+    }
+
+    /**
+     * Length of a cloudlet as the broker sees it: the predicted length if a
+     * {@link #setLengthPredictor predictor} is set, otherwise the true one.
+     * Subclasses use this instead of {@link Cloudlet#getLength()}.
+     */
+    protected double lengthOf(Cloudlet cloudlet) {
+        if (lengthPredictor == null) {
+            return cloudlet.getLength();
+        }
+        return lengthPredictor.predict(lengthEstimates.getUser(cloudlet), lengthEstimates.getEstimate(cloudlet));
+    }
+
+    /**
+     * Expected runtime of a cloudlet on PEs of the given MIPS:
+     * {@code L / (MIPS · u)}, L being its {@link #lengthOf length} and u its
+     * {@link #utilizationOf CPU utilization}, as each of its PEs executes at
+     * that fraction of the MIPS.
+     */
+    protected double runtime(Cloudlet cloudlet, double mips) {
+        return lengthOf(cloudlet) / (mips * utilizationOf(cloudlet));
+    }
+
+    /** @return CPU utilization of a cloudlet now, 1 if it reports none */
+    protected double utilizationOf(Cloudlet cloudlet) {
+        double utilization = cloudlet.getUtilizationOfCpu(getSimulation().clock());
+        return utilization > 0 ? utilization : 1;
+    }
+
+    /**
+     * Cloudlets planned together, with their lengths as the broker sees
+     * them, PEs and arrival times, index for index.
+     */
+    protected record Batch(List<Cloudlet> cloudlets, double[] lengths, int[] pes, double[] arrivals) {
+        public int size() {
+            return cloudlets.size();
+        }
+    }
+
+    /**
+     * Collects the given cloudlet and every other waiting cloudlet that was
+     * not sent to a datacenter yet and is not {@code planned}, for a broker
+     * that plans its mapping a batch at a time. A cloudlet arrives after its
+     * submission delay.
+     */
+    protected Batch collectBatch(Cloudlet cloudlet, Predicate<Cloudlet> planned) {
+        List<Cloudlet> cloudlets = new ArrayList<>();
+        cloudlets.add(cloudlet);
+        for (Cloudlet waiting : getCloudletWaitingList()) {
+            if (waiting != cloudlet && !planned.test(waiting)
+                    && waiting.getLastTriedDatacenter() == Datacenter.NULL) {
+                cloudlets.add(waiting);
+            }
+        }
+
+        double now = getSimulation().clock();
+        double[] lengths = new double[cloudlets.size()];
+        int[] pes = new int[cloudlets.size()];
+        double[] arrivals = new double[cloudlets.size()];
+        for (int i = 0; i < cloudlets.size(); i++) {
+            Cloudlet c = cloudlets.get(i);
+            lengths[i] = lengthOf(c);
+            pes[i] = (int) c.getPesNumber();
+            arrivals[i] = now + c.getSubmissionDelay();
+        }
+        return new Batch(cloudlets, lengths, pes, arrivals);
+    }
+
+    /**
+     * Seconds a cloudlet mapped to the VM now would tie up the VM's link:
+     * the transfers in flight, its input and its output. 0 without a
+     * {@link #setTransferModel transfer model}.
+     */
+    protected double transferTimeOf(Cloudlet cloudlet, Vm vm) {
+        return transferModel == null ? 0 : transferModel.transferCost(cloudlet, vm, getSimulation().clock());
+    }
+
+    /**
+     * Seconds until the input of a cloudlet mapped to the VM now would reach
+     * it. 0 without a {@link #setTransferModel transfer model}.
+     */
+    protected double stageInDelayOf(Cloudlet cloudlet, Vm vm) {
+        return transferModel == null ? 0 : transferModel.stageInDelay(cloudlet, vm, getSimulation().clock());
+    }
+
+    /**
+     * Maps a cloudlet with {@link #defaultVmMapper}, reporting the time
+     * taken to the profiler, and delays its submission to the VM until its
+     * input got there.
+     */
+    private Vm mapCloudlet(Cloudlet cloudlet) {
+        long start = System.nanoTime();
+        Vm vm = defaultVmMapper(cloudlet);
+        if (profiler != null) {
+            profiler.add(SimulationProfiler.Phase.BROKER_MAPPING, System.nanoTime() - start);
+        }
+        if (transferModel != null && vm.isCreated()) {
+            double delay = transferModel.stageIn(cloudlet, vm, getSimulation().clock());
+            // Released cloudlets get their arrival time back once sent
+            releasedDelays.putIfAbsent(cloudlet, cloudlet.getSubmissionDelay());
+            cloudlet.setSubmissionDelay(cloudlet.getSubmissionDelay() + delay);
+        }
+        return vm;
+    }
+
+    @Override
+    public ObservableBroker submitCloudletList(List<? extends Cloudlet> list) {
+        submittedCloudlets += list.size();
+        if (!mapOnArrival) {
+            super.submitCloudletList(list);
+            return this;
+        }
+
+        List<Cloudlet> now = new ArrayList<>();
+        for (Cloudlet cloudlet : list) {
+            (cloudlet.getSubmissionDelay() > 0 ? heldCloudlets : now).add(cloudlet);
+        }
+        now.forEach(this::onArrival);
+        if (isStarted()) {
+            scheduleHeldCloudlets();
+        }
+        return this;
+    }
+
+    @Override
+    public void startInternal() {
+        super.startInternal();
+        scheduleHeldCloudlets();
+        if (autoscaler != null) {
+            autoscaler.start();
+        }
+    }
+
+    private void scheduleHeldCloudlets() {
+        for (Cloudlet cloudlet : heldCloudlets) {
+            schedule(cloudlet.getSubmissionDelay(), CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES,
+                    (Runnable) () -> onArrival(cloudlet));
+        }
+        heldCloudlets.clear();
+    }
+
+    /**
+     * Takes a cloudlet that just arrived, when mapping on arrival, and
+     * submits it to be mapped. A subclass that queues arrived cloudlets
+     * itself overrides this and {@link #dispatch dispatches} them later.
+     */
+    protected void onArrival(Cloudlet cloudlet) {
+        releaseCloudlet(cloudlet);
+    }
+
+    /**
+     * Submits an arrived cloudlet bound to the given VM, which
+     * {@link #defaultVmMapper} then returns.
+     */
+    protected void dispatch(Cloudlet cloudlet, Vm vm) {
+        cloudlet.setVm(vm);
+        releaseCloudlet(cloudlet);
+    }
+
+    /**
+     * Submits a cloudlet that just arrived. The broker would send it with its
+     * submission delay again, so the delay is cleared until it is mapped.
+     */
+    private void releaseCloudlet(Cloudlet cloudlet) {
+        releasedDelays.put(cloudlet, cloudlet.getSubmissionDelay());
+        cloudlet.setSubmissionDelay(0);
+        super.submitCloudletList(List.of(cloudlet));
+    }
+
+    /**
+     * Submits a cloudlet another entity held until it arrived, such as a
+     * {@link ShardDispatcher} routing it to this broker.
+     */
+    void submitArrivedCloudlet(Cloudlet cloudlet) {
+        submittedCloudlets++;
+        onArrival(cloudlet);
+    }
+
+    @Override
+    public void processEvent(SimEvent evt) {
+        if (profiler == null) {
+            processEventAndExtensions(evt);
+            return;
+        }
+
+        long mappingBefore = profiler.getNanos(SimulationProfiler.Phase.BROKER_MAPPING);
+        long start = System.nanoTime();
+        processEventAndExtensions(evt);
+        long elapsed = System.nanoTime() - start;
+        long mapping = profiler.getNanos(SimulationProfiler.Phase.BROKER_MAPPING) - mappingBefore;
+        profiler.add(SimulationProfiler.Phase.BROKER_OTHER, elapsed - mapping);
+    }
+
+    private void processEventAndExtensions(SimEvent evt) {
+        super.processEvent(evt);
+        if (evt.getTag() == CloudSimTag.CLOUDLET_CREATION && !releasedDelays.isEmpty()) {
+            // Released cloudlets were sent; restore the delay, which is their arrival time
+            releasedDelays.forEach(Cloudlet::setSubmissionDelay);
+            releasedDelays.clear();
+        }
+        if (evt.getTag() == CloudSimTag.CLOUDLET_RETURN) {
+            Cloudlet cloudlet = (Cloudlet) evt.getData();
+            if (lengthPredictor != null) {
+                lengthPredictor.observe(lengthEstimates.getUser(cloudlet),
+                        lengthEstimates.getEstimate(cloudlet), cloudlet.getLength());
+            }
+            if (transferModel != null) {
+                transferModel.stageOut(cloudlet, cloudlet.getVm(), getSimulation().clock());
+            }
+            if (workStealer != null) {
+                workStealer.onReturn(cloudlet);
+            }
+        }
+    }
+
+    /** @return true if every cloudlet submitted so far has finished */
+    boolean isAllSubmittedCloudletsFinished() {
+        return getCloudletFinishedList().size() >= submittedCloudlets;
+    }
+
+    /**
+     * Lets an idle VM take waiting cloudlets from the most backlogged VMs,
+     * if work stealing is on.
+     */
+    void stealFor(Vm vm) {
+        if (workStealer != null) {
+            workStealer.stealFor(vm);
+        }
+    }
+
+    /**
+     * Sends a cloudlet that was moved to another VM to that VM's datacenter,
+     * once its input got there.
+     */
+    void resubmitCloudlet(Cloudlet cloudlet) {
+        double delay = transferModel == null ? 0
+                : transferModel.stageIn(cloudlet, cloudlet.getVm(), getSimulation().clock());
+        send(getDatacenter(cloudlet.getVm()), delay, CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
+    }
+
+    /**
+     * Notifies listeners that a cloudlet was mapped to a VM.
+     * Subclasses call this from {@link #defaultVmMapper(Cloudlet)}.
+     *
+     * @param runnerUpCost cost of the second best VM, or NaN if there was none
+     */
+    protected void notifyMapping(Cloudlet cloudlet, Vm vm, double cost, double runnerUpCost) {
+        if (workStealer != null && vm != Vm.NULL) {
+            workStealer.onMapped(cloudlet, vm);
+        }
+        if (autoscaler != null && vm != Vm.NULL) {
+            autoscaler.onMapped(cloudlet, vm);
+        }
+        if (mappingListeners.isEmpty()) {
+            return;
+        }
+        double time = getSimulation().clock();
+        double length = lengthOf(cloudlet);
+        for (MappingListener listener : mappingListeners) {
+            listener.onMapping(cloudlet, vm, length, cost, runnerUpCost, time);
+        }
+    }
+}
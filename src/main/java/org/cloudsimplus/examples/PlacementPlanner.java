@@ -0,0 +1,340 @@
+package org.cloudsimplus.examples;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Offline cloudlet-to-VM planner: a genetic algorithm or simulated annealing
+ * over whole plans, scored by a {@link PlanFitness}.
+ *
+ * The greedy brokers decide one cloudlet at a time and never revisit a
+ * decision. When the whole batch is known up front, this searches plans
+ * (one VM index per cloudlet) until a wall-clock budget runs out, starting
+ * from the seed plans it is given (such as Min-Min and Max-Min), so the
+ * result is never worse than the best seed.
+ *
+ * - Genetic: a population of plans, tournament selection, uniform
+ *   crossover, random reassignment and swap mutation, and the best plans
+ *   kept unchanged. Each generation is evaluated in parallel.
+ * - Annealing: independent chains, one per fork-join worker, each moving
+ *   one cloudlet to another VM or swapping the VMs of two, accepting worse
+ *   plans with probability exp(−Δ / T) as T cools over the budget. The
+ *   chains run in parallel and the best plan of all is kept.
+ *
+ * Both use the common fork-join pool. The result depends on how far the
+ * search got within the budget, so it varies from run to run.
+ */
+public class PlacementPlanner {
+
+    /** Search method */
+    public enum Method {
+        GENETIC("GA"),
+        ANNEALING("SA");
+
+        private final String label;
+
+        Method(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public static final long DEFAULT_BUDGET_MILLIS = 500;
+    public static final double DEFAULT_FLOW_WEIGHT = 0.5;
+
+    private static final int TOURNAMENT = 3;
+    private static final int ELITES = 2;
+    /** Initial annealing temperature as a fraction of the best seed's objective */
+    private static final double INITIAL_TEMPERATURE = 0.02;
+    private static final double FINAL_TEMPERATURE = 1e-4;
+
+    private final Method method;
+    private long budgetMillis = DEFAULT_BUDGET_MILLIS;
+    private int populationSize = 64;
+    private double flowWeight = DEFAULT_FLOW_WEIGHT;
+    private long seed = 42;
+
+    /**
+     * Best plan found.
+     *
+     * @param vms VM index of each cloudlet
+     * @param objective makespan + flow weight · mean flow time
+     * @param makespan estimated makespan
+     * @param meanFlowTime estimated mean response time
+     * @param seedObjective objective of the best seed plan
+     * @param evaluations plans evaluated
+     * @param rounds generations (genetic) or moves per chain (annealing)
+     */
+    public record Result(int[] vms, double objective, double makespan, double meanFlowTime,
+                         double seedObjective, long evaluations, long rounds) {
+    }
+
+    public PlacementPlanner(Method method) {
+        this.method = method;
+    }
+
+    /** Wall-clock time a plan may take */
+    public PlacementPlanner setBudgetMillis(long budgetMillis) {
+        if (budgetMillis < 0) {
+            throw new IllegalArgumentException("Budget must not be negative: " + budgetMillis);
+        }
+        this.budgetMillis = budgetMillis;
+        return this;
+    }
+
+    /** Plans per generation of the genetic algorithm */
+    public PlacementPlanner setPopulationSize(int populationSize) {
+        if (populationSize <= ELITES) {
+            throw new IllegalArgumentException("Population must be larger than " + ELITES + ": " + populationSize);
+        }
+        this.populationSize = populationSize;
+        return this;
+    }
+
+    /** Weight of the mean flow time against the makespan */
+    public PlacementPlanner setFlowWeight(double flowWeight) {
+        this.flowWeight = Math.max(0, flowWeight);
+        return this;
+    }
+
+    public PlacementPlanner setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public Method getMethod()       { return method; }
+    public long getBudgetMillis()   { return budgetMillis; }
+
+    /**
+     * Searches for the best plan of a batch.
+     *
+     * @param lengths length (MI) of each cloudlet
+     * @param arrivals arrival time of each cloudlet
+     * @param pes PEs of each cloudlet
+     * @param vmMips MIPS of each VM's PEs
+     * @param vmPes PEs of each VM
+     * @param seeds plans to start from, VM index per cloudlet; may be empty
+     */
+    public Result plan(double[] lengths, double[] arrivals, int[] pes, double[] vmMips, int[] vmPes,
+                       List<int[]> seeds) {
+        PlanFitness fitness = new PlanFitness(lengths, arrivals, pes, vmMips, vmPes, flowWeight);
+        for (int i = 0; i < lengths.length; i++) {
+            if (fitness.eligibleVms(i).length == 0) {
+                throw new IllegalArgumentException("No VM has the " + pes[i] + " PEs of cloudlet " + i);
+            }
+        }
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        SplittableRandom random = new SplittableRandom(seed);
+        LongAdder evaluations = new LongAdder();
+
+        List<int[]> starts = new ArrayList<>();
+        for (int[] plan : seeds) {
+            starts.add(plan.clone());
+        }
+        if (starts.isEmpty()) {
+            starts.add(randomPlan(fitness, random));
+        }
+        double seedObjective = starts.stream().mapToDouble(fitness::evaluate).min().orElseThrow();
+        evaluations.add(starts.size());
+
+        Search search = method == Method.GENETIC
+                ? genetic(fitness, starts, random, deadline, evaluations)
+                : annealing(fitness, starts, seedObjective, random, deadline, evaluations);
+
+        double[] flowAndMakespan = fitness.simulate(search.plan);
+        return new Result(search.plan, fitness.evaluate(search.plan), flowAndMakespan[1], flowAndMakespan[0],
+                seedObjective, evaluations.sum(), search.rounds);
+    }
+
+    private record Search(int[] plan, long rounds) {
+    }
+
+    private Search genetic(PlanFitness fitness, List<int[]> seeds, SplittableRandom random,
+                           long deadline, LongAdder evaluations) {
+        int[][] population = new int[populationSize][];
+        for (int k = 0; k < populationSize; k++) {
+            population[k] = k < seeds.size() ? seeds.get(k) : randomPlan(fitness, random);
+        }
+        double[] scores = evaluateAll(fitness, population, evaluations);
+
+        long generations = 0;
+        while (System.nanoTime() < deadline) {
+            Integer[] ranked = IntStream.range(0, populationSize).boxed()
+                    .sorted((a, b) -> Double.compare(scores[a], scores[b])).toArray(Integer[]::new);
+            int[][] next = new int[populationSize][];
+            for (int k = 0; k < ELITES; k++) {
+                next[k] = population[ranked[k]];
+            }
+            for (int k = ELITES; k < populationSize; k++) {
+                int[] a = population[tournament(scores, random)];
+                int[] b = population[tournament(scores, random)];
+                next[k] = mutate(fitness, crossover(a, b, random), random);
+            }
+
+            // Elites keep their scores; only the children are evaluated
+            double[] eliteScores = new double[ELITES];
+            for (int k = 0; k < ELITES; k++) {
+                eliteScores[k] = scores[ranked[k]];
+            }
+            population = next;
+            double[] childScores = evaluateAll(fitness, Arrays.copyOfRange(population, ELITES, populationSize),
+                    evaluations);
+            System.arraycopy(eliteScores, 0, scores, 0, ELITES);
+            System.arraycopy(childScores, 0, scores, ELITES, childScores.length);
+            generations++;
+        }
+
+        int best = 0;
+        for (int k = 1; k < populationSize; k++) {
+            if (scores[k] < scores[best]) {
+                best = k;
+            }
+        }
+        return new Search(population[best], generations);
+    }
+
+    private static double[] evaluateAll(PlanFitness fitness, int[][] plans, LongAdder evaluations) {
+        double[] scores = new double[plans.length];
+        IntStream.range(0, plans.length).parallel().forEach(k -> scores[k] = fitness.evaluate(plans[k]));
+        evaluations.add(plans.length);
+        return scores;
+    }
+
+    private static int tournament(double[] scores, SplittableRandom random) {
+        int best = random.nextInt(scores.length);
+        for (int t = 1; t < TOURNAMENT; t++) {
+            int other = random.nextInt(scores.length);
+            if (scores[other] < scores[best]) {
+                best = other;
+            }
+        }
+        return best;
+    }
+
+    private static int[] crossover(int[] a, int[] b, SplittableRandom random) {
+        int[] child = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            child[i] = random.nextBoolean() ? a[i] : b[i];
+        }
+        return child;
+    }
+
+    private static int[] mutate(PlanFitness fitness, int[] plan, SplittableRandom random) {
+        int n = plan.length;
+        if (n == 0) {
+            return plan;
+        }
+        // About one reassignment per plan, and a swap half of the time
+        for (int i = 0; i < n; i++) {
+            if (random.nextInt(n) == 0) {
+                plan[i] = randomVm(fitness, i, random);
+            }
+        }
+        if (random.nextBoolean()) {
+            swap(fitness, plan, random.nextInt(n), random.nextInt(n));
+        }
+        return plan;
+    }
+
+    private Search annealing(PlanFitness fitness, List<int[]> seeds, double seedObjective, SplittableRandom random,
+                             long deadline, LongAdder evaluations) {
+        int chains = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        long start = System.nanoTime();
+        double span = Math.max(1, deadline - start);
+        double initialTemperature = INITIAL_TEMPERATURE * seedObjective;
+        SplittableRandom[] randoms = new SplittableRandom[chains];
+        for (int c = 0; c < chains; c++) {
+            randoms[c] = random.split();
+        }
+
+        Search[] results = new Search[chains];
+        IntStream.range(0, chains).parallel().forEach(c -> {
+            SplittableRandom chainRandom = randoms[c];
+            int[] current = seeds.get(c % seeds.size()).clone();
+            double currentScore = fitness.evaluate(current);
+            int[] best = current.clone();
+            double bestScore = currentScore;
+            double temperature = initialTemperature;
+            long moves = 0;
+            int n = current.length;
+
+            while (n > 0) {
+                if ((moves & 63) == 0) {
+                    long now = System.nanoTime();
+                    if (now >= deadline) {
+                        break;
+                    }
+                    double progress = (now - start) / span;
+                    temperature = initialTemperature * Math.pow(FINAL_TEMPERATURE / INITIAL_TEMPERATURE, progress);
+                }
+                moves++;
+
+                int i = chainRandom.nextInt(n);
+                int k = chainRandom.nextInt(n);
+                int oldI = current[i];
+                int oldK = current[k];
+                if (chainRandom.nextBoolean()) {
+                    current[i] = randomVm(fitness, i, chainRandom);
+                } else {
+                    swap(fitness, current, i, k);
+                }
+                double score = fitness.evaluate(current);
+                double delta = score - currentScore;
+                if (delta <= 0 || chainRandom.nextDouble() < Math.exp(-delta / temperature)) {
+                    currentScore = score;
+                    if (score < bestScore) {
+                        bestScore = score;
+                        best = current.clone();
+                    }
+                } else {
+                    current[i] = oldI;
+                    current[k] = oldK;
+                }
+            }
+            evaluations.add(moves + 1);
+            results[c] = new Search(best, moves);
+        });
+
+        Search best = results[0];
+        for (Search result : results) {
+            if (fitness.evaluate(result.plan) < fitness.evaluate(best.plan)) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /** Swaps the VMs of two cloudlets, if each fits on the other's VM */
+    private static void swap(PlanFitness fitness, int[] plan, int i, int k) {
+        if (fits(fitness, i, plan[k]) && fits(fitness, k, plan[i])) {
+            int vm = plan[i];
+            plan[i] = plan[k];
+            plan[k] = vm;
+        }
+    }
+
+    private static boolean fits(PlanFitness fitness, int cloudlet, int vm) {
+        return Arrays.binarySearch(fitness.eligibleVms(cloudlet), vm) >= 0;
+    }
+
+    private static int randomVm(PlanFitness fitness, int cloudlet, SplittableRandom random) {
+        int[] vms = fitness.eligibleVms(cloudlet);
+        return vms[random.nextInt(vms.length)];
+    }
+
+    private static int[] randomPlan(PlanFitness fitness, SplittableRandom random) {
+        int[] plan = new int[fitness.cloudlets()];
+        for (int i = 0; i < plan.length; i++) {
+            plan[i] = randomVm(fitness, i, random);
+        }
+        return plan;
+    }
+}
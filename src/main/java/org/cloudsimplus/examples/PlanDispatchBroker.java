@@ -0,0 +1,106 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.examples.BatchModeBroker.Heuristic;
+import org.cloudsimplus.profiling.CloudletMappingEvent;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan-dispatch broker: maps cloudlets as a {@link PlacementPlanner} planned
+ *
+ * Like {@link BatchModeBroker}, it plans every cloudlet waiting to be mapped
+ * as a batch at the first mapping decision, then maps each cloudlet to its
+ * planned VM. Mapped up front (the default), the whole workload is one
+ * batch, which is what the planner is for. The Min-Min and Max-Min plans
+ * of the batch seed the search.
+ *
+ * Every batch is planned as if the VMs were idle, so with mapping on
+ * arrival later batches ignore the work of earlier ones.
+ */
+public class PlanDispatchBroker extends ObservableBroker {
+
+    private final PlacementPlanner planner;
+    private final Map<Cloudlet, Vm> plan = new IdentityHashMap<>();
+    private final List<PlacementPlanner.Result> results = new ArrayList<>();
+
+    public PlanDispatchBroker(CloudSimPlus simulation, PlacementPlanner planner) {
+        super(simulation);
+        this.planner = planner;
+    }
+
+    public PlacementPlanner getPlanner() {
+        return planner;
+    }
+
+    /** @return the planner's result for each batch, in planning order */
+    public List<PlacementPlanner.Result> getResults() {
+        return results;
+    }
+
+    @Override
+    protected Vm defaultVmMapper(final Cloudlet cloudlet) {
+        final List<Vm> vms = getMappableVms();
+
+        if (vms.isEmpty()) {
+            return Vm.NULL;
+        }
+
+        CloudletMappingEvent mappingEvent = new CloudletMappingEvent();
+        mappingEvent.begin();
+
+        Vm vm = plan.remove(cloudlet);
+        if (vm == null || !vms.contains(vm)) {
+            planBatch(cloudlet, vms);
+            vm = plan.remove(cloudlet);
+        }
+
+        double cost = runtime(cloudlet, vm.getMips());
+        mappingEvent.commit(planner.getMethod().getLabel(), cloudlet, vm, cost, vms.size(),
+                getSimulation().clock());
+        notifyMapping(cloudlet, vm, cost, Double.NaN);
+
+        return vm;
+    }
+
+    /**
+     * Plans the given cloudlet with every other waiting cloudlet that has no
+     * plan yet.
+     */
+    private void planBatch(Cloudlet cloudlet, List<Vm> vms) {
+        Batch batch = collectBatch(cloudlet, plan::containsKey);
+        double now = getSimulation().clock();
+
+        double[] vmMips = new double[vms.size()];
+        int[] vmPes = new int[vms.size()];
+        Map<Vm, Integer> vmIndex = new IdentityHashMap<>();
+        for (int j = 0; j < vms.size(); j++) {
+            vmMips[j] = vms.get(j).getMips();
+            vmPes[j] = (int) vms.get(j).getPesNumber();
+            vmIndex.put(vms.get(j), j);
+        }
+
+        List<int[]> seeds = new ArrayList<>();
+        for (Heuristic heuristic : List.of(Heuristic.MIN_MIN, Heuristic.MAX_MIN)) {
+            EctMatrix.Assignment[] assignments = new EctMatrix().plan(heuristic, vms,
+                    batch.lengths(), batch.pes(), batch.arrivals(), now);
+            int[] seed = new int[batch.size()];
+            for (int i = 0; i < seed.length; i++) {
+                seed[i] = vmIndex.getOrDefault(assignments[i].vm(), 0);
+            }
+            seeds.add(seed);
+        }
+
+        PlacementPlanner.Result result = planner.plan(batch.lengths(), batch.arrivals(), batch.pes(),
+                vmMips, vmPes, seeds);
+        for (int i = 0; i < batch.size(); i++) {
+            plan.put(batch.cloudlets().get(i), vms.get(result.vms()[i]));
+        }
+        results.add(result);
+    }
+}
@@ -0,0 +1,119 @@
+package org.cloudsimplus.examples;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Objective of a cloudlet-to-VM plan, over primitive arrays.
+ *
+ * Each VM runs its cloudlets in arrival order, as the space-shared
+ * scheduler does, each on the PEs of the VM that free up first:
+ *
+ *   start_i  = max(arrival_i, free time of the pes_i-th earliest PE of VM j)
+ *   finish_i = start_i + L_i / MIPS_j
+ *
+ * and a plan scores
+ *
+ *   makespan + flowWeight · mean(finish_i − arrival_i)
+ *
+ * lower being better. An evaluation is O(n · PEs per VM) and allocates one
+ * array of the PEs' free times, so evaluations run in parallel.
+ */
+final class PlanFitness {
+
+    private final double[] lengths;
+    private final double[] arrivals;
+    private final int[] pes;
+    private final double[] vmMips;
+    private final int[] vmPes;
+    private final double flowWeight;
+
+    // Cloudlets in arrival order, and where each VM's PEs start in the free-time array
+    private final int[] order;
+    private final int[] peOffset;
+    private final double minArrival;
+    // VMs each cloudlet fits on
+    private final int[][] eligible;
+
+    /**
+     * @param lengths length (MI) of each cloudlet
+     * @param arrivals arrival time of each cloudlet
+     * @param pes PEs of each cloudlet
+     * @param vmMips MIPS of each VM's PEs
+     * @param vmPes PEs of each VM
+     * @param flowWeight weight of the mean flow time against the makespan
+     */
+    PlanFitness(double[] lengths, double[] arrivals, int[] pes, double[] vmMips, int[] vmPes, double flowWeight) {
+        this.lengths = lengths;
+        this.arrivals = arrivals;
+        this.pes = pes;
+        this.vmMips = vmMips;
+        this.vmPes = vmPes;
+        this.flowWeight = flowWeight;
+
+        this.order = IntStream.range(0, lengths.length).boxed()
+                .sorted(Comparator.comparingDouble(i -> arrivals[i]))
+                .mapToInt(Integer::intValue).toArray();
+        this.peOffset = new int[vmPes.length + 1];
+        for (int j = 0; j < vmPes.length; j++) {
+            peOffset[j + 1] = peOffset[j] + vmPes[j];
+        }
+        this.minArrival = Arrays.stream(arrivals).min().orElse(0);
+        this.eligible = new int[lengths.length][];
+        for (int i = 0; i < lengths.length; i++) {
+            final int cloudlet = i;
+            eligible[i] = IntStream.range(0, vmPes.length).filter(j -> vmPes[j] >= pes[cloudlet]).toArray();
+        }
+    }
+
+    int cloudlets() {
+        return lengths.length;
+    }
+
+    int vms() {
+        return vmPes.length;
+    }
+
+    /** @return the VMs a cloudlet has enough PEs on */
+    int[] eligibleVms(int cloudlet) {
+        return eligible[cloudlet];
+    }
+
+    /** @return the objective of a plan, lower is better */
+    double evaluate(int[] plan) {
+        double[] flowAndMakespan = simulate(plan);
+        return flowAndMakespan[1] + flowWeight * flowAndMakespan[0];
+    }
+
+    /** @return {mean flow time, makespan} of a plan */
+    double[] simulate(int[] plan) {
+        double[] free = new double[peOffset[vmPes.length]];
+        double maxFinish = minArrival;
+        double totalFlow = 0;
+        for (int i : order) {
+            int vm = plan[i];
+            int from = peOffset[vm];
+            int to = peOffset[vm + 1];
+            double start;
+            if (pes[i] == 1) {
+                int earliest = from;
+                for (int p = from + 1; p < to; p++) {
+                    if (free[p] < free[earliest]) {
+                        earliest = p;
+                    }
+                }
+                start = Math.max(arrivals[i], free[earliest]);
+                free[earliest] = start + lengths[i] / vmMips[vm];
+            } else {
+                Arrays.sort(free, from, to);
+                start = Math.max(arrivals[i], free[from + pes[i] - 1]);
+                Arrays.fill(free, from, from + pes[i], start + lengths[i] / vmMips[vm]);
+            }
+            double finish = start + lengths[i] / vmMips[vm];
+            maxFinish = Math.max(maxFinish, finish);
+            totalFlow += finish - arrivals[i];
+        }
+        return new double[]{plan.length == 0 ? 0 : totalFlow / plan.length, maxFinish - minArrival};
+    }
+}
@@ -0,0 +1,121 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.profiling.CloudletMappingEvent;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Power-of-d-choices broker
+ *
+ * Instead of scoring every VM, each decision samples d VMs with probability
+ * proportional to their MIPS and picks the cheapest of them by the same cost
+ * as DynamicAvAgingLoadAwareBroker:
+ *
+ *   cost_j = (L_i / (MIPS_j · u_i)) · (1000 / MIPS_j) · 3.0 + assigned_j · 1.5 + H_j · 0.1
+ *
+ * A decision costs O(d) whatever the number of VMs, which matters when
+ * scheduling throughput on huge fleets is worth more than the last percent
+ * of makespan. Sampling by MIPS keeps fast VMs busy, and comparing d
+ * candidates keeps their queues balanced.
+ */
+public class PowerOfDChoicesBroker extends ObservableBroker {
+
+    /** Number of VMs sampled per decision */
+    public static final int DEFAULT_CHOICES = 2;
+
+    private static final long DEFAULT_SEED = 42;
+
+    private final int choices;
+    private final Random random;
+
+    /** Sampler over the VM list it was built for; rebuilt when VMs are added */
+    private MipsWeightedSampler sampler;
+    private List<Vm> sampledVms;
+
+    /** Same bookkeeping as DynamicAvAgingLoadAwareBroker */
+    private final Map<Long, Integer> vmAssignmentCount = new HashMap<>();
+    private final Map<Long, Double> vmHistoricalLoad = new HashMap<>();
+
+    public PowerOfDChoicesBroker(CloudSimPlus simulation) {
+        this(simulation, DEFAULT_CHOICES, DEFAULT_SEED);
+    }
+
+    /**
+     * @param choices number of VMs sampled per decision
+     * @param seed seed of the sampling random numbers
+     */
+    public PowerOfDChoicesBroker(CloudSimPlus simulation, int choices, long seed) {
+        super(simulation);
+        if (choices < 1) {
+            throw new IllegalArgumentException("At least one choice is needed: " + choices);
+        }
+        this.choices = choices;
+        this.random = new Random(seed);
+    }
+
+    public int getChoices() {
+        return choices;
+    }
+
+    @Override
+    protected Vm defaultVmMapper(final Cloudlet cloudlet) {
+        final List<Vm> vms = getMappableVms();
+
+        if (vms.isEmpty()) {
+            return Vm.NULL;
+        }
+
+        if (vms.size() == 1) {
+            notifyMapping(cloudlet, vms.get(0), 0.0, Double.NaN);
+            return vms.get(0);
+        }
+
+        if (sampler == null || sampledVms.size() != vms.size()) {
+            sampler = new MipsWeightedSampler(vms.stream().mapToDouble(Vm::getMips).toArray());
+            sampledVms = List.copyOf(vms);
+        }
+
+        CloudletMappingEvent mappingEvent = new CloudletMappingEvent();
+        mappingEvent.begin();
+
+        Vm bestVm = Vm.NULL;
+        double minCost = Double.MAX_VALUE;
+        double runnerUpCost = Double.MAX_VALUE;
+
+        for (int i = 0; i < choices; i++) {
+            Vm vm = sampledVms.get(sampler.sample(random.nextDouble()));
+            if (vm == bestVm) {
+                continue;
+            }
+
+            double execTime = runtime(cloudlet, vm.getMips());
+            double normalizedExecTime = execTime * (1000.0 / vm.getMips());
+            double cost = normalizedExecTime * 3.0
+                    + vmAssignmentCount.getOrDefault(vm.getId(), 0) * 1.5
+                    + vmHistoricalLoad.getOrDefault(vm.getId(), 0.0) * 0.1;
+
+            if (cost < minCost) {
+                runnerUpCost = minCost;
+                minCost = cost;
+                bestVm = vm;
+            } else if (cost < runnerUpCost) {
+                runnerUpCost = cost;
+            }
+        }
+
+        vmAssignmentCount.merge(bestVm.getId(), 1, Integer::sum);
+        vmHistoricalLoad.merge(bestVm.getId(), runtime(cloudlet, bestVm.getMips()), Double::sum);
+
+        mappingEvent.commit("PowerOfD", cloudlet, bestVm, minCost, choices, getSimulation().clock());
+        notifyMapping(cloudlet, bestVm, minCost,
+                runnerUpCost == Double.MAX_VALUE ? Double.NaN : runnerUpCost);
+
+        return bestVm;
+    }
+}
@@ -0,0 +1,103 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.core.events.SimEvent;
+import org.cloudsimplus.profiling.CloudletMappingEvent;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Base class for brokers that queue arrived cloudlets themselves and send a
+ * cloudlet to a VM only when the VM has free PEs for it, so VM schedulers
+ * never queue. Cloudlets always map on arrival.
+ *
+ * Subclasses queue cloudlets in {@link #onArrival}, call
+ * {@link #requestDispatch()} and decide in {@link #dispatchReady()} which of
+ * them {@link #start} where. It runs after each arrival, VM creation and
+ * cloudlet return, once no submitted VM is still waiting to be created, so
+ * the first cloudlets don't all go to the first VM created.
+ *
+ * A cloudlet is expected to run for its {@link #runtime}. With a {@link VmTransferModel}, its PEs stay reserved while its input
+ * crosses the VM's link, and it is expected to start once the input got there.
+ */
+public abstract class QueueingBroker extends ObservableBroker {
+
+    // PEs of started cloudlets that have not returned
+    private final Map<Vm, Integer> reservedPes = new IdentityHashMap<>();
+    // Started cloudlets that have not returned -> expected finish time
+    private final Map<Cloudlet, Double> running = new IdentityHashMap<>();
+
+    protected QueueingBroker(CloudSimPlus simulation) {
+        super(simulation);
+        setMapOnArrival(true);
+    }
+
+    /** Name of the broker in mapping events */
+    protected abstract String getLabel();
+
+    /**
+     * Starts waiting cloudlets on VMs with enough {@link #freePes free PEs}.
+     */
+    protected abstract void dispatchReady();
+
+    @Override
+    public void processEvent(SimEvent evt) {
+        if (evt.getTag() == CloudSimTag.CLOUDLET_RETURN) {
+            Cloudlet cloudlet = (Cloudlet) evt.getData();
+            reservedPes.merge(cloudlet.getVm(), -(int) cloudlet.getPesNumber(), Integer::sum);
+            running.remove(cloudlet);
+        }
+        super.processEvent(evt);
+        if (evt.getTag() == CloudSimTag.CLOUDLET_RETURN || evt.getTag() == CloudSimTag.VM_CREATE_ACK) {
+            requestDispatch();
+        }
+    }
+
+    /**
+     * Calls {@link #dispatchReady()} unless VMs are still being created.
+     */
+    protected final void requestDispatch() {
+        if (getVmWaitingList().isEmpty()) {
+            dispatchReady();
+        }
+    }
+
+    @Override
+    protected Vm defaultVmMapper(final Cloudlet cloudlet) {
+        CloudletMappingEvent mappingEvent = new CloudletMappingEvent();
+        mappingEvent.begin();
+
+        // Bound by start(), which already chose the VM
+        Vm vm = cloudlet.getVm();
+        double finish = running.getOrDefault(cloudlet, Double.NaN);
+
+        mappingEvent.commit(getLabel(), cloudlet, vm, finish, getMappableVms().size(), getSimulation().clock());
+        notifyMapping(cloudlet, vm, finish, Double.NaN);
+        return vm;
+    }
+
+    /**
+     * Sends a cloudlet to a VM that has enough free PEs for it.
+     */
+    protected void start(Cloudlet cloudlet, Vm vm) {
+        reservedPes.merge(vm, (int) cloudlet.getPesNumber(), Integer::sum);
+        running.put(cloudlet,
+                getSimulation().clock() + stageInDelayOf(cloudlet, vm) + runtime(cloudlet, vm.getMips()));
+        dispatch(cloudlet, vm);
+    }
+
+    /** @return PEs of the VM not used by started cloudlets */
+    protected int freePes(Vm vm) {
+        return (int) vm.getPesNumber() - reservedPes.getOrDefault(vm, 0);
+    }
+
+    /** @return started cloudlets that have not returned, with their expected finish time */
+    protected Map<Cloudlet, Double> getRunningCloudlets() {
+        return Collections.unmodifiableMap(running);
+    }
+}
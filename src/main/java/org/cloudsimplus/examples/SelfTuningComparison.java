@@ -0,0 +1,78 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.metrics.MetricsCollector;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+import org.cloudsimplus.scheduling.CloudletSchedulerSjfAging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The aging broker with its hand-tuned α and weights against the same broker
+ * driven by an {@link AgingWeightTuner}, with one p99 wait target for all
+ * workloads. VMs run a {@link CloudletSchedulerSjfAging}, so α decides the
+ * order of their queues, and cloudlets are mapped on arrival in every run.
+ */
+public class SelfTuningComparison {
+
+    /** p99 waiting time targets (seconds), the same for every workload */
+    private static final double[] TARGETS = {10, 20, 40};
+
+    public static void main(String[] args) {
+        String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+        List<Supplier<List<Cloudlet>>> workloads = List.of(
+                DynamicWorkloadScenario::createCloudlets,
+                BurstyWorkloadScenario::createCloudlets,
+                HeavyLoadScenario::createCloudlets,
+                BalancedWorkloadScenario::createCloudlets);
+
+        List<String> rows = new ArrayList<>();
+        for (int w = 0; w < names.length; w++) {
+            rows.add(run(names[w], workloads.get(w), null));
+            for (double target : TARGETS) {
+                rows.add(run(names[w], workloads.get(w), new AgingWeightTuner(target)));
+            }
+        }
+
+        System.out.println("\n" + "=".repeat(118));
+        System.out.println("SELF-TUNING vs HAND-TUNED AGING BROKER (SJF-aging VMs, mapping on arrival)");
+        System.out.println("=".repeat(118));
+        System.out.printf("%-12s %-16s %10s %10s %10s %10s %12s %8s %8s %8s%n",
+                "Workload", "Weights", "Avg WT", "p99 WT", "Avg RT", "Makespan", "Throughput",
+                "Steps", "alpha", "spread");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(String workload, Supplier<List<Cloudlet>> cloudlets, AgingWeightTuner tuner) {
+        CloudSimPlus simulation = new CloudSimPlus();
+        new DatacenterSimple(simulation, SimulationMain.createHosts(SimulationMain.HOSTS));
+
+        DynamicAvAgingLoadAwareBroker broker = new DynamicAvAgingLoadAwareBroker(simulation);
+        broker.setMapOnArrival(true);
+        if (tuner != null) {
+            broker.setWeightTuner(tuner);
+        }
+        broker.submitVmList(SimulationMain.createVms(SimulationMain.VMS,
+                () -> new CloudletSchedulerSjfAging(DynamicAvAgingLoadAwareBroker.DEFAULT_ALPHA)));
+        broker.submitCloudletList(cloudlets.get());
+        simulation.start();
+
+        MetricsCollector metrics = new MetricsCollector();
+        metrics.collectMetrics(broker.getCloudletFinishedList());
+        String weights = tuner == null ? "hand-tuned" : String.format("p99 < %.0fs", tuner.getTargetP99Wait());
+        return String.format("%-12s %-16s %10.4f %10.4f %10.4f %10.4f %12.4f %8s %8s %8s",
+                workload, weights, metrics.getAverageWaitingTime(), metrics.getP99WaitingTime(),
+                metrics.getAverageResponseTime(), metrics.getMakespan(), metrics.getThroughput(),
+                tuner == null ? "-" : String.valueOf(tuner.getSteps().size()),
+                String.format("%.2f", tuner == null ? broker.getAlpha() : tuner.getAlpha()),
+                tuner == null ? "1.00" : String.format("%.2f", tuner.getSpread()));
+    }
+}
@@ -0,0 +1,196 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimEntity;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.core.events.SimEvent;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Front dispatcher of a sharded broker.
+ *
+ * The VMs are split among K brokers (shards), each mapping cloudlets to its
+ * own VMs only, with its usual logic. The dispatcher routes every cloudlet to
+ * a shard when it arrives, from one number per shard: the outstanding work
+ * (length / u · PEs of routed cloudlets that haven't finished, u being their
+ * CPU utilization). A cloudlet goes to the shard with the least outstanding
+ * work per MIPS once it is added. Lengths are each shard broker's
+ * {@link ObservableBroker#lengthOf view} of them, so with a length predictor
+ * routing sees the same lengths as the shards' mapping.
+ *
+ * A decision costs O(K) here plus O(V/K) in the shard, instead of O(V) for
+ * one broker owning every VM. The price is that a shard cannot use idle VMs
+ * of another one.
+ *
+ * VMs are dealt to the shards round-robin in submission order, so a
+ * heterogeneous fleet gives every shard a similar mix.
+ */
+public class ShardDispatcher extends CloudSimEntity {
+
+    private final List<ObservableBroker> shards;
+    private final double[] capacity;
+    private final double[] outstandingWork;
+    private final long[] routedCloudlets;
+    private int submittedVms;
+
+    // Cloudlets submitted with a delay, until the dispatcher starts and routes them on arrival
+    private final List<Cloudlet> heldCloudlets = new ArrayList<>();
+
+    /**
+     * @param shardCount number of shards K
+     * @param brokerFactory creates the broker of each shard
+     */
+    public ShardDispatcher(CloudSimPlus simulation, int shardCount,
+                           Function<CloudSimPlus, ? extends ObservableBroker> brokerFactory) {
+        super(simulation);
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is needed: " + shardCount);
+        }
+        setName("ShardDispatcher");
+
+        List<ObservableBroker> brokers = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            ObservableBroker broker = brokerFactory.apply(simulation);
+            broker.setName("Shard" + shard);
+            brokers.add(broker);
+        }
+        this.shards = List.copyOf(brokers);
+        this.capacity = new double[shardCount];
+        this.outstandingWork = new double[shardCount];
+        this.routedCloudlets = new long[shardCount];
+    }
+
+    public List<ObservableBroker> getShards() {
+        return shards;
+    }
+
+    /**
+     * @return how many cloudlets were routed to the shard
+     */
+    public long getRoutedCloudlets(int shard) {
+        return routedCloudlets[shard];
+    }
+
+    /**
+     * @return finished cloudlets of all shards
+     */
+    public List<Cloudlet> getCloudletFinishedList() {
+        List<Cloudlet> finished = new ArrayList<>();
+        for (ObservableBroker shard : shards) {
+            finished.addAll(shard.getCloudletFinishedList());
+        }
+        return finished;
+    }
+
+    /**
+     * Deals the VMs to the shards round-robin, continuing from the last
+     * VM submitted.
+     */
+    public ShardDispatcher submitVmList(List<? extends Vm> list) {
+        List<List<Vm>> perShard = emptyListPerShard();
+        for (Vm vm : list) {
+            int shard = submittedVms++ % shards.size();
+            perShard.get(shard).add(vm);
+            capacity[shard] += vm.getMips() * vm.getPesNumber();
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (!perShard.get(shard).isEmpty()) {
+                shards.get(shard).submitVmList(perShard.get(shard));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Routes cloudlets without a submission delay now, and the others
+     * when they arrive.
+     */
+    public ShardDispatcher submitCloudletList(List<? extends Cloudlet> list) {
+        List<List<Cloudlet>> perShard = emptyListPerShard();
+        for (Cloudlet cloudlet : list) {
+            if (cloudlet.getSubmissionDelay() > 0) {
+                heldCloudlets.add(cloudlet);
+            } else if (isStarted()) {
+                shards.get(route(cloudlet)).submitArrivedCloudlet(cloudlet);
+            } else {
+                perShard.get(route(cloudlet)).add(cloudlet);
+            }
+        }
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (!perShard.get(shard).isEmpty()) {
+                shards.get(shard).submitCloudletList(perShard.get(shard));
+            }
+        }
+        if (isStarted()) {
+            scheduleHeldCloudlets();
+        }
+        return this;
+    }
+
+    @Override
+    protected void startInternal() {
+        scheduleHeldCloudlets();
+    }
+
+    @Override
+    public void processEvent(SimEvent evt) {
+        if (evt.getTag() == CloudSimTag.CLOUDLET_SUBMIT) {
+            Cloudlet cloudlet = (Cloudlet) evt.getData();
+            shards.get(route(cloudlet)).submitArrivedCloudlet(cloudlet);
+        }
+    }
+
+    private void scheduleHeldCloudlets() {
+        for (Cloudlet cloudlet : heldCloudlets) {
+            schedule(cloudlet.getSubmissionDelay(), CloudSimTag.CLOUDLET_SUBMIT, cloudlet);
+        }
+        heldCloudlets.clear();
+    }
+
+    /**
+     * Picks the shard with the least outstanding work per MIPS after adding
+     * the cloudlet, and counts the cloudlet there until it finishes.
+     */
+    private int route(Cloudlet cloudlet) {
+        int bestShard = -1;
+        double bestWork = 0;
+        double minDrain = Double.MAX_VALUE;
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (capacity[shard] == 0) {
+                continue;
+            }
+            ObservableBroker broker = shards.get(shard);
+            double work = broker.lengthOf(cloudlet) / broker.utilizationOf(cloudlet) * cloudlet.getPesNumber();
+            double drain = (outstandingWork[shard] + work) / capacity[shard];
+            if (drain < minDrain) {
+                minDrain = drain;
+                bestShard = shard;
+                bestWork = work;
+            }
+        }
+        if (bestShard < 0) {
+            throw new IllegalStateException("No shard has VMs to run " + cloudlet);
+        }
+
+        int shard = bestShard;
+        double work = bestWork;
+        outstandingWork[shard] += work;
+        routedCloudlets[shard]++;
+        cloudlet.addOnFinishListener(info -> outstandingWork[shard] -= work);
+        return shard;
+    }
+
+    private <T> List<List<T>> emptyListPerShard() {
+        List<List<T>> lists = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+}
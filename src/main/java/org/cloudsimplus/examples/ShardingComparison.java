@@ -0,0 +1,91 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.metrics.MetricsCollector;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerSpaceShared;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * One global load-aware broker against a {@link ShardDispatcher} with K
+ * shards, on the VMs of {@link SimulationMain}. Every broker maps cloudlets
+ * on arrival, so the global one sees the same state as the shards would.
+ *
+ * This shows the tail latency sharding costs on a small fleet; the time it
+ * saves per decision only shows on large ones, see
+ * {@code org.cloudsimplus.replay.ShardingScaling}.
+ */
+public class ShardingComparison {
+
+    private static final int[] SHARDS = {2, 3, 6};
+
+    public static void main(String[] args) {
+        String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+        List<Supplier<List<Cloudlet>>> workloads = List.of(
+                DynamicWorkloadScenario::createCloudlets,
+                BurstyWorkloadScenario::createCloudlets,
+                HeavyLoadScenario::createCloudlets,
+                BalancedWorkloadScenario::createCloudlets);
+
+        List<String> rows = new ArrayList<>();
+        for (int w = 0; w < names.length; w++) {
+            rows.add(runGlobal(names[w], workloads.get(w)));
+            for (int k : SHARDS) {
+                rows.add(runSharded(names[w], workloads.get(w), k));
+            }
+        }
+
+        System.out.println("\n" + "=".repeat(100));
+        System.out.printf("SHARDED vs GLOBAL BROKER: %d VMs, aging/load-aware mapping on arrival%n", SimulationMain.VMS);
+        System.out.println("=".repeat(100));
+        System.out.printf("%-12s %-10s %10s %10s %10s %10s   %s%n",
+                "Workload", "Brokers", "Avg WT", "p99 WT", "Avg RT", "Makespan", "Cloudlets per shard");
+        rows.forEach(System.out::println);
+    }
+
+    private static String runGlobal(String workload, Supplier<List<Cloudlet>> cloudlets) {
+        CloudSimPlus simulation = new CloudSimPlus();
+        new DatacenterSimple(simulation, SimulationMain.createHosts(SimulationMain.HOSTS));
+
+        DynamicAvAgingLoadAwareBroker broker = new DynamicAvAgingLoadAwareBroker(simulation);
+        broker.setMapOnArrival(true);
+        broker.submitVmList(SimulationMain.createVms(SimulationMain.VMS, CloudletSchedulerSpaceShared::new));
+        broker.submitCloudletList(cloudlets.get());
+        simulation.start();
+
+        return row(workload, "global", broker.getCloudletFinishedList(), "-");
+    }
+
+    private static String runSharded(String workload, Supplier<List<Cloudlet>> cloudlets, int shards) {
+        CloudSimPlus simulation = new CloudSimPlus();
+        new DatacenterSimple(simulation, SimulationMain.createHosts(SimulationMain.HOSTS));
+
+        ShardDispatcher dispatcher = new ShardDispatcher(simulation, shards, DynamicAvAgingLoadAwareBroker::new);
+        dispatcher.submitVmList(SimulationMain.createVms(SimulationMain.VMS, CloudletSchedulerSpaceShared::new));
+        dispatcher.submitCloudletList(cloudlets.get());
+        simulation.start();
+
+        StringBuilder routed = new StringBuilder();
+        for (int shard = 0; shard < shards; shard++) {
+            routed.append(shard == 0 ? "" : "/").append(dispatcher.getRoutedCloudlets(shard));
+        }
+        return row(workload, shards + " shards", dispatcher.getCloudletFinishedList(), routed.toString());
+    }
+
+    private static String row(String workload, String brokers, List<Cloudlet> finished, String routed) {
+        MetricsCollector metrics = new MetricsCollector();
+        metrics.collectMetrics(finished);
+        return String.format("%-12s %-10s %10.4f %10.4f %10.4f %10.4f   %s",
+                workload, brokers, metrics.getAverageWaitingTime(), metrics.getP99WaitingTime(),
+                metrics.getAverageResponseTime(), metrics.getMakespan(), routed);
+    }
+}
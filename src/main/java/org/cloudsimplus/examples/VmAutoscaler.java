@@ -0,0 +1,295 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.brokers.DatacenterBroker;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Creates and destroys VMs of a broker as its backlog grows and shrinks.
+ *
+ * Every {@link #setInterval interval} it computes the cluster backlog: the
+ * running and queued work of all VMs (from a {@link VmCapacityTracker})
+ * divided by their total MIPS, i.e. how long the cluster needs to drain what
+ * it has. VMs still being provisioned count as capacity, so the same backlog
+ * is not answered twice.
+ *
+ * - Above the scale-up threshold it requests the VMs that bring the
+ *   backlog down to the middle of the two thresholds: the largest type of
+ *   the catalog while more is missing, then the smallest type that covers
+ *   the rest. They become usable after the provisioning delay.
+ * - Below the scale-down threshold, with nothing being provisioned, it
+ *   destroys idle VMs, slowest first, as long as the backlog on the rest
+ *   stays below the middle of the thresholds.
+ *
+ * The gap between the two thresholds and a cooldown after every change give
+ * the hysteresis that keeps it from flapping. The cluster stays within
+ * [min, max] VMs.
+ *
+ * The broker maps cloudlets on arrival while an autoscaler is set, since
+ * VMs created later could get no work otherwise. With work stealing, idle
+ * VMs, new ones included, take waiting cloudlets from the most backlogged
+ * VMs at every step before any is destroyed.
+ */
+public class VmAutoscaler {
+
+    private final List<VmType> catalog;
+    private final Function<VmType, Vm> vmFactory;
+
+    private double interval = 1.0;
+    private double scaleUpBacklog = 10.0;
+    private double scaleDownBacklog = 2.0;
+    private double provisioningDelay = 5.0;
+    private double cooldown = 3.0;
+    private int minVms = 1;
+    private int maxVms = 24;
+
+    private ObservableBroker broker;
+    private VmCapacityTracker capacity;
+
+    private final Set<Vm> retired = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Vm> provisioning = new ArrayList<>();
+    private List<Vm> activeVms = List.of();
+    private int createdCountOfActive = -1;
+    private int seenCreated;
+    private double lastScalingTime = Double.NEGATIVE_INFINITY;
+
+    private int scaleUps;
+    private int scaleDowns;
+    private int peakVms;
+
+    /**
+     * @param catalog VM types that can be created
+     * @param vmFactory creates a VM of a type, with its cloudlet scheduler
+     */
+    public VmAutoscaler(List<VmType> catalog, Function<VmType, Vm> vmFactory) {
+        if (catalog.isEmpty()) {
+            throw new IllegalArgumentException("The VM type catalog is empty");
+        }
+        this.catalog = catalog.stream().sorted(Comparator.comparingDouble(VmType::capacity)).toList();
+        this.vmFactory = vmFactory;
+    }
+
+    /** Seconds between two scaling decisions */
+    public VmAutoscaler setInterval(double interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        return this;
+    }
+
+    /**
+     * @param scaleUpBacklog backlog (seconds) above which a VM is added
+     * @param scaleDownBacklog backlog (seconds) below which a VM is removed
+     */
+    public VmAutoscaler setThresholds(double scaleUpBacklog, double scaleDownBacklog) {
+        if (scaleDownBacklog < 0 || scaleDownBacklog >= scaleUpBacklog) {
+            throw new IllegalArgumentException("Need 0 <= scale-down < scale-up backlog");
+        }
+        this.scaleUpBacklog = scaleUpBacklog;
+        this.scaleDownBacklog = scaleDownBacklog;
+        return this;
+    }
+
+    /** Seconds from requesting a VM until it can run cloudlets */
+    public VmAutoscaler setProvisioningDelay(double provisioningDelay) {
+        this.provisioningDelay = Math.max(0, provisioningDelay);
+        return this;
+    }
+
+    /** Seconds after a scaling action before the next one */
+    public VmAutoscaler setCooldown(double cooldown) {
+        this.cooldown = Math.max(0, cooldown);
+        return this;
+    }
+
+    public VmAutoscaler setVmLimits(int minVms, int maxVms) {
+        if (minVms < 1 || maxVms < minVms) {
+            throw new IllegalArgumentException("Need 1 <= min <= max VMs");
+        }
+        this.minVms = minVms;
+        this.maxVms = maxVms;
+        return this;
+    }
+
+    public int getScaleUps()   { return scaleUps; }
+    public int getScaleDowns() { return scaleDowns; }
+    public int getPeakVms()    { return peakVms; }
+
+    /**
+     * VM-seconds consumed: for every VM the broker created, the time from
+     * its request until it was destroyed (or until now if it still runs).
+     * Provisioning time is included, as it is paid for.
+     */
+    public double getVmSeconds() {
+        return vmSecondsOf(broker);
+    }
+
+    /**
+     * VM-seconds consumed by all VMs a broker created, counted the same way
+     * as {@link #getVmSeconds()}, to compare fixed clusters with autoscaled ones.
+     */
+    public static double vmSecondsOf(DatacenterBroker broker) {
+        double now = broker.getSimulation().clock();
+        double total = 0;
+        for (Vm vm : broker.getVmCreatedList()) {
+            double end = vm.getFinishTime() > 0 ? vm.getFinishTime() : now;
+            total += Math.max(0, end - vm.getBrokerArrivalTime());
+        }
+        return total;
+    }
+
+    void attach(ObservableBroker broker) {
+        if (this.broker != null && this.broker != broker) {
+            throw new IllegalStateException("The autoscaler already belongs to " + this.broker);
+        }
+        this.broker = broker;
+        this.capacity = new VmCapacityTracker(broker);
+    }
+
+    void start() {
+        scheduleStep();
+    }
+
+    void onMapped(Cloudlet cloudlet, Vm vm) {
+        capacity.onMapped(cloudlet, vm);
+    }
+
+    /**
+     * @return created VMs that were not destroyed by the autoscaler, which
+     *         are the only ones the broker may map to
+     */
+    List<Vm> getActiveVms() {
+        List<Vm> created = broker.getVmCreatedList();
+        if (created.size() != createdCountOfActive) {
+            activeVms = created.stream().filter(vm -> !retired.contains(vm)).toList();
+            createdCountOfActive = created.size();
+        }
+        return activeVms;
+    }
+
+    private void scheduleStep() {
+        broker.schedule(interval, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, (Runnable) this::step);
+    }
+
+    private void step() {
+        if (broker.isAllSubmittedCloudletsFinished()) {
+            return;
+        }
+        double now = broker.getSimulation().clock();
+
+        // A VM is ready once the broker lists it as created
+        List<Vm> created = broker.getVmCreatedList();
+        for (; seenCreated < created.size(); seenCreated++) {
+            provisioning.remove(created.get(seenCreated));
+        }
+
+        // New and drained VMs take waiting cloudlets from backlogged ones first
+        List<Vm> active = getActiveVms();
+        for (Vm vm : active) {
+            if (isIdle(vm)) {
+                broker.stealFor(vm);
+            }
+        }
+
+        double work = 0;
+        double totalMips = 0;
+        for (Vm vm : active) {
+            work += capacity.remainingRunningWork(vm) + capacity.queuedWork(vm);
+            totalMips += vm.getMips() * vm.getPesNumber();
+        }
+        for (Vm vm : provisioning) {
+            totalMips += vm.getMips() * vm.getPesNumber();
+        }
+        double backlog = totalMips > 0 ? work / totalMips : Double.MAX_VALUE;
+
+        if (now - lastScalingTime >= cooldown) {
+            int vms = active.size() + provisioning.size();
+            if (backlog > scaleUpBacklog && vms < maxVms) {
+                scaleUp(work, totalMips, maxVms - vms);
+                lastScalingTime = now;
+            } else if (backlog < scaleDownBacklog && provisioning.isEmpty() && active.size() > minVms
+                    && scaleDown(active, work, totalMips)) {
+                lastScalingTime = now;
+            }
+        }
+        peakVms = Math.max(peakVms, getActiveVms().size() + provisioning.size());
+
+        scheduleStep();
+    }
+
+    /**
+     * Adds the VMs needed to bring the backlog to the middle of the
+     * thresholds: the largest type while more than its capacity is missing,
+     * then the smallest type that covers the rest.
+     */
+    private void scaleUp(double work, double totalMips, int room) {
+        double target = (scaleUpBacklog + scaleDownBacklog) / 2;
+        double missingMips = work / target - totalMips;
+        VmType largest = catalog.get(catalog.size() - 1);
+        for (int i = 0; i < room && missingMips > 0; i++) {
+            double missing = missingMips;
+            VmType type = catalog.stream()
+                    .filter(t -> t.capacity() >= missing)
+                    .findFirst()
+                    .orElse(largest);
+
+            Vm vm = vmFactory.apply(type);
+            vm.setSubmissionDelay(provisioningDelay);
+            provisioning.add(vm);
+            broker.submitVm(vm);
+            scaleUps++;
+            missingMips -= type.capacity();
+        }
+    }
+
+    /**
+     * @return true if nothing runs or waits on the VM, and no cloudlet
+     *         stolen by it is on its way
+     */
+    private boolean isIdle(Vm vm) {
+        return capacity.freePes(vm) == vm.getPesNumber() && capacity.queuedWork(vm) == 0
+                && vm.getExpectedFreePesNumber() == vm.getPesNumber();
+    }
+
+    /**
+     * Destroys idle VMs (nothing running or queued), slowest first, while the
+     * backlog on the remaining ones stays at most the middle of the thresholds.
+     * @return true if any was destroyed
+     */
+    private boolean scaleDown(List<Vm> active, double work, double totalMips) {
+        double target = (scaleUpBacklog + scaleDownBacklog) / 2;
+        List<Vm> idle = active.stream()
+                .filter(this::isIdle)
+                .sorted(Comparator.comparingDouble(vm -> vm.getMips() * vm.getPesNumber()))
+                .toList();
+
+        int remaining = active.size();
+        boolean destroyed = false;
+        for (Vm vm : idle) {
+            double mips = totalMips - vm.getMips() * vm.getPesNumber();
+            if (remaining <= minVms || mips <= 0 || work / mips > target) {
+                break;
+            }
+            retired.add(vm);
+            vm.shutdown();
+            totalMips = mips;
+            remaining--;
+            scaleDowns++;
+            destroyed = true;
+        }
+        if (destroyed) {
+            createdCountOfActive = -1;
+        }
+        return destroyed;
+    }
+}
@@ -0,0 +1,178 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-VM capacity state of a space-shared VM, kept up to date from cloudlet
+ * start and finish notifications instead of scanning the scheduler's lists.
+ *
+ * Work is counted in MI over all PEs of a cloudlet ({@code length / u · pes}).
+ * A cloudlet with CPU utilization u executes at {@code u · MIPS} per PE, so
+ * it holds its PEs as long as {@code length / u} at full MIPS would:
+ *
+ *   queued_j   = work of cloudlets mapped to the VM that have not started
+ *   running_j  = work of running cloudlets not executed yet
+ *   busyPes_j  = PEs used by running cloudlets
+ *
+ * Running cloudlets execute at MIPS_j per PE, so running_j at time t is
+ * {@code runningWork_j − MIPS_j · (busyPes_j · t − Σ pes_i · start_i)}, which
+ * only needs three sums updated when a cloudlet starts or finishes. All
+ * updates and {@link #earliestFinishTime} are O(1).
+ *
+ * Lengths are the broker's {@link ObservableBroker#lengthOf view} of them,
+ * so with a length predictor the state is what the broker believes.
+ */
+final class VmCapacityTracker {
+
+    private final ObservableBroker broker;
+    private final Map<Vm, State> states = new IdentityHashMap<>();
+    private final Map<Cloudlet, Tracked> tracked = new IdentityHashMap<>();
+    private final EventListener<CloudletVmEventInfo> startListener = info -> onStart(info.getCloudlet());
+    private final EventListener<CloudletVmEventInfo> finishListener = info -> onFinish(info.getCloudlet());
+
+    /**
+     * Cloudlets that may start at time 0, where no start notification is
+     * sent. They are checked once, at the first query after time 0.
+     */
+    private List<Cloudlet> maybeStartedAtZero = new ArrayList<>();
+
+    VmCapacityTracker(ObservableBroker broker) {
+        this.broker = broker;
+    }
+
+    /**
+     * Counts a cloudlet just mapped to a VM as queued work of that VM.
+     */
+    void onMapped(Cloudlet cloudlet, Vm vm) {
+        double work = broker.lengthOf(cloudlet) / broker.utilizationOf(cloudlet) * cloudlet.getPesNumber();
+        tracked.put(cloudlet, new Tracked(vm, work, (int) cloudlet.getPesNumber()));
+        state(vm).queuedWork += work;
+        cloudlet.addOnStartListener(startListener);
+        cloudlet.addOnFinishListener(finishListener);
+        if (broker.getSimulation().clock() == 0 && cloudlet.getSubmissionDelay() + vm.getStartupDelay() == 0) {
+            maybeStartedAtZero.add(cloudlet);
+        }
+    }
+
+    /** @return PEs of the VM not used by running cloudlets */
+    int freePes(Vm vm) {
+        reconcile();
+        return (int) vm.getPesNumber() - state(vm).busyPes;
+    }
+
+    /** @return MI of the VM's running cloudlets that is not executed yet */
+    double remainingRunningWork(Vm vm) {
+        reconcile();
+        return state(vm).remainingRunningWork(vm.getMips(), broker.getSimulation().clock());
+    }
+
+    /** @return MI of cloudlets mapped to the VM that have not started */
+    double queuedWork(Vm vm) {
+        reconcile();
+        return state(vm).queuedWork;
+    }
+
+    /**
+     * Estimated time a cloudlet would finish if mapped to the VM now.
+     *
+     * It starts at once if the VM has enough free PEs and nothing queued.
+     * Otherwise it waits until the VM's PEs together have executed the
+     * running and queued work, then runs for its
+     * {@link ObservableBroker#runtime runtime}.
+     */
+    double earliestFinishTime(Cloudlet cloudlet, Vm vm) {
+        reconcile();
+        State state = state(vm);
+        double now = broker.getSimulation().clock();
+        double mips = vm.getMips();
+        double start = now + cloudlet.getSubmissionDelay() + vm.getStartupDelay();
+        boolean fits = vm.getPesNumber() - state.busyPes >= cloudlet.getPesNumber();
+        if (!fits || state.queuedWork > 0) {
+            double backlog = state.remainingRunningWork(mips, now) + state.queuedWork;
+            start = Math.max(start, now + backlog / (mips * vm.getPesNumber()));
+        }
+        return start + broker.runtime(cloudlet, mips);
+    }
+
+    private void onStart(Cloudlet cloudlet) {
+        Tracked entry = tracked.get(cloudlet);
+        if (entry == null || entry.running) {
+            return;
+        }
+        // Work stealing may have moved the cloudlet since it was mapped
+        state(entry.vm).queuedWork -= entry.work;
+        entry.vm = cloudlet.getVm();
+        entry.running = true;
+        entry.start = cloudlet.getStartTime();
+        state(entry.vm).addRunning(entry, +1);
+    }
+
+    private void onFinish(Cloudlet cloudlet) {
+        Tracked entry = tracked.remove(cloudlet);
+        if (entry == null) {
+            return;
+        }
+        if (entry.running) {
+            state(entry.vm).addRunning(entry, -1);
+        } else {
+            state(entry.vm).queuedWork -= entry.work;
+        }
+        cloudlet.removeOnStartListener(startListener);
+    }
+
+    private void reconcile() {
+        if (maybeStartedAtZero == null || broker.getSimulation().clock() == 0) {
+            return;
+        }
+        for (Cloudlet cloudlet : maybeStartedAtZero) {
+            if (cloudlet.getStartTime() == 0 && !cloudlet.isFinished()) {
+                onStart(cloudlet);
+            }
+        }
+        maybeStartedAtZero = null;
+    }
+
+    private State state(Vm vm) {
+        return states.computeIfAbsent(vm, v -> new State());
+    }
+
+    private static final class State {
+        double queuedWork;
+        double runningWork;
+        int busyPes;
+        /** Σ pes_i · start_i of running cloudlets */
+        double pesStartSum;
+
+        void addRunning(Tracked entry, int sign) {
+            runningWork += sign * entry.work;
+            busyPes += sign * entry.pes;
+            pesStartSum += sign * entry.pes * entry.start;
+        }
+
+        double remainingRunningWork(double mips, double now) {
+            return Math.max(0, runningWork - mips * (busyPes * now - pesStartSum));
+        }
+    }
+
+    private static final class Tracked {
+        Vm vm;
+        final double work;
+        final int pes;
+        boolean running;
+        double start;
+
+        Tracked(Vm vm, double work, int pes) {
+            this.vm = vm;
+            this.work = work;
+            this.pes = pes;
+        }
+    }
+}
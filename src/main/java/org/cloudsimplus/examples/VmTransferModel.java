@@ -0,0 +1,105 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.vms.Vm;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Data transfers over the network link of each VM, which CloudSim Plus
+ * doesn't charge for a cloudlet's file and output sizes.
+ *
+ * A cloudlet's input (file size) has to reach its VM before it is
+ * submitted there, and its output leaves over the same link once it
+ * returns. Sizes are read as MB, as the scenarios' sizes are, and the VM
+ * bandwidth as Megabits/s, so moving S MB takes {@code 8 · S / BW_j}.
+ *
+ * Transfers share a VM's link: one that starts while others are in
+ * flight waits for them, as if each ran at full bandwidth in turn. This
+ * gives the last transfer the same finish as sharing the link would, and
+ * the link's backlog
+ *
+ *   backlog_j(t) = max(0, linkFree_j − t)
+ *
+ * is the bandwidth in use by in-flight transfers, in seconds. A transfer
+ * is queued when it starts, so the model assumes transfers are queued in
+ * time order, as they are when cloudlets are mapped on arrival.
+ */
+public class VmTransferModel {
+
+    private static final double BITS_PER_BYTE = 8;
+
+    // Time each VM's link finishes the transfers queued on it
+    private final Map<Vm, Double> linkFree = new IdentityHashMap<>();
+
+    private long stageIns;
+    private double totalStageInDelay;
+    private double maxStageInDelay;
+    private double movedMegabytes;
+
+    /** @return seconds the VM's link takes to move the given MB at full bandwidth */
+    public static double transferTime(Vm vm, double megabytes) {
+        double bandwidth = vm.getBw().getCapacity();
+        if (bandwidth <= 0) {
+            throw new IllegalArgumentException(vm + " has no bandwidth");
+        }
+        return BITS_PER_BYTE * megabytes / bandwidth;
+    }
+
+    /** @return seconds until the VM's link has moved the transfers in flight at the given time */
+    public double backlog(Vm vm, double time) {
+        return Math.max(0, linkFree.getOrDefault(vm, 0.0) - time);
+    }
+
+    /** @return seconds until a cloudlet's input would reach the VM if sent at the given time */
+    public double stageInDelay(Cloudlet cloudlet, Vm vm, double time) {
+        return backlog(vm, time) + transferTime(vm, cloudlet.getFileSize());
+    }
+
+    /**
+     * Seconds the VM's link is tied up by a cloudlet sent at the given time:
+     * the backlog it waits behind, its input and its output.
+     */
+    public double transferCost(Cloudlet cloudlet, Vm vm, double time) {
+        return stageInDelay(cloudlet, vm, time) + transferTime(vm, cloudlet.getOutputSize());
+    }
+
+    /**
+     * Queues a cloudlet's input on the VM's link.
+     *
+     * @return seconds until the input reaches the VM
+     */
+    public double stageIn(Cloudlet cloudlet, Vm vm, double time) {
+        double delay = queue(vm, time, cloudlet.getFileSize()) - time;
+        stageIns++;
+        totalStageInDelay += delay;
+        maxStageInDelay = Math.max(maxStageInDelay, delay);
+        return delay;
+    }
+
+    /**
+     * Queues the output of a cloudlet that returned at the given time on the
+     * link of the VM it ran on.
+     */
+    public void stageOut(Cloudlet cloudlet, Vm vm, double time) {
+        queue(vm, time, cloudlet.getOutputSize());
+    }
+
+    public long getStageIns()             { return stageIns; }
+    public double getMaxStageInDelay()    { return maxStageInDelay; }
+    public double getMovedMegabytes()     { return movedMegabytes; }
+
+    /** @return mean seconds from sending a cloudlet to its input reaching the VM */
+    public double getMeanStageInDelay() {
+        return stageIns == 0 ? 0 : totalStageInDelay / stageIns;
+    }
+
+    /** @return time the transfer finishes */
+    private double queue(Vm vm, double time, double megabytes) {
+        double finish = time + backlog(vm, time) + transferTime(vm, megabytes);
+        linkFree.put(vm, finish);
+        movedMegabytes += megabytes;
+        return finish;
+    }
+}
@@ -0,0 +1,22 @@
+package org.cloudsimplus.examples;
+
+/**
+ * A VM size the {@link VmAutoscaler} can create.
+ *
+ * @param name label used in reports
+ * @param mips MIPS of each PE
+ * @param pes number of PEs
+ */
+public record VmType(String name, double mips, int pes) {
+
+    public VmType {
+        if (mips <= 0 || pes < 1) {
+            throw new IllegalArgumentException("VM type needs positive MIPS and at least one PE: " + name);
+        }
+    }
+
+    /** @return MIPS of all PEs together */
+    public double capacity() {
+        return mips * pes;
+    }
+}
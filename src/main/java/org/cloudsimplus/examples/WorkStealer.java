@@ -0,0 +1,153 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.util.IndexedMinHeap;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves waiting cloudlets from the most backlogged VM to VMs that ran out of work.
+ *
+ * Each VM's backlog is the time its PEs need to run the cloudlets that have
+ * arrived at it but not started yet. Cloudlets are counted when they reach
+ * the VM and uncounted when they start, so the VMs are kept in an
+ * {@link IndexedMinHeap} keyed by their negated backlog and the victim is
+ * found in O(1).
+ *
+ * When a cloudlet returns and its VM has a free PE left (nothing of its own
+ * waiting or on the way), that VM takes the waiting cloudlet that reached the
+ * most backlogged VM last, as long as it would finish it before the victim's
+ * backlog drains. That cloudlet would wait longest under FIFO, and moving it
+ * leaves the order of the others alone; each VM's waiting cloudlets are kept
+ * in a heap keyed by their negated arrival time to find it. It keeps stealing until its PEs are busy. Only cloudlets that never
+ * started are moved. VMs that have been idle since the start do not steal;
+ * they are expected to get work from the broker's own mapping, unless a
+ * {@link VmAutoscaler} offers them work with {@link #stealFor}.
+ */
+final class WorkStealer {
+
+    private final ObservableBroker broker;
+    // VMs keyed by their negated backlog: top = most backlogged
+    private final IndexedMinHeap<Vm> backlogs = new IndexedMinHeap<>();
+    // Cloudlets counted in a backlog, and per VM keyed by their negated arrival: top = latest
+    private final Map<Cloudlet, Queued> queued = new IdentityHashMap<>();
+    private final Map<Vm, IndexedMinHeap<Cloudlet>> queuedByVm = new IdentityHashMap<>();
+    private final EventListener<CloudletVmEventInfo> startListener = info -> dequeue(info.getCloudlet());
+    private long steals;
+
+    WorkStealer(ObservableBroker broker) {
+        this.broker = broker;
+    }
+
+    /** @return how many cloudlets were moved to another VM */
+    long getSteals() {
+        return steals;
+    }
+
+    /**
+     * Starts tracking a cloudlet the broker just mapped. It is counted in the
+     * VM's backlog once it reaches the VM.
+     */
+    void onMapped(Cloudlet cloudlet, Vm vm) {
+        cloudlet.addOnStartListener(startListener);
+        double delay = cloudlet.getSubmissionDelay() + vm.getStartupDelay();
+        broker.schedule(delay, CloudSimTag.CLOUDLET_UPDATE_ATTRIBUTES, (Runnable) () -> enqueue(cloudlet, vm));
+    }
+
+    /**
+     * Lets the VM of a returned cloudlet steal work while it has free PEs.
+     */
+    void onReturn(Cloudlet finished) {
+        stealFor(finished.getVm());
+    }
+
+    /**
+     * Lets a VM steal work while it has free PEs.
+     */
+    void stealFor(Vm thief) {
+        while (thief.isCreated() && thief.getExpectedFreePesNumber() > 0) {
+            Vm victim = backlogs.peek();
+            if (victim == null || victim == thief || backlog(victim) <= 0) {
+                return;
+            }
+            Cloudlet cloudlet = queuedByVm.get(victim).peek();
+            if (cloudlet == null) {
+                return;
+            }
+            if (cloudlet.getStartTime() != Cloudlet.NOT_ASSIGNED || cloudlet.isFinished()) {
+                // It and maybe others of the victim started without notice (at time 0)
+                purgeStarted(victim);
+                continue;
+            }
+            if (!canSteal(cloudlet, victim, thief)) {
+                return;
+            }
+            move(cloudlet, victim, thief);
+        }
+    }
+
+    private boolean canSteal(Cloudlet cloudlet, Vm victim, Vm thief) {
+        return queued.containsKey(cloudlet)
+                && cloudlet.getStatus() == Cloudlet.Status.QUEUED
+                && cloudlet.getStartTime() == Cloudlet.NOT_ASSIGNED
+                && cloudlet.getPesNumber() <= thief.getExpectedFreePesNumber()
+                && broker.runtime(cloudlet, thief.getMips()) < backlog(victim);
+    }
+
+    /** @return time the VM's PEs need to run the cloudlets waiting there, 0 if none */
+    private double backlog(Vm vm) {
+        double key = backlogs.keyOf(vm);
+        return Double.isNaN(key) ? 0 : -key;
+    }
+
+    private void move(Cloudlet cloudlet, Vm victim, Vm thief) {
+        victim.getCloudletScheduler().cloudletCancel(cloudlet);
+        dequeue(cloudlet);
+        cloudlet.setStatus(Cloudlet.Status.INSTANTIATED);
+        ((VmSimple) victim).addExpectedFreePesNumber(cloudlet.getPesNumber());
+        ((VmSimple) thief).removeExpectedFreePesNumber(cloudlet.getPesNumber());
+        cloudlet.setVm(thief);
+        broker.resubmitCloudlet(cloudlet);
+        // Counted on the thief until it starts there, so it can move again if it has to wait
+        enqueue(cloudlet, thief);
+        steals++;
+    }
+
+    private void enqueue(Cloudlet cloudlet, Vm vm) {
+        if (cloudlet.getVm() != vm || cloudlet.getStartTime() != Cloudlet.NOT_ASSIGNED) {
+            return;
+        }
+        double runTime = broker.runtime(cloudlet, vm.getMips()) * cloudlet.getPesNumber() / vm.getPesNumber();
+        queued.put(cloudlet, new Queued(vm, runTime));
+        queuedByVm.computeIfAbsent(vm, v -> new IndexedMinHeap<>()).add(cloudlet, -broker.getSimulation().clock());
+        backlogs.add(vm, -(backlog(vm) + runTime));
+    }
+
+    private void dequeue(Cloudlet cloudlet) {
+        Queued entry = queued.remove(cloudlet);
+        if (entry != null) {
+            queuedByVm.get(entry.vm()).remove(cloudlet);
+            backlogs.add(entry.vm(), -(backlog(entry.vm()) - entry.runTime()));
+        }
+    }
+
+    /**
+     * Uncounts the VM's cloudlets that started without a start notification.
+     */
+    private void purgeStarted(Vm vm) {
+        List<Cloudlet> started = queuedByVm.get(vm).stream()
+                .filter(cloudlet -> cloudlet.getStartTime() != Cloudlet.NOT_ASSIGNED || cloudlet.isFinished())
+                .toList();
+        started.forEach(this::dequeue);
+    }
+
+    private record Queued(Vm vm, double runTime) {
+    }
+}
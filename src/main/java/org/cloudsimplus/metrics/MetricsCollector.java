@@ -1,6 +1,8 @@
 package org.cloudsimplus.metrics;
 
 import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.scenario.Deadlines;
+import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.List;
 
@@ -12,6 +14,9 @@ import java.util.List;
  * - Response Time (RT): finishTime - arrivalTime
  * - Makespan: max(finishTime) - min(arrivalTime)
  * - Throughput: number of completed cloudlets / makespan
+ * - Percentiles (p50/p95/p99) of waiting and response time
+ * - With {@link Deadlines}: deadline-miss rate and percentiles of
+ *   tardiness, max(0, finishTime - deadline)
  */
 public class MetricsCollector {
     /* ===================== AVERAGE METRICS ===================== */
@@ -29,6 +34,25 @@ public class MetricsCollector {
     private double minResponseTime;
     private double maxResponseTime;
 
+    /* ===================== PERCENTILES ===================== */
+    private double p50WaitingTime;
+    private double p95WaitingTime;
+    private double p99WaitingTime;
+    private double p50ResponseTime;
+    private double p95ResponseTime;
+    private double p99ResponseTime;
+
+    /* ===================== DEADLINES ===================== */
+    private boolean deadlinesCollected;
+    private int deadlineCloudlets;
+    private int missedDeadlines;
+    private double deadlineMissRate;
+    private double averageTardiness;
+    private double maxTardiness;
+    private double p50Tardiness;
+    private double p95Tardiness;
+    private double p99Tardiness;
+
     public MetricsCollector() {
         reset();
     }
@@ -45,6 +69,14 @@ public class MetricsCollector {
         maxWaitingTime = 0.0;
         minResponseTime = Double.MAX_VALUE;
         maxResponseTime = 0.0;
+
+        p50WaitingTime = p95WaitingTime = p99WaitingTime = 0.0;
+        p50ResponseTime = p95ResponseTime = p99ResponseTime = 0.0;
+
+        deadlinesCollected = false;
+        deadlineCloudlets = missedDeadlines = 0;
+        deadlineMissRate = averageTardiness = maxTardiness = 0.0;
+        p50Tardiness = p95Tardiness = p99Tardiness = 0.0;
     }
 
     /**
@@ -78,6 +110,10 @@ public class MetricsCollector {
         double minArrivalTime = Double.MAX_VALUE;
         double maxFinishTime = 0.0;
 
+        double[] waitingTimes = new double[totalCloudlets];
+        double[] responseTimes = new double[totalCloudlets];
+        int index = 0;
+
         for (Cloudlet cl : finished) {
             double arrivalTime = cl.getSubmissionDelay();
             double startTime   = cl.getStartTime();
@@ -91,6 +127,9 @@ public class MetricsCollector {
 
             totalWT += waitingTime;
             totalRT += responseTime;
+            waitingTimes[index] = waitingTime;
+            responseTimes[index] = responseTime;
+            index++;
 
             minWaitingTime = Math.min(minWaitingTime, waitingTime);
             maxWaitingTime = Math.max(maxWaitingTime, waitingTime);
@@ -113,11 +152,82 @@ public class MetricsCollector {
             throughput = totalCloudlets / makespan;
         }
 
+        Arrays.sort(waitingTimes);
+        Arrays.sort(responseTimes);
+        p50WaitingTime  = percentile(waitingTimes, 0.50);
+        p95WaitingTime  = percentile(waitingTimes, 0.95);
+        p99WaitingTime  = percentile(waitingTimes, 0.99);
+        p50ResponseTime = percentile(responseTimes, 0.50);
+        p95ResponseTime = percentile(responseTimes, 0.95);
+        p99ResponseTime = percentile(responseTimes, 0.99);
+
         // Safety for empty cases
         if (minWaitingTime == Double.MAX_VALUE)  minWaitingTime = 0.0;
         if (minResponseTime == Double.MAX_VALUE) minResponseTime = 0.0;
     }
 
+    /**
+     * Collects deadline metrics of the finished cloudlets that have a
+     * deadline. Call after {@link #collectMetrics(List)}, which resets them.
+     *
+     * @param cloudlets list of cloudlets returned by broker.getCloudletFinishedList()
+     * @param deadlines deadlines of the submitted cloudlets
+     */
+    public void collectDeadlineMetrics(List<Cloudlet> cloudlets, Deadlines deadlines) {
+        double[] tardiness = new double[cloudlets.size()];
+        int count = 0;
+        int missed = 0;
+        double total = 0.0;
+        for (Cloudlet cl : cloudlets) {
+            if (cl.getStatus() != Cloudlet.Status.SUCCESS || !deadlines.has(cl)) {
+                continue;
+            }
+            double late = Math.max(0.0, cl.getFinishTime() - deadlines.getDeadline(cl));
+            if (late > 0) {
+                missed++;
+            }
+            total += late;
+            tardiness[count++] = late;
+        }
+
+        deadlinesCollected = true;
+        deadlineCloudlets = count;
+        missedDeadlines = missed;
+        if (count == 0) {
+            return;
+        }
+        deadlineMissRate = (double) missed / count;
+        averageTardiness = total / count;
+        Arrays.sort(tardiness, 0, count);
+        maxTardiness = tardiness[count - 1];
+        p50Tardiness = percentile(tardiness, count, 0.50);
+        p95Tardiness = percentile(tardiness, count, 0.95);
+        p99Tardiness = percentile(tardiness, count, 0.99);
+    }
+
+    /**
+     * Returns the q-quantile of an already sorted array using the nearest-rank method.
+     *
+     * @param sorted values sorted in ascending order
+     * @param q quantile in [0, 1]
+     * @return the quantile value, or 0 if the array is empty
+     */
+    public static double percentile(double[] sorted, double q) {
+        return percentile(sorted, sorted.length, q);
+    }
+
+    /**
+     * Same as {@link #percentile(double[], double)} but only considers
+     * the first {@code length} elements of the array.
+     */
+    public static double percentile(double[] sorted, int length, double q) {
+        if (length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(q * length);
+        return sorted[Math.min(length - 1, Math.max(0, rank - 1))];
+    }
+
     /* ===================== PRINT ===================== */
     public void printMetrics() {
         System.out.println("\n" + "=".repeat(50));
@@ -129,15 +239,26 @@ public class MetricsCollector {
 
         System.out.printf("Avg Waiting Time    : %.4f s%n", averageWaitingTime);
         System.out.printf("  Min WT / Max WT   : %.4f / %.4f%n", minWaitingTime, maxWaitingTime);
+        System.out.printf("  p50 / p95 / p99   : %.4f / %.4f / %.4f%n", p50WaitingTime, p95WaitingTime, p99WaitingTime);
         System.out.println();
 
         System.out.printf("Avg Response Time   : %.4f s%n", averageResponseTime);
         System.out.printf("  Min RT / Max RT   : %.4f / %.4f%n", minResponseTime, maxResponseTime);
+        System.out.printf("  p50 / p95 / p99   : %.4f / %.4f / %.4f%n", p50ResponseTime, p95ResponseTime, p99ResponseTime);
         System.out.println();
 
         System.out.printf("Makespan            : %.4f s%n", makespan);
         System.out.printf("Throughput          : %.4f cloudlets/s%n", throughput);
 
+        if (deadlinesCollected) {
+            System.out.println();
+            System.out.printf("Deadline Misses     : %d / %d (%.2f%%)%n",
+                    missedDeadlines, deadlineCloudlets, deadlineMissRate * 100);
+            System.out.printf("Avg Tardiness       : %.4f s%n", averageTardiness);
+            System.out.printf("  p50 / p95 / p99   : %.4f / %.4f / %.4f%n", p50Tardiness, p95Tardiness, p99Tardiness);
+            System.out.printf("  Max Tardiness     : %.4f%n", maxTardiness);
+        }
+
         System.out.println("=".repeat(50));
     }
 
@@ -153,4 +274,20 @@ public class MetricsCollector {
     public double getMaxWaitingTime()      { return maxWaitingTime; }
     public double getMinResponseTime()     { return minResponseTime; }
     public double getMaxResponseTime()     { return maxResponseTime; }
+
+    public double getP50WaitingTime()      { return p50WaitingTime; }
+    public double getP95WaitingTime()      { return p95WaitingTime; }
+    public double getP99WaitingTime()      { return p99WaitingTime; }
+    public double getP50ResponseTime()     { return p50ResponseTime; }
+    public double getP95ResponseTime()     { return p95ResponseTime; }
+    public double getP99ResponseTime()     { return p99ResponseTime; }
+
+    public int getDeadlineCloudlets()      { return deadlineCloudlets; }
+    public int getMissedDeadlines()        { return missedDeadlines; }
+    public double getDeadlineMissRate()    { return deadlineMissRate; }
+    public double getAverageTardiness()    { return averageTardiness; }
+    public double getMaxTardiness()        { return maxTardiness; }
+    public double getP50Tardiness()        { return p50Tardiness; }
+    public double getP95Tardiness()        { return p95Tardiness; }
+    public double getP99Tardiness()        { return p99Tardiness; }
 }
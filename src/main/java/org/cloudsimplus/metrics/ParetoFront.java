@@ -0,0 +1,49 @@
+package org.cloudsimplus.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-dominated subset of points where every objective is minimized.
+ *
+ * A point dominates another if it is no worse in every objective and
+ * better in at least one. The front is found by comparing all pairs,
+ * O(n² · m), which is fine for the few hundred points of a parameter search.
+ */
+public final class ParetoFront {
+
+    private ParetoFront() {
+    }
+
+    /**
+     * @param points one array of objective values per point, all of the same length
+     * @return indices of the points no other point dominates, in input order
+     */
+    public static List<Integer> of(double[][] points) {
+        List<Integer> front = new ArrayList<>();
+        for (int i = 0; i < points.length; i++) {
+            boolean dominated = false;
+            for (int j = 0; j < points.length && !dominated; j++) {
+                dominated = j != i && dominates(points[j], points[i]);
+            }
+            if (!dominated) {
+                front.add(i);
+            }
+        }
+        return front;
+    }
+
+    /**
+     * @return true if a is no worse than b in every objective and better in one
+     */
+    public static boolean dominates(double[] a, double[] b) {
+        boolean better = false;
+        for (int k = 0; k < a.length; k++) {
+            if (a[k] > b[k]) {
+                return false;
+            }
+            better |= a[k] < b[k];
+        }
+        return better;
+    }
+}
@@ -0,0 +1,66 @@
+package org.cloudsimplus.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free rolling window of the most recent samples.
+ *
+ * Written by a single thread (the simulation thread) and read by any number
+ * of threads. Readers copy the window and never block the writer; a sample
+ * overwritten during a copy just shows up as a slightly newer value.
+ */
+public class RollingPercentiles {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final int mask;
+
+    /**
+     * @param capacity window size, rounded up to a power of two
+     */
+    public RollingPercentiles(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.samples = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /** Adds a sample, evicting the oldest one once the window is full. */
+    public void add(double value) {
+        long n = count.get();
+        samples.lazySet((int) (n & mask), Double.doubleToRawLongBits(value));
+        count.lazySet(n + 1);
+    }
+
+    /** Clears the window (only call from the writer thread). */
+    public void clear() {
+        count.set(0);
+    }
+
+    /** @return total number of samples added since the last clear */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Computes the given quantiles over the current window.
+     *
+     * @param quantiles quantiles in [0, 1]
+     * @return one value per requested quantile (all 0 if the window is empty)
+     */
+    public double[] quantiles(double... quantiles) {
+        int length = (int) Math.min(count.get(), samples.length());
+        double[] window = new double[length];
+        for (int i = 0; i < length; i++) {
+            window[i] = Double.longBitsToDouble(samples.get(i));
+        }
+        Arrays.sort(window);
+
+        double[] result = new double[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            result[i] = MetricsCollector.percentile(window, quantiles[i]);
+        }
+        return result;
+    }
+}
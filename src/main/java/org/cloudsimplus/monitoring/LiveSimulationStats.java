@@ -0,0 +1,99 @@
+package org.cloudsimplus.monitoring;
+
+import org.cloudsimplus.metrics.RollingPercentiles;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of the running simulation, updated by the simulation thread
+ * and read by the {@link MetricsEndpoint}.
+ *
+ * All state is held in atomics, so a scrape never blocks the simulation.
+ * Counters are cumulative across scenarios; gauges describe the current one.
+ */
+public class LiveSimulationStats {
+
+    /** Number of recent cloudlets kept for waiting/response percentiles */
+    private static final int WINDOW_SIZE = 1024;
+
+    private volatile String scenario = "";
+    private final AtomicLong simulationTimeBits = new AtomicLong();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+
+    /** Cloudlets mapped to each VM (indexed by VM id) that haven't finished yet */
+    private volatile AtomicLongArray vmOutstanding = new AtomicLongArray(0);
+
+    /** Cloudlets of the current scenario that started but haven't finished yet */
+    private final AtomicLong running = new AtomicLong();
+
+    private final RollingPercentiles waitingTimes = new RollingPercentiles(WINDOW_SIZE);
+    private final RollingPercentiles responseTimes = new RollingPercentiles(WINDOW_SIZE);
+
+    /* ===================== WRITER SIDE (simulation thread) ===================== */
+
+    /**
+     * Resets the per-scenario gauges at the start of a new run.
+     *
+     * @param label scenario label
+     * @param vmCount number of VMs (VM ids are expected in [0, vmCount))
+     */
+    public void beginScenario(String label, int vmCount) {
+        scenario = label;
+        simulationTimeBits.set(Double.doubleToRawLongBits(0.0));
+        vmOutstanding = new AtomicLongArray(vmCount);
+        running.set(0);
+        waitingTimes.clear();
+        responseTimes.clear();
+    }
+
+    public void setSimulationTime(double time) {
+        simulationTimeBits.lazySet(Double.doubleToRawLongBits(time));
+    }
+
+    public void cloudletsSubmitted(int count) {
+        submitted.add(count);
+    }
+
+    public void cloudletMapped(long vmId) {
+        decisions.increment();
+        AtomicLongArray outstanding = vmOutstanding;
+        if (vmId >= 0 && vmId < outstanding.length()) {
+            outstanding.incrementAndGet((int) vmId);
+        }
+    }
+
+    public void cloudletStarted() {
+        started.increment();
+        running.incrementAndGet();
+    }
+
+    public void cloudletFinished(long vmId, double waitingTime, double responseTime) {
+        finished.increment();
+        running.decrementAndGet();
+        AtomicLongArray outstanding = vmOutstanding;
+        if (vmId >= 0 && vmId < outstanding.length()) {
+            outstanding.decrementAndGet((int) vmId);
+        }
+        waitingTimes.add(waitingTime);
+        responseTimes.add(responseTime);
+    }
+
+    /* ===================== READER SIDE (scrape thread) ===================== */
+
+    public String getScenario()            { return scenario; }
+    public double getSimulationTime()      { return Double.longBitsToDouble(simulationTimeBits.get()); }
+    public long getSubmitted()             { return submitted.sum(); }
+    public long getStarted()               { return started.sum(); }
+    public long getFinished()              { return finished.sum(); }
+    public long getDecisions()             { return decisions.sum(); }
+    public long getRunning()               { return running.get(); }
+    public AtomicLongArray getVmOutstanding() { return vmOutstanding; }
+    public RollingPercentiles getWaitingTimes()  { return waitingTimes; }
+    public RollingPercentiles getResponseTimes() { return responseTimes; }
+}
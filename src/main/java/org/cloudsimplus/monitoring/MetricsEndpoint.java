@@ -0,0 +1,148 @@
+package org.cloudsimplus.monitoring;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Embedded HTTP endpoint exposing {@link LiveSimulationStats} in
+ * OpenMetrics text format at {@code http://localhost:<port>/metrics}.
+ *
+ * Bound to the loopback interface only. Requests are served on the
+ * server's own dispatcher thread, which only reads atomics.
+ */
+public class MetricsEndpoint {
+
+    private static final String CONTENT_TYPE =
+            "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final LiveSimulationStats stats;
+    private final HttpServer server;
+
+    /* Decision rate bookkeeping, only touched by the dispatcher thread */
+    private long lastScrapeNanos;
+    private long lastDecisions;
+    private double decisionRate;
+
+    /**
+     * Creates and starts the endpoint.
+     *
+     * @param stats live stats to expose
+     * @param port TCP port on localhost
+     * @throws IOException if the port cannot be bound
+     */
+    public MetricsEndpoint(LiveSimulationStats stats, int port) throws IOException {
+        this.stats = stats;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/metrics", this::handle);
+        this.lastScrapeNanos = System.nanoTime();
+        this.server.start();
+
+        System.out.printf("[Metrics] OpenMetrics endpoint at http://localhost:%d/metrics%n", port);
+    }
+
+    /** Stops the HTTP server. */
+    public void stop() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] body = render().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Renders a snapshot of all metrics in OpenMetrics text format.
+     */
+    String render() {
+        updateDecisionRate();
+
+        StringBuilder sb = new StringBuilder(2048);
+        String scenario = escape(stats.getScenario());
+
+        gauge(sb, "sim_time_seconds", "Current simulated time of the running scenario",
+              scenario, stats.getSimulationTime());
+
+        counter(sb, "sim_cloudlets_submitted", "Cloudlets submitted to brokers", stats.getSubmitted());
+        counter(sb, "sim_cloudlets_started", "Cloudlets that started executing", stats.getStarted());
+        counter(sb, "sim_cloudlets_finished", "Cloudlets that finished executing", stats.getFinished());
+        gauge(sb, "sim_cloudlets_running", "Cloudlets currently executing", scenario, stats.getRunning());
+
+        counter(sb, "sim_mapper_decisions", "Cloudlet-to-VM mapping decisions", stats.getDecisions());
+        gauge(sb, "sim_mapper_decision_rate", "Mapping decisions per wall-clock second since last scrape",
+              scenario, decisionRate);
+
+        sb.append("# TYPE sim_vm_outstanding_cloudlets gauge\n");
+        sb.append("# HELP sim_vm_outstanding_cloudlets Cloudlets mapped to a VM that haven't finished\n");
+        AtomicLongArray outstanding = stats.getVmOutstanding();
+        for (int vm = 0; vm < outstanding.length(); vm++) {
+            sb.append("sim_vm_outstanding_cloudlets{scenario=\"").append(scenario)
+              .append("\",vm=\"").append(vm).append("\"} ").append(outstanding.get(vm)).append('\n');
+        }
+
+        summary(sb, "sim_waiting_time_seconds", "Waiting time of the most recent finished cloudlets",
+                scenario, stats.getWaitingTimes().quantiles(QUANTILES), stats.getWaitingTimes().getCount());
+        summary(sb, "sim_response_time_seconds", "Response time of the most recent finished cloudlets",
+                scenario, stats.getResponseTimes().quantiles(QUANTILES), stats.getResponseTimes().getCount());
+
+        sb.append("# EOF\n");
+        return sb.toString();
+    }
+
+    private void updateDecisionRate() {
+        long now = System.nanoTime();
+        long decisions = stats.getDecisions();
+        double elapsed = (now - lastScrapeNanos) / 1e9;
+        if (elapsed > 0) {
+            decisionRate = (decisions - lastDecisions) / elapsed;
+        }
+        lastScrapeNanos = now;
+        lastDecisions = decisions;
+    }
+
+    private static void counter(StringBuilder sb, String name, String help, long value) {
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append(name).append("_total ").append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help, String scenario, double value) {
+        sb.append("# TYPE ").append(name).append(" gauge\n");
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append(name).append("{scenario=\"").append(scenario).append("\"} ")
+          .append(format(value)).append('\n');
+    }
+
+    private static void summary(StringBuilder sb, String name, String help, String scenario,
+                                double[] values, long count) {
+        sb.append("# TYPE ").append(name).append(" summary\n");
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        for (int i = 0; i < QUANTILES.length; i++) {
+            sb.append(name).append("{scenario=\"").append(scenario)
+              .append("\",quantile=\"").append(QUANTILES[i]).append("\"} ")
+              .append(format(values[i])).append('\n');
+        }
+        sb.append(name).append("_count{scenario=\"").append(scenario).append("\"} ")
+          .append(count).append('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,73 @@
+package org.cloudsimplus.prediction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-class exponentially weighted moving average of how far off estimates are.
+ *
+ * A job's class is the power of two of its estimated length, so jobs of a
+ * similar requested size share one correction. Each class tracks the EWMA of
+ * {@code log(actual / estimate)}; the prediction is the estimate times the
+ * exponential of that average. Working on the log ratio keeps one badly
+ * over-estimated job from dominating. Classes without history use the
+ * average over all jobs, and before any job finished the estimate is used.
+ */
+public class EwmaLengthPredictor implements LengthPredictor {
+
+    /** Weight of the newest observation */
+    public static final double DEFAULT_ALPHA = 0.3;
+
+    private final double alpha;
+    private final Map<Integer, double[]> logRatioByClass = new HashMap<>();
+    private double globalLogRatio;
+    private boolean observed;
+
+    public EwmaLengthPredictor() {
+        this(DEFAULT_ALPHA);
+    }
+
+    /**
+     * @param alpha weight of the newest observation, in (0, 1]
+     */
+    public EwmaLengthPredictor(double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("alpha must be in (0, 1]: " + alpha);
+        }
+        this.alpha = alpha;
+    }
+
+    @Override
+    public double predict(int user, double estimate) {
+        double[] average = logRatioByClass.get(sizeClass(estimate));
+        if (average != null) {
+            return estimate * Math.exp(average[0]);
+        }
+        return observed ? estimate * Math.exp(globalLogRatio) : estimate;
+    }
+
+    @Override
+    public void observe(int user, double estimate, double actual) {
+        if (!(estimate > 0 && actual > 0)) {
+            return;
+        }
+        double logRatio = Math.log(actual / estimate);
+        double[] average = logRatioByClass.get(sizeClass(estimate));
+        if (average == null) {
+            logRatioByClass.put(sizeClass(estimate), new double[]{logRatio});
+        } else {
+            average[0] += alpha * (logRatio - average[0]);
+        }
+        globalLogRatio = observed ? globalLogRatio + alpha * (logRatio - globalLogRatio) : logRatio;
+        observed = true;
+    }
+
+    private static int sizeClass(double estimate) {
+        return estimate >= 1 ? 63 - Long.numberOfLeadingZeros((long) estimate) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EWMA(alpha=%.2f)", alpha);
+    }
+}
@@ -0,0 +1,102 @@
+package org.cloudsimplus.prediction;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * User-supplied length estimates for a workload whose true lengths are known.
+ *
+ * Every job is given to one of {@code users} users at random. Each user has a
+ * habitual bias, drawn once: most users over-estimate (median factor
+ * {@link #USER_BIAS_MEDIAN}), some under-estimate. On top of that every
+ * estimate gets independent log-normal noise of the given sigma, so sigma 0
+ * leaves only the per-user bias, which a predictor can learn entirely.
+ */
+public class LengthEstimates {
+
+    /** Median factor by which users over-estimate */
+    public static final double USER_BIAS_MEDIAN = 1.5;
+
+    /** Log-normal sigma of the bias across users */
+    public static final double USER_BIAS_SIGMA = 0.4;
+
+    private final int[] users;
+    private final double[] estimates;
+    private final Map<Cloudlet, Integer> indexOf;
+
+    private LengthEstimates(int[] users, double[] estimates, Map<Cloudlet, Integer> indexOf) {
+        this.users = users;
+        this.estimates = estimates;
+        this.indexOf = indexOf;
+    }
+
+    /**
+     * @param lengths true lengths, in submission order
+     * @param userCount number of users submitting the jobs
+     * @param noiseSigma log-normal sigma of the per-job estimation error
+     */
+    public static LengthEstimates generate(long[] lengths, int userCount, double noiseSigma, long seed) {
+        return generate(lengths, userCount, noiseSigma, seed, null);
+    }
+
+    /**
+     * Estimates for cloudlets, which can then be looked up with
+     * {@link #getUser(Cloudlet)} and {@link #getEstimate(Cloudlet)}.
+     */
+    public static LengthEstimates generate(List<? extends Cloudlet> cloudlets, int userCount,
+                                           double noiseSigma, long seed) {
+        long[] lengths = new long[cloudlets.size()];
+        Map<Cloudlet, Integer> indexOf = new IdentityHashMap<>();
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = cloudlets.get(i).getLength();
+            indexOf.put(cloudlets.get(i), i);
+        }
+        return generate(lengths, userCount, noiseSigma, seed, indexOf);
+    }
+
+    private static LengthEstimates generate(long[] lengths, int userCount, double noiseSigma, long seed,
+                                            Map<Cloudlet, Integer> indexOf) {
+        if (userCount < 1 || noiseSigma < 0) {
+            throw new IllegalArgumentException("Need at least one user and a non-negative sigma");
+        }
+        Random random = new Random(seed);
+        double[] bias = new double[userCount];
+        for (int u = 0; u < userCount; u++) {
+            bias[u] = USER_BIAS_MEDIAN * Math.exp(USER_BIAS_SIGMA * random.nextGaussian());
+        }
+
+        int[] users = new int[lengths.length];
+        double[] estimates = new double[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            users[i] = random.nextInt(userCount);
+            estimates[i] = lengths[i] * bias[users[i]] * Math.exp(noiseSigma * random.nextGaussian());
+        }
+        return new LengthEstimates(users, estimates, indexOf);
+    }
+
+    public int size()                  { return users.length; }
+    public int getUser(int job)        { return users[job]; }
+    public double getEstimate(int job) { return estimates[job]; }
+
+    /** @return the user of a cloudlet this was generated for */
+    public int getUser(Cloudlet cloudlet) {
+        return users[index(cloudlet)];
+    }
+
+    /** @return the estimated length of a cloudlet this was generated for */
+    public double getEstimate(Cloudlet cloudlet) {
+        return estimates[index(cloudlet)];
+    }
+
+    private int index(Cloudlet cloudlet) {
+        Integer index = indexOf == null ? null : indexOf.get(cloudlet);
+        if (index == null) {
+            throw new IllegalArgumentException("No estimate for " + cloudlet);
+        }
+        return index;
+    }
+}
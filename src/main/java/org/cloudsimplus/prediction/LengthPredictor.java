@@ -0,0 +1,40 @@
+package org.cloudsimplus.prediction;
+
+/**
+ * Predicts a job's true length from the estimate its user supplied, and
+ * learns from the true lengths of finished jobs.
+ *
+ * Jobs are described by primitives (user index and estimated length), so the
+ * same predictor serves the CloudSim Plus brokers and the replay engine.
+ */
+public interface LengthPredictor {
+
+    /** Trusts the user's estimate as is */
+    LengthPredictor USER_ESTIMATE = new LengthPredictor() {
+        @Override
+        public double predict(int user, double estimate) {
+            return estimate;
+        }
+
+        @Override
+        public void observe(int user, double estimate, double actual) {
+        }
+
+        @Override
+        public String toString() {
+            return "UserEstimate";
+        }
+    };
+
+    /**
+     * @param user index of the user that submitted the job
+     * @param estimate length estimated by the user (MI)
+     * @return predicted length (MI)
+     */
+    double predict(int user, double estimate);
+
+    /**
+     * Records the true length of a finished job.
+     */
+    void observe(int user, double estimate, double actual);
+}
@@ -0,0 +1,80 @@
+package org.cloudsimplus.prediction;
+
+import java.util.Arrays;
+
+/**
+ * Quantile sketch of positive values with bounded relative error.
+ *
+ * Values are counted in logarithmic buckets: bucket {@code i} holds values in
+ * {@code (gamma^(i-1), gamma^i]} with {@code gamma = (1 + a) / (1 - a)}, so any
+ * quantile is returned within a relative error of {@code a}. Memory depends on
+ * the range of the values, not their number: a range of 1000x takes about
+ * 170 buckets at 2% accuracy.
+ */
+public class LogHistogramSketch {
+
+    private final double gamma;
+    private final double logGamma;
+
+    // counts[i] is the bucket offset + i
+    private long[] counts = new long[0];
+    private int offset;
+    private long total;
+
+    /**
+     * @param relativeAccuracy maximum relative error of a quantile, in (0, 1)
+     */
+    public LogHistogramSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /** Adds a value; non-positive values are ignored. */
+    public void add(double value) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            return;
+        }
+        int bucket = (int) Math.ceil(Math.log(value) / logGamma);
+        if (counts.length == 0) {
+            counts = new long[8];
+            offset = bucket - 4;
+        } else if (bucket < offset) {
+            int grow = Math.max(offset - bucket, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (bucket - offset >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(bucket - offset + 1, counts.length * 3 / 2));
+        }
+        counts[bucket - offset]++;
+        total++;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * @param quantile quantile in [0, 1]
+     * @return the approximate quantile, or NaN if the sketch is empty
+     */
+    public double quantile(double quantile) {
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, quantile)) * (total - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // Midpoint of the bucket in relative terms
+                return 2 * Math.pow(gamma, i + offset) / (gamma + 1);
+            }
+        }
+        return Math.pow(gamma, counts.length - 1 + offset);
+    }
+}
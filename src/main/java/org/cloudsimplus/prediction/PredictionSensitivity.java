@@ -0,0 +1,92 @@
+package org.cloudsimplus.prediction;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.replay.LoadAwarePolicy;
+import org.cloudsimplus.replay.LoadBalancingPolicy;
+import org.cloudsimplus.replay.ReplayEngine;
+import org.cloudsimplus.replay.ReplayResult;
+import org.cloudsimplus.replay.ReplayVms;
+import org.cloudsimplus.replay.ReplayWorkload;
+import org.cloudsimplus.replay.VmSelectionPolicy;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Measures how sensitive the brokers' waiting-time results are to errors in
+ * the job lengths they schedule on.
+ *
+ * For growing estimation noise, every workload is replayed with both broker
+ * policies (cloudlets mapped on arrival) using the true lengths, the raw user
+ * estimates, and the {@link EwmaLengthPredictor} and
+ * {@link QuantileLengthPredictor} corrections learned during the run. It
+ * prints the average and p99 waiting time of each, and the waiting-time gain
+ * of the load-aware policy over the load-balancing one.
+ */
+public class PredictionSensitivity {
+
+    private static final double[] NOISE_SIGMAS = {0.0, 0.25, 0.5, 1.0};
+    private static final int USERS = 8;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+        ReplayWorkload[] workloads = {
+                ReplayWorkload.of(DynamicWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(BurstyWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(HeavyLoadScenario.createCloudlets()),
+                ReplayWorkload.of(BalancedWorkloadScenario.createCloudlets())
+        };
+        ReplayVms vms = ReplayVms.of(SimulationMain.VMS, SimulationMain.VM_MIPS, SimulationMain.VM_PES);
+
+        String[] predictorNames = {"Exact", "UserEstimate", "EWMA", "Quantile(p50)"};
+        List<Supplier<LengthPredictor>> predictors = List.of(
+                () -> null,
+                () -> LengthPredictor.USER_ESTIMATE,
+                EwmaLengthPredictor::new,
+                QuantileLengthPredictor::new);
+
+        System.out.println("\n" + "=".repeat(112));
+        System.out.printf("LENGTH PREDICTION SENSITIVITY (replay, map on arrival, %d users, estimate bias median %.1fx)%n",
+                USERS, LengthEstimates.USER_BIAS_MEDIAN);
+        System.out.println("=".repeat(112));
+        System.out.printf("%-6s %-12s %-14s %14s %14s %14s %14s %12s%n", "Sigma", "Workload", "Lengths",
+                "Simple avg WT", "Aging avg WT", "Simple p99 WT", "Aging p99 WT", "Aging gain");
+
+        for (double sigma : NOISE_SIGMAS) {
+            for (int w = 0; w < workloads.length; w++) {
+                long[] lengths = new long[workloads[w].size()];
+                for (int c = 0; c < lengths.length; c++) {
+                    lengths[c] = workloads[w].getLength(c);
+                }
+                LengthEstimates estimates = LengthEstimates.generate(lengths, USERS, sigma, SEED + w);
+
+                for (int p = 0; p < predictors.size(); p++) {
+                    ReplayResult simple = replay(workloads[w], vms, LoadBalancingPolicy.BROKER_DEFAULT,
+                            predictors.get(p).get(), estimates);
+                    ReplayResult aging = replay(workloads[w], vms, LoadAwarePolicy.BROKER_DEFAULT,
+                            predictors.get(p).get(), estimates);
+                    double gain = simple.getAverageWaitingTime() > 0
+                            ? (1 - aging.getAverageWaitingTime() / simple.getAverageWaitingTime()) * 100 : 0;
+                    System.out.printf("%-6.2f %-12s %-14s %14.4f %14.4f %14.4f %14.4f %+11.1f%%%n",
+                            sigma, names[w], predictorNames[p],
+                            simple.getAverageWaitingTime(), aging.getAverageWaitingTime(),
+                            simple.getP99WaitingTime(), aging.getP99WaitingTime(), gain);
+                }
+            }
+            System.out.println("-".repeat(112));
+        }
+    }
+
+    private static ReplayResult replay(ReplayWorkload workload, ReplayVms vms, VmSelectionPolicy policy,
+                                       LengthPredictor predictor, LengthEstimates estimates) {
+        return new ReplayEngine(workload, vms)
+                .setMapOnArrival(true)
+                .setLengthPredictor(predictor, estimates)
+                .run(policy);
+    }
+}
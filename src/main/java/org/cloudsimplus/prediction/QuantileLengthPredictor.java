@@ -0,0 +1,64 @@
+package org.cloudsimplus.prediction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user quantile of how far off that user's estimates are.
+ *
+ * Each user gets a {@link LogHistogramSketch} of {@code actual / estimate};
+ * the prediction is the estimate times the chosen quantile of the ratio.
+ * The median gives an unbiased correction of a user's habitual over- or
+ * under-estimation; higher quantiles give conservative predictions. Users
+ * with fewer than {@link #MIN_SAMPLES} finished jobs use the sketch of all
+ * users, and before any job finished the estimate is used.
+ */
+public class QuantileLengthPredictor implements LengthPredictor {
+
+    /** Finished jobs a user needs before their own sketch is trusted */
+    public static final int MIN_SAMPLES = 5;
+
+    private static final double RELATIVE_ACCURACY = 0.02;
+
+    private final double quantile;
+    private final Map<Integer, LogHistogramSketch> ratioByUser = new HashMap<>();
+    private final LogHistogramSketch globalRatio = new LogHistogramSketch(RELATIVE_ACCURACY);
+
+    public QuantileLengthPredictor() {
+        this(0.5);
+    }
+
+    /**
+     * @param quantile quantile of the actual/estimate ratio used as correction, in [0, 1]
+     */
+    public QuantileLengthPredictor(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+        }
+        this.quantile = quantile;
+    }
+
+    @Override
+    public double predict(int user, double estimate) {
+        LogHistogramSketch sketch = ratioByUser.get(user);
+        if (sketch == null || sketch.getCount() < MIN_SAMPLES) {
+            sketch = globalRatio;
+        }
+        return sketch.getCount() > 0 ? estimate * sketch.quantile(quantile) : estimate;
+    }
+
+    @Override
+    public void observe(int user, double estimate, double actual) {
+        if (!(estimate > 0 && actual > 0)) {
+            return;
+        }
+        double ratio = actual / estimate;
+        ratioByUser.computeIfAbsent(user, u -> new LogHistogramSketch(RELATIVE_ACCURACY)).add(ratio);
+        globalRatio.add(ratio);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Quantile(q=%.2f)", quantile);
+    }
+}
@@ -0,0 +1,40 @@
+package org.cloudsimplus.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted when a cloudlet leaves its VM waiting list
+ * and starts executing on a PE.
+ */
+@Name("org.cloudsimplus.CloudletDispatch")
+@Label("Cloudlet Dispatch")
+@Category({"CloudSim Plus", "Scheduling"})
+@Description("A cloudlet started executing on its VM")
+public class CloudletDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Cloudlet Id")
+    long cloudletId;
+
+    @Label("VM Id")
+    long vmId;
+
+    @Label("Arrival Time (s)")
+    double arrivalTime;
+
+    @Label("Start Time (s)")
+    double startTime;
+
+    @Label("Waiting Time (s)")
+    double waitingTime;
+
+    public CloudletDispatchEvent(long cloudletId, long vmId, double arrivalTime, double startTime) {
+        this.cloudletId = cloudletId;
+        this.vmId = vmId;
+        this.arrivalTime = arrivalTime;
+        this.startTime = startTime;
+        this.waitingTime = Math.max(0.0, startTime - arrivalTime);
+    }
+}
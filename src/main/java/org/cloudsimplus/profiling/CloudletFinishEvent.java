@@ -0,0 +1,44 @@
+package org.cloudsimplus.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted when a cloudlet finishes executing on its VM.
+ */
+@Name("org.cloudsimplus.CloudletFinish")
+@Label("Cloudlet Finish")
+@Category({"CloudSim Plus", "Scheduling"})
+@Description("A cloudlet finished executing on its VM")
+public class CloudletFinishEvent extends jdk.jfr.Event {
+
+    @Label("Cloudlet Id")
+    long cloudletId;
+
+    @Label("VM Id")
+    long vmId;
+
+    @Label("Cloudlet Length (MI)")
+    long cloudletLength;
+
+    @Label("Start Time (s)")
+    double startTime;
+
+    @Label("Finish Time (s)")
+    double finishTime;
+
+    @Label("Response Time (s)")
+    double responseTime;
+
+    public CloudletFinishEvent(long cloudletId, long vmId, long cloudletLength,
+                               double arrivalTime, double startTime, double finishTime) {
+        this.cloudletId = cloudletId;
+        this.vmId = vmId;
+        this.cloudletLength = cloudletLength;
+        this.startTime = startTime;
+        this.finishTime = finishTime;
+        this.responseTime = Math.max(0.0, finishTime - arrivalTime);
+    }
+}
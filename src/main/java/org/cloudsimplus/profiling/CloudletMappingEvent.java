@@ -0,0 +1,65 @@
+package org.cloudsimplus.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.vms.Vm;
+
+/**
+ * JFR event emitted each time a broker maps a cloudlet to a VM.
+ *
+ * The event duration covers the VM selection scan, so CPU samples taken
+ * inside {@code defaultVmMapper} can be lined up with the decision in JMC.
+ */
+@Name("org.cloudsimplus.CloudletMapping")
+@Label("Cloudlet Mapping")
+@Category({"CloudSim Plus", "Scheduling"})
+@Description("A broker selected a VM for a cloudlet")
+public class CloudletMappingEvent extends jdk.jfr.Event {
+
+    @Label("Broker")
+    String broker;
+
+    @Label("Cloudlet Id")
+    long cloudletId;
+
+    @Label("Cloudlet Length (MI)")
+    long cloudletLength;
+
+    @Label("Chosen VM Id")
+    long vmId;
+
+    @Label("Cost")
+    @Description("Score of the chosen VM in the broker's cost function")
+    double cost;
+
+    @Label("Candidate Count")
+    @Description("Number of VMs evaluated for this decision")
+    int candidateCount;
+
+    @Label("Simulation Time (s)")
+    double simulationTime;
+
+    /**
+     * Fills and commits the event if it is enabled in the running recording.
+     * Should be called after {@link #begin()} once the VM has been selected.
+     */
+    public void commit(String broker, Cloudlet cloudlet, Vm vm, double cost,
+                       int candidateCount, double simulationTime) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+
+        this.broker = broker;
+        this.cloudletId = cloudlet.getId();
+        this.cloudletLength = cloudlet.getLength();
+        this.vmId = vm.getId();
+        this.cost = cost;
+        this.candidateCount = candidateCount;
+        this.simulationTime = simulationTime;
+        commit();
+    }
+}
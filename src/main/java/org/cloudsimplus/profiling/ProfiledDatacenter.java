@@ -0,0 +1,36 @@
+package org.cloudsimplus.profiling;
+
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.core.CloudSimTag;
+import org.cloudsimplus.core.events.SimEvent;
+import org.cloudsimplus.datacenters.DatacenterSimple;
+import org.cloudsimplus.hosts.Host;
+
+import java.util.List;
+
+/**
+ * A {@link DatacenterSimple} that reports the wall-clock time of its event
+ * processing to a {@link SimulationProfiler}, separating VM scheduler
+ * updates from the other datacenter events.
+ */
+public class ProfiledDatacenter extends DatacenterSimple {
+
+    private final SimulationProfiler profiler;
+
+    public ProfiledDatacenter(CloudSimPlus simulation, List<? extends Host> hostList,
+                              SimulationProfiler profiler) {
+        super(simulation, hostList);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void processEvent(SimEvent evt) {
+        long start = System.nanoTime();
+        super.processEvent(evt);
+        long elapsed = System.nanoTime() - start;
+
+        profiler.add(evt.getTag() == CloudSimTag.VM_UPDATE_CLOUDLET_PROCESSING
+                ? SimulationProfiler.Phase.VM_SCHEDULER_UPDATES
+                : SimulationProfiler.Phase.DATACENTER_OTHER, elapsed);
+    }
+}
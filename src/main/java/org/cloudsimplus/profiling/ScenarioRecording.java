@@ -0,0 +1,67 @@
+package org.cloudsimplus.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * A Flight Recorder recording scoped to a single scenario run.
+ *
+ * Uses the JDK "profile" settings plus all scheduling events, and dumps to
+ * {@code simulation_results/jfr/<scenario>.jfr} when closed.
+ */
+public class ScenarioRecording implements AutoCloseable {
+
+    private static final File OUTPUT_DIR = new File("simulation_results", "jfr");
+
+    private final Recording recording;
+    private final File outputFile;
+
+    private ScenarioRecording(Recording recording, File outputFile) {
+        this.recording = recording;
+        this.outputFile = outputFile;
+    }
+
+    /**
+     * Starts a new recording for the given scenario.
+     *
+     * @param scenarioLabel label of the scenario, used as file name
+     * @return the started recording, or {@code null} if JFR could not be started
+     */
+    public static ScenarioRecording start(String scenarioLabel) {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName(scenarioLabel);
+            recording.enable(CloudletMappingEvent.class);
+            recording.enable(CloudletDispatchEvent.class);
+            recording.enable(CloudletFinishEvent.class);
+            recording.enable(ScenarioRunEvent.class);
+            recording.start();
+
+            OUTPUT_DIR.mkdirs();
+            return new ScenarioRecording(recording, new File(OUTPUT_DIR, scenarioLabel + ".jfr"));
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("[JFR] Could not start recording for " + scenarioLabel + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stops the recording and writes it to disk.
+     */
+    @Override
+    public void close() {
+        try {
+            recording.stop();
+            recording.dump(outputFile.toPath());
+            System.out.println("[JFR] Recording saved to " + outputFile.getPath());
+        } catch (IOException e) {
+            System.err.println("[JFR] Error saving recording: " + e.getMessage());
+        } finally {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.cloudsimplus.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning one scenario run in {@code SimulationMain.runScenario}.
+ * Its start and end mark the boundaries of the run on the JMC timeline.
+ */
+@Name("org.cloudsimplus.ScenarioRun")
+@Label("Scenario Run")
+@Category({"CloudSim Plus", "Scenario"})
+@Description("One broker/workload simulation run")
+public class ScenarioRunEvent extends jdk.jfr.Event {
+
+    @Label("Scenario")
+    public String scenario;
+
+    @Label("Submitted Cloudlets")
+    public int submittedCloudlets;
+
+    @Label("Finished Cloudlets")
+    public int finishedCloudlets;
+
+    @Label("Simulated Time (s)")
+    public double simulatedTime;
+}
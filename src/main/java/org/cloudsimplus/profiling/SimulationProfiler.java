@@ -0,0 +1,121 @@
+package org.cloudsimplus.profiling;
+
+import org.cloudsimplus.core.CloudSimPlus;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Wall-clock self-profiling of a single simulation run.
+ *
+ * Counts processed events and clock ticks through the simulation listeners,
+ * and accumulates the time spent in each {@link Phase} as reported by the
+ * broker, the {@link ProfiledDatacenter} and {@code SimulationMain}.
+ */
+public class SimulationProfiler {
+
+    /** Where wall-clock time of a run goes */
+    public enum Phase {
+        BROKER_MAPPING("Broker mapping (defaultVmMapper)"),
+        BROKER_OTHER("Broker other event processing"),
+        VM_SCHEDULER_UPDATES("VM scheduler updates"),
+        DATACENTER_OTHER("Datacenter other event processing"),
+        METRICS("Metrics collection");
+
+        private final String description;
+
+        Phase(String description) {
+            this.description = description;
+        }
+    }
+
+    private final String label;
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    private long events;
+    private long clockTicks;
+    private long simulationNanos;
+
+    public SimulationProfiler(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Registers the event processing and clock tick listeners.
+     */
+    public void attach(CloudSimPlus simulation) {
+        simulation.addOnEventProcessingListener(evt -> events++);
+        simulation.addOnClockTickListener(info -> clockTicks++);
+    }
+
+    /** Adds elapsed wall-clock time to a phase. */
+    public void add(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /** Records the wall-clock duration of {@code simulation.start()}. */
+    public void setSimulationNanos(long nanos) {
+        this.simulationNanos = nanos;
+    }
+
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Builds the profiling report as text.
+     */
+    public String report() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+
+        double simulationMs = simulationNanos / 1e6;
+        out.println("=".repeat(60));
+        out.println("SIMULATOR PROFILE: " + label);
+        out.println("=".repeat(60));
+        out.printf("Simulation wall time : %.3f ms%n", simulationMs);
+        out.printf("Processed events     : %d (%.0f events/s)%n",
+                events, simulationNanos > 0 ? events / (simulationNanos / 1e9) : 0.0);
+        out.printf("Clock ticks          : %d%n", clockTicks);
+        out.println("-".repeat(60));
+
+        long attributed = 0;
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (phase != Phase.METRICS) {
+                attributed += nanos;
+            }
+            out.printf("%-36s: %10.3f ms (%5.1f%%)%n", phase.description, nanos / 1e6,
+                    simulationNanos > 0 ? 100.0 * nanos / simulationNanos : 0.0);
+        }
+        long engine = Math.max(0, simulationNanos - attributed);
+        out.printf("%-36s: %10.3f ms (%5.1f%%)%n", "Simulation engine / listeners", engine / 1e6,
+                simulationNanos > 0 ? 100.0 * engine / simulationNanos : 0.0);
+        out.println("(percentages relative to simulation wall time; metrics run after it)");
+        out.println("=".repeat(60));
+        out.flush();
+        return text.toString();
+    }
+
+    /**
+     * Prints the report and saves it to {@code <dir>/<label>.txt}.
+     */
+    public void printAndSave(File dir) {
+        String report = report();
+        System.out.print(report);
+
+        dir.mkdirs();
+        try (FileWriter writer = new FileWriter(new File(dir, label + ".txt"))) {
+            writer.write(report);
+        } catch (IOException e) {
+            System.err.println("[Profiler] Error saving report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.cloudsimplus.replay;
+
+/**
+ * Replay version of {@code CapacityAwareBroker}: the VM with the earliest
+ * estimated finish time,
+ *
+ * EFT_j = t + max(0, (R_j + Q_j) / (MIPS_j · PEs_j)) + L_i / MIPS_j
+ *
+ * with R_j the work left of running cloudlets and Q_j the queued work; the
+ * wait is dropped when the VM has enough free PEs and nothing queued.
+ * In up-front mapping the arrival delay is the earliest start.
+ */
+public class CapacityAwarePolicy implements VmSelectionPolicy {
+
+    public static final CapacityAwarePolicy INSTANCE = new CapacityAwarePolicy();
+
+    @Override
+    public int selectVm(ReplayContext context, int cloudlet) {
+        long length = context.getLength(cloudlet);
+        int pes = context.getCloudletPes(cloudlet);
+        double now = context.getTime();
+        double arrival = Math.max(now, context.getArrival(cloudlet));
+        int bestVm = 0;
+        double minFinish = Double.MAX_VALUE;
+
+        for (int vm = 0; vm < context.getVmCount(); vm++) {
+            if (context.getPes(vm) < pes) {
+                continue;
+            }
+            double mips = context.getMips(vm);
+            double start = arrival;
+            double queued = context.getQueuedWork(vm);
+            if (context.getFreePes(vm) < pes || queued > 0) {
+                double backlog = context.getRemainingRunningWork(vm) + queued;
+                start = Math.max(start, now + backlog / (mips * context.getPes(vm)));
+            }
+            double finish = start + length / mips;
+
+            if (finish < minFinish) {
+                minFinish = finish;
+                bestVm = vm;
+            }
+        }
+        return bestVm;
+    }
+
+    @Override
+    public String toString() {
+        return "CapacityAware(EFT)";
+    }
+}
@@ -0,0 +1,82 @@
+package org.cloudsimplus.replay;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of (time, payload) events stored in primitive arrays.
+ * Ties on time are broken by payload, so replays are deterministic.
+ */
+final class EventHeap {
+
+    private double[] times;
+    private long[] payloads;
+    private int size;
+
+    EventHeap(int initialCapacity) {
+        times = new double[Math.max(16, initialCapacity)];
+        payloads = new long[times.length];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    double peekTime() {
+        return times[0];
+    }
+
+    long peekPayload() {
+        return payloads[0];
+    }
+
+    void push(double time, long payload) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            payloads = Arrays.copyOf(payloads, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(time, payload, times[parent], payloads[parent])) {
+                break;
+            }
+            times[i] = times[parent];
+            payloads[i] = payloads[parent];
+            i = parent;
+        }
+        times[i] = time;
+        payloads[i] = payload;
+    }
+
+    /** Removes the head event (read it first with peekTime/peekPayload). */
+    void pop() {
+        size--;
+        double time = times[size];
+        long payload = payloads[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(times[right], payloads[right], times[child], payloads[child])) {
+                child = right;
+            }
+            if (!less(times[child], payloads[child], time, payload)) {
+                break;
+            }
+            times[i] = times[child];
+            payloads[i] = payloads[child];
+            i = child;
+        }
+        times[i] = time;
+        payloads[i] = payload;
+    }
+
+    private static boolean less(double t1, long p1, double t2, long p2) {
+        return t1 < t2 || (t1 == t2 && p1 < p2);
+    }
+}
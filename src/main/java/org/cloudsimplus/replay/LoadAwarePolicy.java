@@ -0,0 +1,61 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.examples.DynamicAvAgingLoadAwareBroker;
+
+/**
+ * Replay version of {@code DynamicAvAgingLoadAwareBroker.selectVmWithPredictiveLoadBalancing}
+ * with configurable weights:
+ *
+ * cost_j = (L_i / MIPS_j) · (1000 / MIPS_j) · execWeight
+ *        + assigned_j · assignmentPenalty
+ *        + H_j · historyWeight
+ */
+public class LoadAwarePolicy implements VmSelectionPolicy {
+
+    /** Weights used by DynamicAvAgingLoadAwareBroker */
+    public static final LoadAwarePolicy BROKER_DEFAULT = new LoadAwarePolicy(
+            DynamicAvAgingLoadAwareBroker.DEFAULT_EXEC_WEIGHT,
+            DynamicAvAgingLoadAwareBroker.DEFAULT_ASSIGNMENT_PENALTY,
+            DynamicAvAgingLoadAwareBroker.DEFAULT_HISTORY_WEIGHT);
+
+    private final double execWeight;
+    private final double assignmentPenalty;
+    private final double historyWeight;
+
+    public LoadAwarePolicy(double execWeight, double assignmentPenalty, double historyWeight) {
+        this.execWeight = execWeight;
+        this.assignmentPenalty = assignmentPenalty;
+        this.historyWeight = historyWeight;
+    }
+
+    @Override
+    public int selectVm(ReplayContext context, int cloudlet) {
+        long length = context.getLength(cloudlet);
+        int bestVm = 0;
+        double minCost = Double.MAX_VALUE;
+
+        for (int vm = 0; vm < context.getVmCount(); vm++) {
+            double mips = context.getMips(vm);
+            double normalizedExecTime = (length / mips) * (1000.0 / mips);
+            double cost = normalizedExecTime * execWeight
+                    + context.getAssignedCount(vm) * assignmentPenalty
+                    + context.getHistoricalLoad(vm) * historyWeight;
+
+            if (cost < minCost) {
+                minCost = cost;
+                bestVm = vm;
+            }
+        }
+        return bestVm;
+    }
+
+    public double getExecWeight()        { return execWeight; }
+    public double getAssignmentPenalty() { return assignmentPenalty; }
+    public double getHistoryWeight()     { return historyWeight; }
+
+    @Override
+    public String toString() {
+        return String.format("LoadAware(exec=%.2f, assign=%.2f, hist=%.2f)",
+                execWeight, assignmentPenalty, historyWeight);
+    }
+}
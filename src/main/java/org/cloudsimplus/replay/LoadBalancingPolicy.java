@@ -0,0 +1,43 @@
+package org.cloudsimplus.replay;
+
+/**
+ * Replay version of {@code DynamicAvLoadBalancingBroker.selectVmWithLoadBalancing}:
+ *
+ * score_j = L_i / MIPS_j + assigned_j · loadPenalty + (L_i &lt; AV ? -0.5 : 0.5)
+ */
+public class LoadBalancingPolicy implements VmSelectionPolicy {
+
+    /** Penalty used by DynamicAvLoadBalancingBroker */
+    public static final LoadBalancingPolicy BROKER_DEFAULT = new LoadBalancingPolicy(6.0);
+
+    private final double loadPenalty;
+
+    public LoadBalancingPolicy(double loadPenalty) {
+        this.loadPenalty = loadPenalty;
+    }
+
+    @Override
+    public int selectVm(ReplayContext context, int cloudlet) {
+        long length = context.getLength(cloudlet);
+        double av = context.getAverageUnfinishedLength();
+        double avBias = (length < av) ? -0.5 : 0.5;
+
+        int bestVm = 0;
+        double bestScore = Double.MAX_VALUE;
+        for (int vm = 0; vm < context.getVmCount(); vm++) {
+            double score = length / context.getMips(vm)
+                    + context.getAssignedCount(vm) * loadPenalty
+                    + avBias;
+            if (score < bestScore) {
+                bestScore = score;
+                bestVm = vm;
+            }
+        }
+        return bestVm;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoadBalancing(penalty=%.2f)", loadPenalty);
+    }
+}
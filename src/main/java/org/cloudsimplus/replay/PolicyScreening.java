@@ -0,0 +1,92 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Screens a grid of {@link LoadAwarePolicy} weights on the four workload
+ * scenarios with the {@link ReplayEngine}, without running CloudSim Plus.
+ *
+ * Prints the broker defaults and the best variants by mean response time
+ * across scenarios. Promising weights should then be validated in
+ * {@link SimulationMain}.
+ */
+public class PolicyScreening {
+
+    private static final double[] EXEC_WEIGHTS = {0.5, 1.0, 2.0, 3.0, 4.0, 6.0, 8.0, 12.0, 16.0, 24.0};
+    private static final double[] ASSIGNMENT_PENALTIES = {0.0, 0.25, 0.5, 1.0, 1.5, 2.0, 3.0, 4.0, 6.0, 8.0};
+    private static final double[] HISTORY_WEIGHTS = {0.0, 0.05, 0.1, 0.2, 0.3, 0.5, 0.75, 1.0, 1.5, 2.0};
+
+    private static final int TOP = 10;
+
+    public static void main(String[] args) {
+        String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+        ReplayWorkload[] workloads = {
+                ReplayWorkload.of(DynamicWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(BurstyWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(HeavyLoadScenario.createCloudlets()),
+                ReplayWorkload.of(BalancedWorkloadScenario.createCloudlets())
+        };
+        ReplayVms vms = ReplayVms.of(SimulationMain.VMS, SimulationMain.VM_MIPS, SimulationMain.VM_PES);
+
+        System.out.println("\n" + "=".repeat(100));
+        System.out.println("POLICY SCREENING (replay engine)");
+        System.out.println("=".repeat(100));
+
+        for (VmSelectionPolicy policy : List.of(LoadBalancingPolicy.BROKER_DEFAULT, LoadAwarePolicy.BROKER_DEFAULT,
+                CapacityAwarePolicy.INSTANCE)) {
+            for (int w = 0; w < workloads.length; w++) {
+                ReplayResult result = new ReplayEngine(workloads[w], vms).run(policy);
+                System.out.printf("%-46s %-12s %s%n", policy, names[w], result);
+            }
+        }
+
+        List<LoadAwarePolicy> variants = new ArrayList<>();
+        for (double exec : EXEC_WEIGHTS) {
+            for (double assign : ASSIGNMENT_PENALTIES) {
+                for (double hist : HISTORY_WEIGHTS) {
+                    variants.add(new LoadAwarePolicy(exec, assign, hist));
+                }
+            }
+        }
+
+        ThreadLocal<ReplayEngine[]> engines = ThreadLocal.withInitial(() -> {
+            ReplayEngine[] perWorkload = new ReplayEngine[workloads.length];
+            for (int w = 0; w < workloads.length; w++) {
+                perWorkload[w] = new ReplayEngine(workloads[w], vms);
+            }
+            return perWorkload;
+        });
+
+        long start = System.nanoTime();
+        double[] meanResponse = new double[variants.size()];
+        IntStream.range(0, variants.size()).parallel().forEach(i -> {
+            double total = 0;
+            for (ReplayEngine engine : engines.get()) {
+                total += engine.run(variants.get(i)).getAverageResponseTime();
+            }
+            meanResponse[i] = total / workloads.length;
+        });
+        double elapsedMs = (System.nanoTime() - start) / 1e6;
+
+        System.out.println("-".repeat(100));
+        System.out.printf("Replayed %d variants x %d workloads in %.1f ms (%.3f ms per replay)%n",
+                variants.size(), workloads.length, elapsedMs, elapsedMs / (variants.size() * workloads.length));
+        System.out.println("-".repeat(100));
+        System.out.printf("TOP %d BY MEAN RESPONSE TIME ACROSS WORKLOADS%n", TOP);
+
+        IntStream.range(0, variants.size()).boxed()
+                .sorted(Comparator.comparingDouble(i -> meanResponse[i]))
+                .limit(TOP)
+                .forEach(i -> System.out.printf("  %-46s mean RT = %.4f s%n", variants.get(i), meanResponse[i]));
+        System.out.println("=".repeat(100));
+    }
+}
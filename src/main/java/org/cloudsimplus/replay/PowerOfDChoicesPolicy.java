@@ -0,0 +1,79 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.examples.MipsWeightedSampler;
+
+/**
+ * Replay version of {@code PowerOfDChoicesBroker}: samples d VMs weighted by
+ * MIPS and picks the cheapest by the {@link LoadAwarePolicy#BROKER_DEFAULT} cost.
+ *
+ * The random numbers are a hash of the seed, the cloudlet and the draw, so a
+ * replay gives the same result every time and the policy can be shared by
+ * engines on several threads.
+ */
+public class PowerOfDChoicesPolicy implements VmSelectionPolicy {
+
+    private final int choices;
+    private final long seed;
+    private volatile MipsWeightedSampler sampler;
+
+    public PowerOfDChoicesPolicy(int choices, long seed) {
+        if (choices < 1) {
+            throw new IllegalArgumentException("At least one choice is needed: " + choices);
+        }
+        this.choices = choices;
+        this.seed = seed;
+    }
+
+    @Override
+    public int selectVm(ReplayContext context, int cloudlet) {
+        MipsWeightedSampler vms = samplerFor(context);
+        long length = context.getLength(cloudlet);
+        int bestVm = -1;
+        double minCost = Double.MAX_VALUE;
+
+        for (int i = 0; i < choices; i++) {
+            int vm = vms.sample(uniform(cloudlet, i));
+            if (vm == bestVm) {
+                continue;
+            }
+            double mips = context.getMips(vm);
+            double normalizedExecTime = (length / mips) * (1000.0 / mips);
+            double cost = normalizedExecTime * LoadAwarePolicy.BROKER_DEFAULT.getExecWeight()
+                    + context.getAssignedCount(vm) * LoadAwarePolicy.BROKER_DEFAULT.getAssignmentPenalty()
+                    + context.getHistoricalLoad(vm) * LoadAwarePolicy.BROKER_DEFAULT.getHistoryWeight();
+
+            if (cost < minCost) {
+                minCost = cost;
+                bestVm = vm;
+            }
+        }
+        return bestVm;
+    }
+
+    private MipsWeightedSampler samplerFor(ReplayContext context) {
+        MipsWeightedSampler current = sampler;
+        if (current == null || current.size() != context.getVmCount()) {
+            double[] mips = new double[context.getVmCount()];
+            for (int vm = 0; vm < mips.length; vm++) {
+                mips[vm] = context.getMips(vm);
+            }
+            current = new MipsWeightedSampler(mips);
+            sampler = current;
+        }
+        return current;
+    }
+
+    /** SplitMix64 finalizer of (seed, cloudlet, draw), mapped to [0, 1) */
+    private double uniform(int cloudlet, int draw) {
+        long z = seed + ((long) cloudlet * choices + draw + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PowerOfD(d=%d)", choices);
+    }
+}
@@ -0,0 +1,97 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares {@link PowerOfDChoicesPolicy} with the full-scan broker policies
+ * using the {@link ReplayEngine}: first on the four workload scenarios with
+ * the 6 VMs of {@link SimulationMain}, then on a large fleet (10,000 VMs by
+ * default) with every scenario replicated so each VM gets the same load.
+ *
+ * For each run it prints the replay metrics and the average wall-clock time
+ * of one mapping decision, to show the quality/latency tradeoff.
+ *
+ * Usage: {@code PowerOfDComparison [vmCount]}
+ */
+public class PowerOfDComparison {
+
+    private static final int DEFAULT_LARGE_FLEET = 10_000;
+    private static final int[] CHOICES = {1, 2, 3, 4, 8};
+    private static final long SEED = 42;
+    private static final double ARRIVAL_JITTER = 1.0;
+
+    public static void main(String[] args) {
+        int largeFleet = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LARGE_FLEET;
+
+        String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+        ReplayWorkload[] workloads = {
+                ReplayWorkload.of(DynamicWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(BurstyWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(HeavyLoadScenario.createCloudlets()),
+                ReplayWorkload.of(BalancedWorkloadScenario.createCloudlets())
+        };
+
+        List<VmSelectionPolicy> policies = new ArrayList<>(
+                List.of(LoadBalancingPolicy.BROKER_DEFAULT, LoadAwarePolicy.BROKER_DEFAULT));
+        for (int d : CHOICES) {
+            policies.add(new PowerOfDChoicesPolicy(d, SEED));
+        }
+
+        compare(String.format("%d VMs (SimulationMain fleet)", SimulationMain.VMS),
+                names, workloads, ReplayVms.of(SimulationMain.VMS, SimulationMain.VM_MIPS, SimulationMain.VM_PES),
+                policies, true);
+
+        int copies = Math.max(1, largeFleet / SimulationMain.VMS);
+        ReplayWorkload[] scaled = new ReplayWorkload[workloads.length];
+        for (int w = 0; w < workloads.length; w++) {
+            scaled[w] = workloads[w].replicate(copies, ARRIVAL_JITTER, SEED + w);
+        }
+        compare(String.format("%d VMs, every scenario replicated %dx", copies * SimulationMain.VMS, copies),
+                names, scaled, ReplayVms.of(copies * SimulationMain.VMS, SimulationMain.VM_MIPS, SimulationMain.VM_PES),
+                policies, false);
+    }
+
+    /**
+     * @param warmUp replay every policy once before timing it; only worth it
+     *               for small runs, where JIT compilation would dominate
+     */
+    private static void compare(String title, String[] names, ReplayWorkload[] workloads,
+                                ReplayVms vms, List<VmSelectionPolicy> policies, boolean warmUp) {
+        System.out.println("\n" + "=".repeat(136));
+        System.out.println("POWER-OF-D vs FULL SCAN: " + title);
+        System.out.println("=".repeat(136));
+        System.out.printf("%-12s %-46s %10s %10s %10s %10s %10s %14s%n",
+                "Workload", "Policy", "Avg WT", "Avg RT", "p99 WT", "Makespan", "vs best", "us/decision");
+
+        for (int w = 0; w < workloads.length; w++) {
+            ReplayEngine engine = new ReplayEngine(workloads[w], vms);
+            ReplayResult[] results = new ReplayResult[policies.size()];
+            double[] decisionMicros = new double[policies.size()];
+            double bestMakespan = Double.MAX_VALUE;
+            for (int p = 0; p < policies.size(); p++) {
+                if (warmUp) {
+                    engine.run(policies.get(p));
+                }
+                TimedPolicy timed = new TimedPolicy(policies.get(p));
+                results[p] = engine.run(timed);
+                decisionMicros[p] = timed.getNanos() / 1e3 / workloads[w].size();
+                bestMakespan = Math.min(bestMakespan, results[p].getMakespan());
+            }
+            for (int p = 0; p < policies.size(); p++) {
+                ReplayResult result = results[p];
+                System.out.printf("%-12s %-46s %10.4f %10.4f %10.4f %10.4f %+9.1f%% %14.3f%n",
+                        names[w], policies.get(p), result.getAverageWaitingTime(),
+                        result.getAverageResponseTime(), result.getP99WaitingTime(), result.getMakespan(),
+                        (result.getMakespan() / bestMakespan - 1) * 100, decisionMicros[p]);
+            }
+            System.out.println("-".repeat(136));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.cloudsimplus.replay;
+
+/**
+ * Read-only view of the replay state offered to a {@link VmSelectionPolicy}.
+ *
+ * Mirrors the bookkeeping the brokers keep: assignment count and
+ * historical load H_j (sum of L_i / MIPS_j of assigned cloudlets).
+ */
+public interface ReplayContext {
+
+    /** @return current replay time in seconds */
+    double getTime();
+
+    int getVmCount();
+    double getMips(int vm);
+    int getPes(int vm);
+
+    /** @return number of cloudlets mapped to the VM so far */
+    int getAssignedCount(int vm);
+
+    /** @return H_j: total estimated execution time of cloudlets mapped to the VM */
+    double getHistoricalLoad(int vm);
+
+    /** @return MI of cloudlets mapped to the VM that haven't finished */
+    double getOutstandingLength(int vm);
+
+    /** @return PEs of the VM not used by running cloudlets */
+    int getFreePes(int vm);
+
+    /** @return work (length · PEs) of the VM's running cloudlets not executed yet */
+    double getRemainingRunningWork(int vm);
+
+    /** @return work (length · PEs) of cloudlets mapped to the VM that haven't started */
+    double getQueuedWork(int vm);
+
+    int getCloudletCount();
+    long getLength(int cloudlet);
+    int getCloudletPes(int cloudlet);
+    double getArrival(int cloudlet);
+
+    /** @return average length of all cloudlets that haven't finished yet */
+    double getAverageUnfinishedLength();
+}
@@ -0,0 +1,270 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.prediction.LengthEstimates;
+import org.cloudsimplus.prediction.LengthPredictor;
+
+import java.util.Arrays;
+
+/**
+ * Lightweight replay of a workload on space-shared VM queues.
+ *
+ * Instead of CloudSim entities and events, it keeps per-VM FIFO waiting
+ * queues in primitive arrays and drives them with a binary event heap of
+ * arrivals and completions. Each VM runs up to {@code pes} cloudlets at
+ * once, and a cloudlet takes {@code length / mips} seconds, as with
+ * {@code CloudletSchedulerSpaceShared}.
+ *
+ * By default all cloudlets are mapped up front in submission order, which
+ * is what the brokers' {@code defaultVmMapper} sees in the real simulation.
+ * With {@link #setMapOnArrival(boolean)} cloudlets are mapped when they
+ * arrive instead. With {@link #setLengthPredictor} policies see predicted
+ * instead of true lengths, while the replay still runs the true ones.
+ *
+ * An engine can be reused for many runs but is not thread-safe;
+ * use one engine per thread.
+ */
+public class ReplayEngine implements ReplayContext {
+
+    private static final long ARRIVAL = 1;
+    private static final long FINISH = 0;
+
+    private final ReplayWorkload workload;
+    private final ReplayVms vms;
+    private boolean mapOnArrival;
+    private LengthPredictor lengthPredictor;
+    private LengthEstimates lengthEstimates;
+
+    private final EventHeap events;
+    private double time;
+
+    /* Per-VM state */
+    private final int[] assignedCount;
+    private final double[] historicalLoad;
+    private final double[] outstandingLength;
+    private final int[] freePes;
+    private final double[] queuedWork;
+    private final double[] runningWork;
+    private final double[] pesStartSum;
+    private final int[] queueHead;
+    private final int[] queueTail;
+
+    /* Per-cloudlet state */
+    private final int[] vmOf;
+    private final int[] nextInQueue;
+    private final double[] mappedLength;
+    // Length counted in unfinishedLength at reset, taken off again when the cloudlet finishes
+    private final double[] countedLength;
+    private final double[] startTimes;
+    private final double[] finishTimes;
+
+    private double unfinishedLength;
+    private int unfinishedCount;
+
+    public ReplayEngine(ReplayWorkload workload, ReplayVms vms) {
+        this.workload = workload;
+        this.vms = vms;
+        int n = workload.size();
+        int v = vms.size();
+
+        this.events = new EventHeap(n);
+        this.assignedCount = new int[v];
+        this.historicalLoad = new double[v];
+        this.outstandingLength = new double[v];
+        this.freePes = new int[v];
+        this.queuedWork = new double[v];
+        this.runningWork = new double[v];
+        this.pesStartSum = new double[v];
+        this.queueHead = new int[v];
+        this.queueTail = new int[v];
+        this.vmOf = new int[n];
+        this.nextInQueue = new int[n];
+        this.mappedLength = new double[n];
+        this.countedLength = new double[n];
+        this.startTimes = new double[n];
+        this.finishTimes = new double[n];
+    }
+
+    /**
+     * Sets whether cloudlets are mapped when they arrive (true) or
+     * all at once at time 0 in submission order (false, the default).
+     */
+    public ReplayEngine setMapOnArrival(boolean mapOnArrival) {
+        this.mapOnArrival = mapOnArrival;
+        return this;
+    }
+
+    /**
+     * Makes policies see the length the predictor gives for each cloudlet's
+     * estimate; the predictor learns the true length when a cloudlet finishes.
+     * It keeps what it learned between runs. Null goes back to true lengths.
+     *
+     * @param estimates user and estimated length of every cloudlet of the workload
+     */
+    public ReplayEngine setLengthPredictor(LengthPredictor predictor, LengthEstimates estimates) {
+        if (predictor != null && estimates.size() != workload.size()) {
+            throw new IllegalArgumentException("Need one estimate per cloudlet");
+        }
+        this.lengthPredictor = predictor;
+        this.lengthEstimates = estimates;
+        return this;
+    }
+
+    /**
+     * Replays the workload with the given policy.
+     */
+    public ReplayResult run(VmSelectionPolicy policy) {
+        reset();
+        policy.onReplayStart(this);
+
+        if (!mapOnArrival) {
+            for (int c = 0; c < workload.size(); c++) {
+                assign(c, policy.selectVm(this, c));
+            }
+        }
+
+        for (int c = 0; c < workload.size(); c++) {
+            events.push(workload.getArrival(c), ((long) c << 1) | ARRIVAL);
+        }
+
+        while (!events.isEmpty()) {
+            time = events.peekTime();
+            long payload = events.peekPayload();
+            events.pop();
+
+            int c = (int) (payload >>> 1);
+            if ((payload & 1) == ARRIVAL) {
+                if (mapOnArrival) {
+                    assign(c, policy.selectVm(this, c));
+                }
+                arrive(c);
+            } else {
+                finish(c);
+                policy.onCloudletFinished(this, c, vmOf[c]);
+            }
+        }
+
+        return new ReplayResult(workload, startTimes, finishTimes);
+    }
+
+    private void reset() {
+        events.clear();
+        time = 0.0;
+        Arrays.fill(assignedCount, 0);
+        Arrays.fill(historicalLoad, 0.0);
+        Arrays.fill(outstandingLength, 0.0);
+        Arrays.fill(queuedWork, 0.0);
+        Arrays.fill(runningWork, 0.0);
+        Arrays.fill(pesStartSum, 0.0);
+        Arrays.fill(queueHead, -1);
+        Arrays.fill(queueTail, -1);
+        for (int vm = 0; vm < vms.size(); vm++) {
+            freePes[vm] = vms.getPes(vm);
+        }
+
+        unfinishedLength = 0.0;
+        for (int c = 0; c < workload.size(); c++) {
+            countedLength[c] = getLength(c);
+            unfinishedLength += countedLength[c];
+        }
+        unfinishedCount = workload.size();
+    }
+
+    private void assign(int c, int vm) {
+        if (vm < 0 || vm >= vms.size()) {
+            throw new IllegalStateException("Policy selected invalid VM " + vm + " for cloudlet " + c);
+        }
+        vmOf[c] = vm;
+        // Bookkeeping uses the length the policy saw
+        mappedLength[c] = getLength(c);
+        assignedCount[vm]++;
+        historicalLoad[vm] += mappedLength[c] / vms.getMips(vm);
+        outstandingLength[vm] += mappedLength[c];
+        queuedWork[vm] += mappedLength[c] * workload.getPes(c);
+    }
+
+    private void arrive(int c) {
+        int vm = vmOf[c];
+        if (queueHead[vm] < 0 && freePes[vm] >= workload.getPes(c)) {
+            start(c, vm);
+            return;
+        }
+
+        nextInQueue[c] = -1;
+        if (queueTail[vm] < 0) {
+            queueHead[vm] = c;
+        } else {
+            nextInQueue[queueTail[vm]] = c;
+        }
+        queueTail[vm] = c;
+    }
+
+    private void start(int c, int vm) {
+        freePes[vm] -= workload.getPes(c);
+        startTimes[c] = time;
+        queuedWork[vm] -= mappedLength[c] * workload.getPes(c);
+        runningWork[vm] += mappedLength[c] * workload.getPes(c);
+        pesStartSum[vm] += workload.getPes(c) * time;
+        double finish = time + workload.getLength(c) / vms.getMips(vm);
+        events.push(finish, (long) c << 1 | FINISH);
+    }
+
+    private void finish(int c) {
+        int vm = vmOf[c];
+        finishTimes[c] = time;
+        freePes[vm] += workload.getPes(c);
+        runningWork[vm] -= mappedLength[c] * workload.getPes(c);
+        pesStartSum[vm] -= workload.getPes(c) * startTimes[c];
+        outstandingLength[vm] -= mappedLength[c];
+        unfinishedLength -= countedLength[c];
+        unfinishedCount--;
+        if (lengthPredictor != null) {
+            lengthPredictor.observe(lengthEstimates.getUser(c), lengthEstimates.getEstimate(c), workload.getLength(c));
+        }
+
+        // Start waiting cloudlets in FIFO order while they fit
+        while (queueHead[vm] >= 0 && freePes[vm] >= workload.getPes(queueHead[vm])) {
+            int next = queueHead[vm];
+            queueHead[vm] = nextInQueue[next];
+            if (queueHead[vm] < 0) {
+                queueTail[vm] = -1;
+            }
+            start(next, vm);
+        }
+    }
+
+    /* ===================== ReplayContext ===================== */
+
+    @Override public double getTime()                  { return time; }
+    @Override public int getVmCount()                  { return vms.size(); }
+    @Override public double getMips(int vm)            { return vms.getMips(vm); }
+    @Override public int getPes(int vm)                { return vms.getPes(vm); }
+    @Override public int getAssignedCount(int vm)      { return assignedCount[vm]; }
+    @Override public double getHistoricalLoad(int vm)  { return historicalLoad[vm]; }
+    @Override public double getOutstandingLength(int vm) { return outstandingLength[vm]; }
+    @Override public int getFreePes(int vm)            { return freePes[vm]; }
+    @Override public double getQueuedWork(int vm)      { return queuedWork[vm]; }
+    @Override public int getCloudletCount()            { return workload.size(); }
+    @Override public double getArrival(int cloudlet)   { return workload.getArrival(cloudlet); }
+    @Override public int getCloudletPes(int cloudlet)  { return workload.getPes(cloudlet); }
+
+    /** @return the true length, or the predicted one if a predictor is set */
+    @Override
+    public long getLength(int cloudlet) {
+        if (lengthPredictor == null) {
+            return workload.getLength(cloudlet);
+        }
+        return Math.round(lengthPredictor.predict(
+                lengthEstimates.getUser(cloudlet), lengthEstimates.getEstimate(cloudlet)));
+    }
+
+    @Override
+    public double getRemainingRunningWork(int vm) {
+        int busyPes = vms.getPes(vm) - freePes[vm];
+        return Math.max(0, runningWork[vm] - vms.getMips(vm) * (busyPes * time - pesStartSum[vm]));
+    }
+
+    @Override
+    public double getAverageUnfinishedLength() {
+        return unfinishedCount > 0 ? unfinishedLength / unfinishedCount : 0.0;
+    }
+}
@@ -0,0 +1,59 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.metrics.MetricsCollector;
+
+import java.util.Arrays;
+
+/**
+ * Aggregate metrics of one replay, using the same definitions as
+ * {@link MetricsCollector}.
+ */
+public class ReplayResult {
+
+    private final double averageWaitingTime;
+    private final double averageResponseTime;
+    private final double p99WaitingTime;
+    private final double p99ResponseTime;
+    private final double makespan;
+    private final double throughput;
+
+    ReplayResult(ReplayWorkload workload, double[] startTimes, double[] finishTimes) {
+        int n = workload.size();
+        double[] waiting = new double[n];
+        double[] response = new double[n];
+        double totalWT = 0, totalRT = 0;
+        double minArrival = Double.MAX_VALUE, maxFinish = 0;
+
+        for (int c = 0; c < n; c++) {
+            double arrival = workload.getArrival(c);
+            waiting[c] = Math.max(0.0, startTimes[c] - arrival);
+            response[c] = Math.max(0.0, finishTimes[c] - arrival);
+            totalWT += waiting[c];
+            totalRT += response[c];
+            minArrival = Math.min(minArrival, arrival);
+            maxFinish = Math.max(maxFinish, finishTimes[c]);
+        }
+
+        Arrays.sort(waiting);
+        Arrays.sort(response);
+        averageWaitingTime = n > 0 ? totalWT / n : 0.0;
+        averageResponseTime = n > 0 ? totalRT / n : 0.0;
+        p99WaitingTime = MetricsCollector.percentile(waiting, 0.99);
+        p99ResponseTime = MetricsCollector.percentile(response, 0.99);
+        makespan = n > 0 ? maxFinish - minArrival : 0.0;
+        throughput = makespan > 0 ? n / makespan : 0.0;
+    }
+
+    public double getAverageWaitingTime()  { return averageWaitingTime; }
+    public double getAverageResponseTime() { return averageResponseTime; }
+    public double getP99WaitingTime()      { return p99WaitingTime; }
+    public double getP99ResponseTime()     { return p99ResponseTime; }
+    public double getMakespan()            { return makespan; }
+    public double getThroughput()          { return throughput; }
+
+    @Override
+    public String toString() {
+        return String.format("WT=%.4f RT=%.4f p99WT=%.4f Makespan=%.4f TP=%.4f",
+                averageWaitingTime, averageResponseTime, p99WaitingTime, makespan, throughput);
+    }
+}
@@ -0,0 +1,36 @@
+package org.cloudsimplus.replay;
+
+/**
+ * VM specs for the replay engine: MIPS per PE and number of PEs of each VM.
+ */
+public class ReplayVms {
+
+    private final double[] mips;
+    private final int[] pes;
+
+    public ReplayVms(double[] mips, int[] pes) {
+        if (mips.length != pes.length) {
+            throw new IllegalArgumentException("mips and pes must have the same size");
+        }
+        this.mips = mips;
+        this.pes = pes;
+    }
+
+    /**
+     * Creates VMs cycling through the given MIPS values, all with the same PEs
+     * (same layout as {@code SimulationMain.createVms}).
+     */
+    public static ReplayVms of(int count, int[] mipsValues, int pesPerVm) {
+        double[] mips = new double[count];
+        int[] pes = new int[count];
+        for (int i = 0; i < count; i++) {
+            mips[i] = mipsValues[i % mipsValues.length];
+            pes[i] = pesPerVm;
+        }
+        return new ReplayVms(mips, pes);
+    }
+
+    public int size()             { return mips.length; }
+    public double getMips(int vm) { return mips[vm]; }
+    public int getPes(int vm)     { return pes[vm]; }
+}
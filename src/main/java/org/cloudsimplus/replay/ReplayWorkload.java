@@ -0,0 +1,69 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A recorded workload held in primitive arrays: cloudlet lengths,
+ * arrival times (submission delays) and PEs, in submission order.
+ */
+public class ReplayWorkload {
+
+    private final long[] lengths;
+    private final double[] arrivals;
+    private final int[] pes;
+
+    public ReplayWorkload(long[] lengths, double[] arrivals, int[] pes) {
+        if (lengths.length != arrivals.length || lengths.length != pes.length) {
+            throw new IllegalArgumentException("All workload arrays must have the same size");
+        }
+        this.lengths = lengths;
+        this.arrivals = arrivals;
+        this.pes = pes;
+    }
+
+    /**
+     * Records the workload of cloudlets created by a scenario generator.
+     */
+    public static ReplayWorkload of(List<Cloudlet> cloudlets) {
+        int n = cloudlets.size();
+        long[] lengths = new long[n];
+        double[] arrivals = new double[n];
+        int[] pes = new int[n];
+        for (int i = 0; i < n; i++) {
+            Cloudlet cloudlet = cloudlets.get(i);
+            lengths[i] = cloudlet.getLength();
+            arrivals[i] = cloudlet.getSubmissionDelay();
+            pes[i] = (int) cloudlet.getPesNumber();
+        }
+        return new ReplayWorkload(lengths, arrivals, pes);
+    }
+
+    /**
+     * Builds a workload with {@code copies} copies of every cloudlet, each
+     * arriving up to {@code arrivalJitter} seconds after the original, for
+     * replaying the same load per VM on a proportionally larger fleet.
+     */
+    public ReplayWorkload replicate(int copies, double arrivalJitter, long seed) {
+        Random random = new Random(seed);
+        int n = size() * copies;
+        long[] newLengths = new long[n];
+        double[] newArrivals = new double[n];
+        int[] newPes = new int[n];
+        for (int c = 0, i = 0; c < size(); c++) {
+            for (int k = 0; k < copies; k++, i++) {
+                newLengths[i] = lengths[c];
+                newArrivals[i] = arrivals[c] + random.nextDouble() * arrivalJitter;
+                newPes[i] = pes[c];
+            }
+        }
+        return new ReplayWorkload(newLengths, newArrivals, newPes);
+    }
+
+    public int size()                 { return lengths.length; }
+    public long getLength(int c)      { return lengths[c]; }
+    public double getArrival(int c)   { return arrivals[c]; }
+    public int getPes(int c)          { return pes[c]; }
+}
@@ -0,0 +1,121 @@
+package org.cloudsimplus.replay;
+
+/**
+ * Replay version of {@code ShardDispatcher}: VM j belongs to shard j mod K,
+ * a front dispatcher sends each cloudlet to the shard with the least
+ * outstanding work per MIPS, and the shard policy picks a VM of that shard
+ * only. A decision costs O(K) for the dispatcher plus O(V/K) for the shard.
+ *
+ * The outstanding work of each shard is kept here (added when a cloudlet is
+ * routed, removed when it finishes), so unlike the other policies an
+ * instance must not be shared by engines replaying at the same time.
+ */
+public class ShardedPolicy implements VmSelectionPolicy {
+
+    private final int shards;
+    private final VmSelectionPolicy shardPolicy;
+
+    private ShardContext[] views;
+    private double[] capacity;
+    private double[] outstandingWork;
+    private double[] routedWork;
+
+    /**
+     * @param shards number of shards K
+     * @param shardPolicy policy each shard uses on its own VMs
+     */
+    public ShardedPolicy(int shards, VmSelectionPolicy shardPolicy) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is needed: " + shards);
+        }
+        this.shards = shards;
+        this.shardPolicy = shardPolicy;
+    }
+
+    @Override
+    public void onReplayStart(ReplayContext context) {
+        if (context.getVmCount() < shards) {
+            throw new IllegalArgumentException(
+                    "More shards than VMs: " + shards + " > " + context.getVmCount());
+        }
+        views = new ShardContext[shards];
+        capacity = new double[shards];
+        outstandingWork = new double[shards];
+        routedWork = new double[context.getCloudletCount()];
+        for (int shard = 0; shard < shards; shard++) {
+            views[shard] = new ShardContext(context, shard, shards);
+        }
+        for (int vm = 0; vm < context.getVmCount(); vm++) {
+            capacity[vm % shards] += context.getMips(vm) * context.getPes(vm);
+        }
+        shardPolicy.onReplayStart(context);
+    }
+
+    @Override
+    public int selectVm(ReplayContext context, int cloudlet) {
+        double work = (double) context.getLength(cloudlet) * context.getCloudletPes(cloudlet);
+        int bestShard = 0;
+        double minDrain = Double.MAX_VALUE;
+
+        for (int shard = 0; shard < shards; shard++) {
+            double drain = (outstandingWork[shard] + work) / capacity[shard];
+            if (drain < minDrain) {
+                minDrain = drain;
+                bestShard = shard;
+            }
+        }
+
+        outstandingWork[bestShard] += work;
+        routedWork[cloudlet] = work;
+        ShardContext view = views[bestShard];
+        return view.toGlobal(shardPolicy.selectVm(view, cloudlet));
+    }
+
+    @Override
+    public void onCloudletFinished(ReplayContext context, int cloudlet, int vm) {
+        outstandingWork[vm % shards] -= routedWork[cloudlet];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Sharded(K=%d, %s)", shards, shardPolicy);
+    }
+
+    /**
+     * The VMs of one shard, renumbered from 0. Cloudlet state and the
+     * clock are the global ones.
+     */
+    private static final class ShardContext implements ReplayContext {
+        private final ReplayContext context;
+        private final int shard;
+        private final int shards;
+        private final int vmCount;
+
+        ShardContext(ReplayContext context, int shard, int shards) {
+            this.context = context;
+            this.shard = shard;
+            this.shards = shards;
+            this.vmCount = (context.getVmCount() - shard + shards - 1) / shards;
+        }
+
+        int toGlobal(int vm) {
+            return shard + vm * shards;
+        }
+
+        @Override public double getTime()                    { return context.getTime(); }
+        @Override public int getVmCount()                    { return vmCount; }
+        @Override public double getMips(int vm)             { return context.getMips(toGlobal(vm)); }
+        @Override public int getPes(int vm)                  { return context.getPes(toGlobal(vm)); }
+        @Override public int getAssignedCount(int vm)        { return context.getAssignedCount(toGlobal(vm)); }
+        @Override public double getHistoricalLoad(int vm)    { return context.getHistoricalLoad(toGlobal(vm)); }
+        @Override public double getOutstandingLength(int vm) { return context.getOutstandingLength(toGlobal(vm)); }
+        @Override public int getFreePes(int vm)              { return context.getFreePes(toGlobal(vm)); }
+        @Override public double getRemainingRunningWork(int vm) { return context.getRemainingRunningWork(toGlobal(vm)); }
+        @Override public double getQueuedWork(int vm)        { return context.getQueuedWork(toGlobal(vm)); }
+        @Override public int getCloudletCount()              { return context.getCloudletCount(); }
+        @Override public long getLength(int cloudlet)        { return context.getLength(cloudlet); }
+        @Override public int getCloudletPes(int cloudlet)    { return context.getCloudletPes(cloudlet); }
+        @Override public double getArrival(int cloudlet)     { return context.getArrival(cloudlet); }
+        @Override public double getAverageUnfinishedLength() { return context.getAverageUnfinishedLength(); }
+    }
+}
@@ -0,0 +1,91 @@
+package org.cloudsimplus.replay;
+
+import org.cloudsimplus.SimulationMain;
+import org.cloudsimplus.scenario.BalancedWorkloadScenario;
+import org.cloudsimplus.scenario.BurstyWorkloadScenario;
+import org.cloudsimplus.scenario.DynamicWorkloadScenario;
+import org.cloudsimplus.scenario.HeavyLoadScenario;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares one global load-aware broker with K sharded ones
+ * ({@link ShardedPolicy}) on large fleets, with every workload scenario
+ * replicated so each VM gets the same load as in {@link SimulationMain}.
+ *
+ * For each run it prints the replay metrics, the p99 waiting time relative to
+ * the global broker, and the average wall-clock time of one mapping decision,
+ * to show what sharding costs in tail latency for what it saves per decision.
+ *
+ * Usage: {@code ShardingScaling [vmCount...]}
+ */
+public class ShardingScaling {
+
+    private static final int[] DEFAULT_FLEETS = {600, 6_000};
+    private static final int[] SHARDS = {2, 4, 16, 64};
+    private static final long SEED = 42;
+    private static final double ARRIVAL_JITTER = 1.0;
+
+    public static void main(String[] args) {
+        int[] fleets = DEFAULT_FLEETS;
+        if (args.length > 0) {
+            fleets = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                fleets[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        String[] names = {"W1-Dynamic", "W2-Bursty", "W3-Heavy", "W4-Balanced"};
+        ReplayWorkload[] workloads = {
+                ReplayWorkload.of(DynamicWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(BurstyWorkloadScenario.createCloudlets()),
+                ReplayWorkload.of(HeavyLoadScenario.createCloudlets()),
+                ReplayWorkload.of(BalancedWorkloadScenario.createCloudlets())
+        };
+
+        for (int fleet : fleets) {
+            int copies = Math.max(1, fleet / SimulationMain.VMS);
+            int vmCount = copies * SimulationMain.VMS;
+            List<VmSelectionPolicy> policies = new ArrayList<>(List.of(LoadAwarePolicy.BROKER_DEFAULT));
+            for (int k : SHARDS) {
+                if (k < vmCount) {
+                    policies.add(new ShardedPolicy(k, LoadAwarePolicy.BROKER_DEFAULT));
+                }
+            }
+
+            ReplayWorkload[] scaled = new ReplayWorkload[workloads.length];
+            for (int w = 0; w < workloads.length; w++) {
+                scaled[w] = workloads[w].replicate(copies, ARRIVAL_JITTER, SEED + w);
+            }
+            compare(String.format("%d VMs, every scenario replicated %dx", vmCount, copies), names, scaled,
+                    ReplayVms.of(vmCount, SimulationMain.VM_MIPS, SimulationMain.VM_PES), policies);
+        }
+    }
+
+    private static void compare(String title, String[] names, ReplayWorkload[] workloads,
+                                ReplayVms vms, List<VmSelectionPolicy> policies) {
+        System.out.println("\n" + "=".repeat(140));
+        System.out.println("SHARDED vs GLOBAL BROKER (mapping on arrival): " + title);
+        System.out.println("=".repeat(140));
+        System.out.printf("%-12s %-62s %10s %10s %10s %10s %10s %12s%n",
+                "Workload", "Policy", "Avg WT", "Avg RT", "p99 WT", "Makespan", "p99 vs 1", "us/decision");
+
+        for (int w = 0; w < workloads.length; w++) {
+            ReplayEngine engine = new ReplayEngine(workloads[w], vms).setMapOnArrival(true);
+            double globalP99 = Double.NaN;
+            for (VmSelectionPolicy policy : policies) {
+                TimedPolicy timed = new TimedPolicy(policy);
+                ReplayResult result = engine.run(timed);
+                if (Double.isNaN(globalP99)) {
+                    globalP99 = result.getP99WaitingTime();
+                }
+                System.out.printf("%-12s %-62s %10.4f %10.4f %10.4f %10.4f %+9.1fs %12.3f%n",
+                        names[w], policy, result.getAverageWaitingTime(), result.getAverageResponseTime(),
+                        result.getP99WaitingTime(), result.getMakespan(),
+                        result.getP99WaitingTime() - globalP99, timed.getNanos() / 1e3 / workloads[w].size());
+            }
+            System.out.println("-".repeat(140));
+        }
+    }
+}
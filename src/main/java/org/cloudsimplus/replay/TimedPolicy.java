@@ -0,0 +1,35 @@
+package org.cloudsimplus.replay;
+
+/**
+ * Measures the wall-clock time a policy spends in its decisions.
+ */
+final class TimedPolicy implements VmSelectionPolicy {
+    private final VmSelectionPolicy policy;
+    private long nanos;
+
+    TimedPolicy(VmSelectionPolicy policy) {
+        this.policy = policy;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public void onReplayStart(ReplayContext context) {
+        policy.onReplayStart(context);
+    }
+
+    @Override
+    public int selectVm(ReplayContext context, int cloudlet) {
+        long start = System.nanoTime();
+        int vm = policy.selectVm(context, cloudlet);
+        nanos += System.nanoTime() - start;
+        return vm;
+    }
+
+    @Override
+    public void onCloudletFinished(ReplayContext context, int cloudlet, int vm) {
+        policy.onCloudletFinished(context, cloudlet, vm);
+    }
+}
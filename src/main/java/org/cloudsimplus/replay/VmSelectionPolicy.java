@@ -0,0 +1,30 @@
+package org.cloudsimplus.replay;
+
+/**
+ * A VM selection policy that can be evaluated by the {@link ReplayEngine}.
+ *
+ * Implementations read cloudlet and VM state from the {@link ReplayContext}
+ * and return the index of the chosen VM.
+ */
+@FunctionalInterface
+public interface VmSelectionPolicy {
+
+    /**
+     * @param context state of the replay at decision time
+     * @param cloudlet index of the cloudlet being mapped
+     * @return index of the chosen VM in [0, context.getVmCount())
+     */
+    int selectVm(ReplayContext context, int cloudlet);
+
+    /**
+     * Called before every replay, for policies that keep state of their own.
+     */
+    default void onReplayStart(ReplayContext context) {
+    }
+
+    /**
+     * Called when a cloudlet finishes on the VM the policy selected.
+     */
+    default void onCloudletFinished(ReplayContext context, int cloudlet, int vm) {
+    }
+}
@@ -0,0 +1,243 @@
+package org.cloudsimplus.results;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Self-contained HTML report of a sweep, rewritten after every run.
+ *
+ * The page holds the summary table, one percentile table per broker, a
+ * deadline table for the runs that had deadlines and the run data as compact
+ * JSON, from which a small inline script draws the charts
+ * as SVG. Nothing is loaded from outside the file, so it can be shared as is.
+ *
+ * Each run's table rows and JSON row are formatted once when it is added; an
+ * update only concatenates them and replaces the file atomically, so a browser
+ * never sees a half-written report. While the sweep runs, the page reloads
+ * itself every few seconds; {@link #finish()} writes the final version without
+ * the reload.
+ */
+public class HtmlReportWriter {
+
+    private static final int REFRESH_SECONDS = 5;
+
+    private final Path file;
+    private final String title;
+    private final List<String> summaryRows = new ArrayList<>();
+    private final List<String> jsonRows = new ArrayList<>();
+    // broker (label part after the workload) -> formatted percentile rows
+    private final Map<String, StringBuilder> percentileRows = new LinkedHashMap<>();
+    private final List<String> deadlineRows = new ArrayList<>();
+
+    public HtmlReportWriter(Path file, String title) {
+        this.file = file;
+        this.title = title;
+    }
+
+    /**
+     * Adds a finished run and rewrites the report.
+     */
+    public void add(RunRecord run) throws IOException {
+        summaryRows.add(String.format(Locale.ROOT,
+                "<tr><td>%s</td><td>%s</td><td>%s</td><td>%d</td><td>%d</td><td>%.4f</td><td>%.4f</td>"
+                        + "<td>%.4f</td><td>%.4f</td><td>%.2f</td></tr>\n",
+                escape(run.label()), escape(run.broker()),
+                escape(run.variant().isEmpty() ? "default" : run.variant()), run.vmCount(), run.finishedCloudlets(),
+                run.averageWaitingTime(), run.averageResponseTime(), run.makespan(), run.throughput(),
+                (run.finishedAtMillis() - run.startedAtMillis()) / 1000.0));
+        percentileRows.computeIfAbsent(brokerOf(run), b -> new StringBuilder()).append(String.format(Locale.ROOT,
+                "<tr><td>%s</td><td>%.4f</td><td>%.4f</td><td>%.4f</td><td>%.4f</td>"
+                        + "<td>%.4f</td><td>%.4f</td><td>%.4f</td><td>%.4f</td></tr>\n",
+                escape(run.workload()),
+                run.p50WaitingTime(), run.p95WaitingTime(), run.p99WaitingTime(), run.maxWaitingTime(),
+                run.p50ResponseTime(), run.p95ResponseTime(), run.p99ResponseTime(), run.maxResponseTime()));
+        if (run.deadlineCloudlets() > 0) {
+            deadlineRows.add(String.format(Locale.ROOT,
+                    "<tr><td>%s</td><td>%s</td><td>%d / %d</td><td>%.2f</td><td>%.4f</td>"
+                            + "<td>%.4f</td><td>%.4f</td><td>%.4f</td><td>%.4f</td></tr>\n",
+                    escape(run.label()), escape(run.variant().isEmpty() ? "default" : run.variant()),
+                    run.missedDeadlines(), run.deadlineCloudlets(), run.deadlineMissRate() * 100,
+                    run.averageTardiness(), run.p50Tardiness(), run.p95Tardiness(), run.p99Tardiness(),
+                    run.maxTardiness()));
+        }
+        jsonRows.add(String.format(Locale.ROOT, "[%s,%s,%s,%s,%s,%s,%s,%s]",
+                json(run.workload()), json(brokerOf(run)),
+                json(run.averageWaitingTime()), json(run.averageResponseTime()),
+                json(run.p99WaitingTime()), json(run.p99ResponseTime()),
+                json(run.makespan()), json(run.throughput())));
+        write(true);
+    }
+
+    /**
+     * Writes the final report, which no longer reloads itself.
+     */
+    public void finish() throws IOException {
+        write(false);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void write(boolean running) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(file.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writePage(out, running);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void writePage(Writer out, boolean running) throws IOException {
+        out.write("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"utf-8\">\n");
+        if (running) {
+            out.write("<meta http-equiv=\"refresh\" content=\"" + REFRESH_SECONDS + "\">\n");
+        }
+        out.write("<title>" + escape(title) + "</title>\n");
+        out.write("""
+                <style>
+                body{font-family:sans-serif;margin:24px;color:#222}
+                table{border-collapse:collapse;margin:8px 0 24px}
+                th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}
+                th{background:#f0f0f0}td:first-child,th:first-child{text-align:left}
+                .charts{display:flex;flex-wrap:wrap;gap:16px}
+                .status{color:#666}
+                </style>
+                </head>
+                <body>
+                """);
+        out.write("<h1>" + escape(title) + "</h1>\n");
+        out.write(String.format(Locale.ROOT, "<p class=\"status\">%d runs, %s at %s</p>\n",
+                summaryRows.size(), running ? "sweep running, updated" : "completed", Instant.now()));
+
+        out.write("<h2>Charts</h2>\n<div class=\"charts\" id=\"charts\"></div>\n");
+
+        out.write("<h2>Summary</h2>\n<table>\n<tr><th>Scenario</th><th>Broker</th><th>Settings</th><th>VMs</th>"
+                + "<th>Cloudlets</th><th>Avg wait (s)</th><th>Avg response (s)</th><th>Makespan (s)</th>"
+                + "<th>Throughput (tasks/s)</th><th>Wall time (s)</th></tr>\n");
+        for (String row : summaryRows) {
+            out.write(row);
+        }
+        out.write("</table>\n");
+
+        out.write("<h2>Percentiles per broker</h2>\n");
+        for (Map.Entry<String, StringBuilder> entry : percentileRows.entrySet()) {
+            out.write("<h3>" + escape(entry.getKey()) + "</h3>\n<table>\n<tr><th>Workload</th>"
+                    + "<th>Wait p50</th><th>Wait p95</th><th>Wait p99</th><th>Wait max</th>"
+                    + "<th>Resp p50</th><th>Resp p95</th><th>Resp p99</th><th>Resp max</th></tr>\n");
+            out.append(entry.getValue());
+            out.write("</table>\n");
+        }
+
+        if (!deadlineRows.isEmpty()) {
+            out.write("<h2>Deadlines</h2>\n<table>\n<tr><th>Scenario</th><th>Settings</th><th>Missed</th>"
+                    + "<th>Miss rate (%)</th><th>Avg tardiness (s)</th><th>Tardiness p50</th>"
+                    + "<th>Tardiness p95</th><th>Tardiness p99</th><th>Tardiness max</th></tr>\n");
+            for (String row : deadlineRows) {
+                out.write(row);
+            }
+            out.write("</table>\n");
+        }
+
+        out.write("<script type=\"application/json\" id=\"data\">[");
+        for (int i = 0; i < jsonRows.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(jsonRows.get(i));
+        }
+        out.write("]</script>\n");
+        out.write("""
+                <script>
+                // Rows: [workload, broker, avgWT, avgRT, p99WT, p99RT, makespan, throughput]
+                const rows = JSON.parse(document.getElementById('data').textContent);
+                const metrics = [['Avg waiting time (s)', 2], ['Avg response time (s)', 3],
+                    ['p99 waiting time (s)', 4], ['p99 response time (s)', 5],
+                    ['Makespan (s)', 6], ['Throughput (tasks/s)', 7]];
+                const workloads = [...new Set(rows.map(r => r[0]))];
+                const brokers = [...new Set(rows.map(r => r[1]))];
+                const color = i => `hsl(${(i * 137.5) % 360},60%,50%)`;
+                const esc = s => String(s).replace(/&/g, '&amp;').replace(/</g, '&lt;');
+                const latest = new Map(rows.map(r => [r[0] + '\\u0000' + r[1], r]));
+                for (const [name, col] of metrics) {
+                    const w = Math.max(320, 60 + workloads.length * (brokers.length * 12 + 16)), h = 240;
+                    const plotH = h - 70, groupW = (w - 50) / Math.max(1, workloads.length);
+                    const barW = (groupW - 16) / Math.max(1, brokers.length);
+                    const max = Math.max(1e-9, ...rows.map(r => r[col] ?? 0));
+                    let svg = `<svg width="${w}" height="${h}" font-size="11"><text x="${w / 2}" y="14"
+                        text-anchor="middle" font-weight="bold">${name}</text>`;
+                    workloads.forEach((wl, g) => {
+                        const gx = 40 + g * groupW + 8;
+                        brokers.forEach((b, i) => {
+                            const r = latest.get(wl + '\\u0000' + b);
+                            if (!r || r[col] == null) return;
+                            const bh = plotH * r[col] / max;
+                            svg += `<rect x="${gx + i * barW}" y="${20 + plotH - bh}" width="${barW - 1}"
+                                height="${bh}" fill="${color(i)}"><title>${esc(wl)} / ${esc(b)}: ${r[col]}</title></rect>`;
+                        });
+                        svg += `<text x="${gx + (groupW - 16) / 2}" y="${36 + plotH}" text-anchor="middle">${esc(wl)}</text>`;
+                    });
+                    svg += `<line x1="40" y1="${20 + plotH}" x2="${w - 10}" y2="${20 + plotH}" stroke="#888"/>`
+                        + `<text x="36" y="26" text-anchor="end">${max.toPrecision(3)}</text>`;
+                    brokers.forEach((b, i) => {
+                        svg += `<rect x="${40 + i * 110}" y="${h - 22}" width="10" height="10" fill="${color(i)}"/>`
+                            + `<text x="${54 + i * 110}" y="${h - 13}">${esc(b)}</text>`;
+                    });
+                    document.getElementById('charts').insertAdjacentHTML('beforeend', svg + '</svg>');
+                }
+                </script>
+                </body>
+                </html>
+                """);
+    }
+
+    /** Broker part of the label ("W3-Aging" -> "Aging"), or the broker class name */
+    private static String brokerOf(RunRecord run) {
+        int dash = run.label().indexOf('-');
+        return dash > 0 ? run.label().substring(dash + 1) : run.broker();
+    }
+
+    private static String json(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.6g", value) : "null";
+    }
+
+    private static String json(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                // Keeps the JSON from closing its script element
+                case '<' -> sb.append("\\u003c");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,89 @@
+package org.cloudsimplus.results;
+
+import org.cloudsimplus.chart.ChartPlotter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line tool for the {@link ResultsStore}.
+ *
+ * <pre>
+ * ResultsCli report     [storeDir] [png|svg]   summary table and charts from stored runs
+ * ResultsCli export-csv [storeDir] [file.csv]  all stored runs as CSV
+ * ResultsCli timeseries &lt;file.vmtrace&gt; [maxPoints] [png|svg]  downsampled VM time series
+ * </pre>
+ *
+ * The store directory defaults to {@code simulation_results/store}. The report
+ * honours the same {@code sim.chart.log} and {@code sim.chart.baseline} properties
+ * as {@link org.cloudsimplus.SimulationMain}.
+ */
+public class ResultsCli {
+
+    public static final Path DEFAULT_STORE = Path.of("simulation_results", "store");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            printUsage();
+            System.exit(1);
+        }
+
+        if (args[0].equals("timeseries")) {
+            plotTimeSeries(args);
+            return;
+        }
+
+        Path storeDir = args.length > 1 ? Path.of(args[1]) : DEFAULT_STORE;
+        long start = System.nanoTime();
+        List<RunRecord> records = new ResultsStore(storeDir).load();
+        System.out.printf("[ResultsCli] Loaded %d runs from %s in %.2f ms%n",
+                records.size(), storeDir, (System.nanoTime() - start) / 1e6);
+
+        switch (args[0]) {
+            case "report" -> {
+                ChartPlotter plotter = new ChartPlotter()
+                        .setHeadless(true)
+                        .setOutputFormat(ChartPlotter.OutputFormat.valueOf(
+                                (args.length > 2 ? args[2] : "png").toUpperCase()))
+                        .setLogScale(Boolean.getBoolean("sim.chart.log"))
+                        .setBaselineBroker(System.getProperty("sim.chart.baseline"));
+                records.forEach(plotter::addResult);
+                plotter.printSummaryTable();
+                plotter.plotAllCharts();
+            }
+            case "export-csv" -> {
+                Path file = args.length > 2 ? Path.of(args[2]) : Path.of("simulation_results", "results.csv");
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    ResultsStore.exportCsv(records, writer);
+                }
+                System.out.println("[ResultsCli] CSV written to " + file);
+            }
+            default -> {
+                printUsage();
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void plotTimeSeries(String[] args) {
+        if (args.length < 2) {
+            printUsage();
+            System.exit(1);
+        }
+        int maxPoints = args.length > 2 ? Integer.parseInt(args[2]) : ChartPlotter.DEFAULT_TIME_SERIES_POINTS;
+        new ChartPlotter()
+                .setOutputFormat(ChartPlotter.OutputFormat.valueOf((args.length > 3 ? args[3] : "png").toUpperCase()))
+                .plotTimeSeries(Path.of(args[1]), maxPoints);
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  ResultsCli report     [storeDir] [png|svg]");
+        System.out.println("  ResultsCli export-csv [storeDir] [file.csv]");
+        System.out.println("  ResultsCli timeseries <file.vmtrace> [maxPoints] [png|svg]");
+    }
+}
@@ -0,0 +1,348 @@
+package org.cloudsimplus.results;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Append-only columnar store of {@link RunRecord}s.
+ *
+ * Each record component is kept in its own file {@code <name>.col} inside
+ * the store directory, and so is each component of a record nested in it
+ * (the run's {@link RunRecord.Config}): longs and doubles as fixed 8-byte big-endian values,
+ * booleans as one byte, strings as an int length followed by UTF-8 bytes.
+ * Appending a run adds one value to every column; loading reads each column
+ * file in one go.
+ *
+ * Rows are committed by the row count in {@code rows}, replaced atomically
+ * once every column of a row is written. Loading reads only committed rows,
+ * and opening the store truncates every column to them, so a row only
+ * partially written (e.g. the JVM died mid-append) is dropped instead of
+ * shifting the columns of every later row.
+ *
+ * The schema (column names and types) follows {@link RunRecord} and is saved
+ * in {@code schema.txt}, so a store written with a different schema is rejected.
+ */
+public class ResultsStore {
+
+    private static final String SCHEMA_FILE = "schema.txt";
+    private static final String ROWS_FILE = "rows";
+    private static final String COLUMN_SUFFIX = ".col";
+
+    private static final Column[] COLUMNS = columns(RunRecord.class, new ArrayList<>()).toArray(Column[]::new);
+
+    /**
+     * A stored value: a component of {@link RunRecord}, or of a record nested
+     * in it, reached through the accessors along {@code path}.
+     */
+    private record Column(String name, Class<?> type, RecordComponent[] path) {
+        Object read(RunRecord record) {
+            Object value = record;
+            try {
+                for (RecordComponent component : path) {
+                    value = component.getAccessor().invoke(value);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read column " + name, e);
+            }
+            return value;
+        }
+    }
+
+    private final Path directory;
+    private long rows;
+
+    /**
+     * Opens (creating if needed) a store in the given directory and drops
+     * any row that was not committed.
+     *
+     * @throws IOException if the directory holds a store with another schema
+     */
+    public ResultsStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        Path schemaFile = directory.resolve(SCHEMA_FILE);
+        String schema = schema();
+        if (Files.exists(schemaFile)) {
+            String existing = Files.readString(schemaFile, StandardCharsets.UTF_8);
+            if (!existing.equals(schema)) {
+                throw new IOException("Results store " + directory + " has an incompatible schema");
+            }
+        } else {
+            Files.writeString(schemaFile, schema, StandardCharsets.UTF_8);
+        }
+
+        rows = committedRows();
+        for (Column column : COLUMNS) {
+            truncate(column, rows);
+        }
+        writeRows(rows);
+    }
+
+    /**
+     * Appends one run to every column and commits it. If writing fails, the
+     * columns are cut back to the committed rows.
+     */
+    public synchronized void append(RunRecord record) throws IOException {
+        try {
+            for (Column column : COLUMNS) {
+                appendValue(column, record);
+            }
+        } catch (IOException e) {
+            for (Column column : COLUMNS) {
+                try {
+                    truncate(column, rows);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        writeRows(rows + 1);
+        rows++;
+    }
+
+    private void appendValue(Column column, RunRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        Object value = column.read(record);
+
+        if (column.type() == String.class) {
+            byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        } else if (column.type() == long.class) {
+            out.writeLong((Long) value);
+        } else if (column.type() == boolean.class) {
+            out.writeBoolean((Boolean) value);
+        } else {
+            out.writeDouble((Double) value);
+        }
+
+        Files.write(columnFile(column), bytes.toByteArray(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Loads all committed runs, in append order.
+     */
+    public synchronized List<RunRecord> load() throws IOException {
+        // Count first: columns written after it may hold rows it doesn't commit yet
+        long committed = Files.exists(directory.resolve(ROWS_FILE)) ? readRows() : rows;
+        Object[][] columns = new Object[COLUMNS.length][];
+        int count = (int) Math.min(committed, Integer.MAX_VALUE);
+
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columns[c] = decode(COLUMNS[c].type(), readColumn(COLUMNS[c]));
+            count = Math.min(count, columns[c].length);
+        }
+
+        List<RunRecord> records = new ArrayList<>(count);
+        Object[] row = new Object[COLUMNS.length];
+        for (int r = 0; r < count; r++) {
+            for (int c = 0; c < COLUMNS.length; c++) {
+                row[c] = columns[c][r];
+            }
+            records.add((RunRecord) build(RunRecord.class, row, new int[1]));
+        }
+        return records;
+    }
+
+    /**
+     * Writes the runs as CSV, one column per stored value.
+     */
+    public static void exportCsv(List<RunRecord> records, Writer out) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (Column column : COLUMNS) {
+            if (line.length() > 0) {
+                line.append(',');
+            }
+            line.append(column.name());
+        }
+        out.write(line.append('\n').toString());
+
+        for (RunRecord record : records) {
+            line.setLength(0);
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (c > 0) {
+                    line.append(',');
+                }
+                Object value = COLUMNS[c].read(record);
+                if (value instanceof String text) {
+                    line.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value instanceof Double number) {
+                    line.append(String.format(Locale.ROOT, "%.6f", number));
+                } else {
+                    line.append(value);
+                }
+            }
+            out.write(line.append('\n').toString());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path columnFile(Column column) {
+        return directory.resolve(column.name() + COLUMN_SUFFIX);
+    }
+
+    private ByteBuffer readColumn(Column column) throws IOException {
+        Path file = columnFile(column);
+        return ByteBuffer.wrap(Files.exists(file) ? Files.readAllBytes(file) : new byte[0]);
+    }
+
+    /**
+     * Rows committed by the row count, or, in a store written before there
+     * was one, the complete rows of the shortest column. Never more than
+     * every column holds.
+     */
+    private long committedRows() throws IOException {
+        long committed = Files.exists(directory.resolve(ROWS_FILE)) ? readRows() : Long.MAX_VALUE;
+        for (Column column : COLUMNS) {
+            committed = Math.min(committed, decode(column.type(), readColumn(column)).length);
+        }
+        return committed == Long.MAX_VALUE ? 0 : committed;
+    }
+
+    private long readRows() throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(ROWS_FILE)));
+        return buf.remaining() >= Long.BYTES ? buf.getLong() : 0;
+    }
+
+    private void writeRows(long count) throws IOException {
+        Path file = directory.resolve(ROWS_FILE);
+        Path temp = directory.resolve(ROWS_FILE + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(count).array());
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Cuts a column file down to its first {@code count} values */
+    private void truncate(Column column, long count) throws IOException {
+        Path file = columnFile(column);
+        if (!Files.exists(file)) {
+            return;
+        }
+        long length;
+        Class<?> type = column.type();
+        if (type == long.class || type == double.class) {
+            length = count * Long.BYTES;
+        } else if (type == boolean.class) {
+            length = count;
+        } else {
+            ByteBuffer buf = readColumn(column);
+            for (long r = 0; r < count; r++) {
+                buf.position(buf.position() + Integer.BYTES + buf.getInt(buf.position()));
+            }
+            length = buf.position();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (channel.size() > length) {
+                channel.truncate(length);
+            }
+        }
+    }
+
+    private static Object[] decode(Class<?> type, ByteBuffer buf) {
+        if (type == long.class) {
+            Long[] values = new Long[buf.remaining() / Long.BYTES];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buf.getLong();
+            }
+            return values;
+        }
+        if (type == double.class) {
+            Double[] values = new Double[buf.remaining() / Double.BYTES];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buf.getDouble();
+            }
+            return values;
+        }
+        if (type == boolean.class) {
+            Boolean[] values = new Boolean[buf.remaining()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buf.get() != 0;
+            }
+            return values;
+        }
+
+        List<String> values = new ArrayList<>();
+        while (buf.remaining() >= Integer.BYTES) {
+            int length = buf.getInt();
+            if (length < 0 || length > buf.remaining()) {
+                break;
+            }
+            byte[] utf8 = new byte[length];
+            buf.get(utf8);
+            values.add(new String(utf8, StandardCharsets.UTF_8));
+        }
+        return values.toArray();
+    }
+
+    /** Columns of a record type, nested records flattened in component order */
+    private static List<Column> columns(Class<?> type, List<RecordComponent> path) {
+        List<Column> columns = new ArrayList<>();
+        for (RecordComponent component : type.getRecordComponents()) {
+            path.add(component);
+            if (component.getType().isRecord()) {
+                columns.addAll(columns(component.getType(), path));
+            } else {
+                columns.add(new Column(component.getName(), component.getType(),
+                        path.toArray(RecordComponent[]::new)));
+            }
+            path.remove(path.size() - 1);
+        }
+        return columns;
+    }
+
+    /**
+     * Creates a record of the given type through its canonical constructor,
+     * from the row values at {@code next[0]} on, in column order, and moves
+     * {@code next[0]} past the values used.
+     */
+    private static Object build(Class<?> type, Object[] row, int[] next) {
+        RecordComponent[] components = type.getRecordComponents();
+        Object[] args = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            args[i] = components[i].getType().isRecord()
+                    ? build(components[i].getType(), row, next)
+                    : row[next[0]++];
+        }
+        Class<?>[] types = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(types);
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+
+    private static String schema() {
+        StringBuilder schema = new StringBuilder();
+        for (Column column : COLUMNS) {
+            schema.append(column.name()).append(':').append(column.type().getSimpleName()).append('\n');
+        }
+        return schema.toString();
+    }
+}
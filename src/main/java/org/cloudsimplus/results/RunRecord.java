@@ -0,0 +1,162 @@
+package org.cloudsimplus.results;
+
+import org.cloudsimplus.examples.DynamicAvAgingLoadAwareBroker;
+import org.cloudsimplus.examples.PlacementPlanner;
+import org.cloudsimplus.metrics.MetricsCollector;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One simulation run as kept in the {@link ResultsStore}: run configuration,
+ * every metric computed by {@link MetricsCollector} and timestamps.
+ *
+ * @param label scenario label, e.g. "W3-Aging"
+ * @param workload workload part of the label, e.g. "W3"
+ * @param broker broker class name
+ * @param vmCount number of VMs
+ * @param cloudletCount number of submitted cloudlets
+ * @param config settings of the run that affect its results
+ * @param startedAtMillis wall-clock start of the run (epoch millis)
+ * @param finishedAtMillis wall-clock end of the run (epoch millis)
+ * @param simulatedTime final simulation clock in seconds
+ * @param deadlineCloudlets finished cloudlets that had a deadline, 0 without deadlines
+ * @param missedDeadlines those of them that finished after their deadline
+ * @param deadlineMissRate missed share of the cloudlets with a deadline
+ * @param averageTardiness mean of max(0, finish - deadline) in seconds
+ */
+public record RunRecord(
+        String label,
+        String workload,
+        String broker,
+        long vmCount,
+        long cloudletCount,
+        Config config,
+        long startedAtMillis,
+        long finishedAtMillis,
+        double simulatedTime,
+        long finishedCloudlets,
+        double averageWaitingTime,
+        double averageResponseTime,
+        double makespan,
+        double throughput,
+        double minWaitingTime,
+        double maxWaitingTime,
+        double minResponseTime,
+        double maxResponseTime,
+        double p50WaitingTime,
+        double p95WaitingTime,
+        double p99WaitingTime,
+        double p50ResponseTime,
+        double p95ResponseTime,
+        double p99ResponseTime,
+        long deadlineCloudlets,
+        long missedDeadlines,
+        double deadlineMissRate,
+        double averageTardiness,
+        double maxTardiness,
+        double p50Tardiness,
+        double p95Tardiness,
+        double p99Tardiness) {
+
+    /**
+     * Settings of a run beyond its workload and broker, as selected by the
+     * {@code sim.*} properties of {@link org.cloudsimplus.SimulationMain}.
+     * Every setting that changes the results of a run is here; the defaults
+     * of those properties are {@link #DEFAULTS}.
+     *
+     * @param vmScheduler cloudlet scheduler of the VMs: fifo, sjf or srtf
+     * @param vmPes PEs of every VM
+     * @param vmBw bandwidth of the VMs in Mbps, cycled over them, e.g. "1000,500"
+     * @param workStealing whether idle VMs stole waiting cloudlets
+     * @param mapOnArrival whether cloudlets were mapped when they arrived
+     * @param lengthPredictor predictor of cloudlet lengths, or "" for true lengths
+     * @param predictionSigma log-normal noise of the user length estimates
+     * @param jobMix whether the workload was reshaped into multi-PE jobs
+     * @param transfer whether data transfers over the VM links were modelled
+     * @param transferWeight aging broker's weight of the transfer time
+     * @param heavyIoShare share of heavy-I/O cloudlets, 0 for none
+     * @param deadlineStretch deadline stretch factor or range, or "" without deadlines
+     * @param deadlineAdmission whether the deadline brokers used admission control
+     * @param autoscale whether VMs were added and removed with the backlog
+     * @param selfTuneTarget p99 waiting time target of the self-tuning broker, 0 when off
+     * @param powerOfD VMs sampled by the power-of-d-choices broker, 0 when it did not run
+     * @param planBudgetMillis milliseconds the placement planners could take per batch
+     */
+    public record Config(String vmScheduler, long vmPes, String vmBw, boolean workStealing,
+                         boolean mapOnArrival, String lengthPredictor, double predictionSigma,
+                         boolean jobMix, boolean transfer, double transferWeight, double heavyIoShare,
+                         String deadlineStretch, boolean deadlineAdmission, boolean autoscale,
+                         double selfTuneTarget, long powerOfD, long planBudgetMillis) {
+
+        /** Settings of a run without any {@code sim.*} property */
+        public static final Config DEFAULTS = new Config("fifo", 2, "1000", false,
+                false, "", 0.5,
+                false, false, DynamicAvAgingLoadAwareBroker.DEFAULT_TRANSFER_WEIGHT, 0,
+                "", true, false,
+                0, 0, PlacementPlanner.DEFAULT_BUDGET_MILLIS);
+
+        /**
+         * Short description of the settings that differ from {@link #DEFAULTS},
+         * e.g. "vmScheduler=srtf, workStealing, lengthPredictor=ewma", or "" for
+         * a default run.
+         */
+        public String variant() {
+            List<String> parts = new ArrayList<>();
+            for (RecordComponent component : Config.class.getRecordComponents()) {
+                Object value = valueOf(component, this);
+                if (value.equals(valueOf(component, DEFAULTS))) {
+                    continue;
+                }
+                parts.add(Boolean.TRUE.equals(value) ? component.getName() : component.getName() + "=" + value);
+            }
+            return String.join(", ", parts);
+        }
+
+        private static Object valueOf(RecordComponent component, Config config) {
+            try {
+                return component.getAccessor().invoke(config);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read setting " + component.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Creates a record from the configuration and metrics of a finished run.
+     * The deadline metrics are those of the last
+     * {@link MetricsCollector#collectDeadlineMetrics} call, zero without one.
+     */
+    public static RunRecord of(String label, String broker, int vmCount, int cloudletCount, Config config,
+                               long startedAtMillis, long finishedAtMillis, double simulatedTime,
+                               MetricsCollector m) {
+        int dash = label.indexOf('-');
+        String workload = dash > 0 ? label.substring(0, dash) : label;
+        return new RunRecord(label, workload, broker, vmCount, cloudletCount, config, startedAtMillis, finishedAtMillis, simulatedTime, m.getTotalCloudlets(),
+                m.getAverageWaitingTime(), m.getAverageResponseTime(), m.getMakespan(), m.getThroughput(),
+                m.getMinWaitingTime(), m.getMaxWaitingTime(), m.getMinResponseTime(), m.getMaxResponseTime(),
+                m.getP50WaitingTime(), m.getP95WaitingTime(), m.getP99WaitingTime(),
+                m.getP50ResponseTime(), m.getP95ResponseTime(), m.getP99ResponseTime(),
+                m.getDeadlineCloudlets(), m.getMissedDeadlines(), m.getDeadlineMissRate(),
+                m.getAverageTardiness(), m.getMaxTardiness(),
+                m.getP50Tardiness(), m.getP95Tardiness(), m.getP99Tardiness());
+    }
+
+    /**
+     * Short description of the settings that differ from the defaults,
+     * or "" for a default run (see {@link Config#variant()}).
+     */
+    public String variant() {
+        return config.variant();
+    }
+
+    /**
+     * The label with the variant appended ("W3-Aging [srtf]"), so runs of the
+     * same scenario with different settings stay apart in charts.
+     */
+    public String variantLabel() {
+        String variant = variant();
+        return variant.isEmpty() ? label : label + " [" + variant + "]";
+    }
+}
@@ -0,0 +1,48 @@
+package org.cloudsimplus.scenario;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Turns a share of the cloudlets of a workload into heavy-I/O jobs, as the
+ * scenarios give every cloudlet the same small input and output.
+ *
+ * A heavy-I/O cloudlet gets an input drawn uniformly from
+ * [{@value #MIN_HEAVY_INPUT}, {@value #MAX_HEAVY_INPUT}] MB and an output
+ * from [{@value #MIN_HEAVY_OUTPUT}, {@value #MAX_HEAVY_OUTPUT}] MB, so
+ * staging its input over a 1 Gbps VM link takes 4 to 20 s, as long as
+ * running a medium or long task. The other cloudlets keep their sizes, and
+ * lengths are unchanged.
+ */
+public class DataSizes {
+
+    public static final long MIN_HEAVY_INPUT = 500;
+    public static final long MAX_HEAVY_INPUT = 2500;
+    public static final long MIN_HEAVY_OUTPUT = 100;
+    public static final long MAX_HEAVY_OUTPUT = 500;
+
+    private DataSizes() {
+    }
+
+    /**
+     * Makes cloudlets heavy-I/O in place.
+     *
+     * @param heavyShare share of the cloudlets that become heavy-I/O
+     */
+    public static List<Cloudlet> apply(List<Cloudlet> cloudlets, double heavyShare, long seed) {
+        if (heavyShare < 0 || heavyShare > 1) {
+            throw new IllegalArgumentException("Heavy-I/O share must be in [0, 1]: " + heavyShare);
+        }
+        Random random = new Random(seed);
+        for (Cloudlet cloudlet : cloudlets) {
+            if (random.nextDouble() < heavyShare) {
+                cloudlet.setFileSize(MIN_HEAVY_INPUT + (long) (random.nextDouble() * (MAX_HEAVY_INPUT - MIN_HEAVY_INPUT)));
+                cloudlet.setOutputSize(MIN_HEAVY_OUTPUT
+                        + (long) (random.nextDouble() * (MAX_HEAVY_OUTPUT - MIN_HEAVY_OUTPUT)));
+            }
+        }
+        return cloudlets;
+    }
+}
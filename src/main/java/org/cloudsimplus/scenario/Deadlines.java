@@ -0,0 +1,78 @@
+package org.cloudsimplus.scenario;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deadlines for the cloudlets of a workload, which the scenarios don't set.
+ *
+ * A cloudlet's deadline is its arrival (submission delay) plus a stretch
+ * factor times its ideal runtime, the time it would take alone on a VM of
+ * the reference MIPS at its CPU utilization u_i:
+ *
+ *   deadline_i = arrival_i + stretch_i · L_i / (MIPS_ref · u_i)
+ *
+ * The stretch is either the same for every cloudlet or drawn uniformly
+ * per cloudlet. Deadlines are absolute simulation times.
+ */
+public class Deadlines {
+
+    private final Map<Cloudlet, Double> deadlines;
+
+    private Deadlines(Map<Cloudlet, Double> deadlines) {
+        this.deadlines = deadlines;
+    }
+
+    /**
+     * @param stretch multiple of the ideal runtime every cloudlet gets
+     * @param referenceMips MIPS of the VM the ideal runtime is measured on
+     */
+    public static Deadlines stretch(List<? extends Cloudlet> cloudlets, double stretch, double referenceMips) {
+        return uniformStretch(cloudlets, stretch, stretch, referenceMips, 0);
+    }
+
+    /**
+     * @param minStretch smallest multiple of the ideal runtime a cloudlet gets
+     * @param maxStretch largest multiple of the ideal runtime a cloudlet gets
+     * @param referenceMips MIPS of the VM the ideal runtime is measured on
+     */
+    public static Deadlines uniformStretch(List<? extends Cloudlet> cloudlets, double minStretch, double maxStretch,
+                                           double referenceMips, long seed) {
+        if (minStretch < 1 || maxStretch < minStretch || referenceMips <= 0) {
+            throw new IllegalArgumentException(
+                    "Need 1 <= min stretch <= max stretch and positive MIPS: %s, %s, %s"
+                            .formatted(minStretch, maxStretch, referenceMips));
+        }
+        Random random = new Random(seed);
+        Map<Cloudlet, Double> deadlines = new IdentityHashMap<>();
+        for (Cloudlet cloudlet : cloudlets) {
+            double stretch = minStretch + (maxStretch - minStretch) * random.nextDouble();
+            double utilization = cloudlet.getUtilizationOfCpu(cloudlet.getSubmissionDelay());
+            double ideal = cloudlet.getLength() / (referenceMips * (utilization > 0 ? utilization : 1));
+            deadlines.put(cloudlet, cloudlet.getSubmissionDelay() + stretch * ideal);
+        }
+        return new Deadlines(deadlines);
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    /** @return true if the cloudlet has a deadline */
+    public boolean has(Cloudlet cloudlet) {
+        return deadlines.containsKey(cloudlet);
+    }
+
+    /** @return the absolute deadline of a cloudlet this was generated for */
+    public double getDeadline(Cloudlet cloudlet) {
+        Double deadline = deadlines.get(cloudlet);
+        if (deadline == null) {
+            throw new IllegalArgumentException("No deadline for " + cloudlet);
+        }
+        return deadline;
+    }
+}
@@ -0,0 +1,80 @@
+package org.cloudsimplus.scenario;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.utilizationmodels.UtilizationModelDynamic;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reshapes the cloudlets of a workload into a mix of multi-PE and
+ * partial-utilization jobs, as the scenarios only create single-PE
+ * cloudlets that use their PE fully.
+ *
+ * Each cloudlet gets 1, 2 or 4 PEs with the given weights (capped at the
+ * largest VM), and its length, which is per PE, is divided by its PEs so
+ * the total work of the workload stays the same. A share of the cloudlets
+ * also gets a CPU utilization drawn uniformly from [min, max] instead of
+ * full utilization, so each of its PEs runs at that fraction of the MIPS.
+ */
+public class JobShapes {
+
+    public static final int[] PES = {1, 2, 4};
+    public static final double[] PES_WEIGHTS = {0.6, 0.3, 0.1};
+    public static final double PARTIAL_SHARE = 0.3;
+    public static final double MIN_UTILIZATION = 0.25;
+    public static final double MAX_UTILIZATION = 0.75;
+
+    private JobShapes() {
+    }
+
+    /**
+     * Reshapes the cloudlets in place with the default mix.
+     *
+     * @param maxPes most PEs a cloudlet may get, usually the PEs of the largest VM
+     */
+    public static List<Cloudlet> apply(List<Cloudlet> cloudlets, int maxPes, long seed) {
+        return apply(cloudlets, maxPes, PES_WEIGHTS, PARTIAL_SHARE, seed);
+    }
+
+    /**
+     * Reshapes the cloudlets in place.
+     *
+     * @param maxPes most PEs a cloudlet may get, usually the PEs of the largest VM
+     * @param pesWeights weight of 1, 2 and 4 PEs
+     * @param partialShare share of the cloudlets that don't use their PEs fully
+     */
+    public static List<Cloudlet> apply(List<Cloudlet> cloudlets, int maxPes, double[] pesWeights,
+                                       double partialShare, long seed) {
+        if (maxPes < 1 || pesWeights.length != PES.length || partialShare < 0 || partialShare > 1) {
+            throw new IllegalArgumentException(
+                    "Need at least one PE, %d PE weights and a share in [0, 1]: %d, %d, %s"
+                            .formatted(PES.length, maxPes, pesWeights.length, partialShare));
+        }
+        double totalWeight = 0;
+        for (double weight : pesWeights) {
+            totalWeight += weight;
+        }
+        Random random = new Random(seed);
+        for (Cloudlet cloudlet : cloudlets) {
+            int pes = Math.min(maxPes, drawPes(random.nextDouble() * totalWeight, pesWeights));
+            cloudlet.setLength(Math.max(1, Math.round((double) cloudlet.getLength() / pes)));
+            cloudlet.setPesNumber(pes);
+            if (random.nextDouble() < partialShare) {
+                double utilization = MIN_UTILIZATION + (MAX_UTILIZATION - MIN_UTILIZATION) * random.nextDouble();
+                cloudlet.setUtilizationModelCpu(new UtilizationModelDynamic(utilization));
+            }
+        }
+        return cloudlets;
+    }
+
+    private static int drawPes(double point, double[] weights) {
+        for (int i = 0; i < weights.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return PES[i];
+            }
+        }
+        return PES[PES.length - 1];
+    }
+}
@@ -0,0 +1,222 @@
+package org.cloudsimplus.scheduling;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletExecution;
+import org.cloudsimplus.schedulers.cloudlet.CloudletSchedulerSpaceShared;
+import org.cloudsimplus.util.IndexedMinHeap;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Space-shared cloudlet scheduler that runs the shortest waiting job first,
+ * with aging so long jobs cannot starve.
+ *
+ * A waiting cloudlet's priority is its expected run time on one PE of the VM,
+ * which runs it at its CPU utilization times the PE's MIPS, minus {@code agingFactor} times how long it has waited; the lowest value
+ * runs next. Since every waiting cloudlet ages at the same rate, ordering by
+ * {@code runTime + agingFactor * enqueueTime} is equivalent and does not change
+ * over time, so the waiting list is a binary heap: insertion and selection are
+ * O(log n) instead of the O(n) scans of the FIFO waiting list.
+ *
+ * An aging factor of 0 gives plain SJF; larger values move towards FIFO.
+ * The head of the heap is not skipped when it needs more free PEs than are
+ * available (no backfilling).
+ */
+public class CloudletSchedulerSjfAging extends CloudletSchedulerSpaceShared {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Seconds of expected run time a cloudlet gains per second of waiting */
+    public static final double DEFAULT_AGING_FACTOR = 0.5;
+
+    private double agingFactor;
+    private final IndexedMinHeap<CloudletExecution> waitingHeap = new IndexedMinHeap<>();
+    private final List<CloudletExecution> waitingView = Collections.unmodifiableList(waitingHeap);
+
+    public CloudletSchedulerSjfAging() {
+        this(DEFAULT_AGING_FACTOR);
+    }
+
+    /**
+     * @param agingFactor seconds of expected run time a waiting cloudlet gains per second waited
+     */
+    public CloudletSchedulerSjfAging(double agingFactor) {
+        if (agingFactor < 0) {
+            throw new IllegalArgumentException("Aging factor must not be negative: " + agingFactor);
+        }
+        this.agingFactor = agingFactor;
+    }
+
+    public double getAgingFactor() {
+        return agingFactor;
+    }
+
+    /**
+     * Changes the aging factor during the run. Waiting cloudlets are
+     * re-keyed in O(n) as if they had entered the waiting list when they
+     * arrived at the VM.
+     */
+    public void setAgingFactor(double agingFactor) {
+        if (agingFactor < 0) {
+            throw new IllegalArgumentException("Aging factor must not be negative: " + agingFactor);
+        }
+        if (agingFactor == this.agingFactor) {
+            return;
+        }
+        double previous = this.agingFactor;
+        this.agingFactor = agingFactor;
+        onAgingFactorChanged(previous);
+    }
+
+    /**
+     * Re-keys the waiting cloudlets after the aging factor changed.
+     */
+    protected void onAgingFactorChanged(double previous) {
+        waitingHeap.rekey((cle, key) -> priorityKey(cle, cle.getCloudletArrivalTime()));
+    }
+
+    /**
+     * Heap key of a cloudlet entering the waiting list at the given time: lower runs first.
+     */
+    protected double priorityKey(CloudletExecution cle, double enqueueTime) {
+        return expectedRunTime(cle) + agingFactor * enqueueTime;
+    }
+
+    /**
+     * Remaining run time of a cloudlet on one PE of this scheduler's VM,
+     * which executes it at {@code u · MIPS}, u being its CPU utilization.
+     */
+    protected double expectedRunTime(CloudletExecution cle) {
+        double mips = getVm().getMips() * utilizationOf(cle);
+        return mips > 0 ? cle.getRemainingCloudletLength() / mips : cle.getRemainingCloudletLength();
+    }
+
+    /** @return CPU utilization of a cloudlet now, 1 if it reports none */
+    protected double utilizationOf(CloudletExecution cle) {
+        double utilization = cle.getCloudlet().getUtilizationOfCpu(getVm().getSimulation().clock());
+        return utilization > 0 ? utilization : 1;
+    }
+
+    /** Waiting cloudlets, in heap order */
+    IndexedMinHeap<CloudletExecution> getWaitingHeap() {
+        return waitingHeap;
+    }
+
+    @Override
+    protected void addCloudletToWaitingList(CloudletExecution cle) {
+        if (cle == CloudletExecution.NULL) {
+            return;
+        }
+        if (cle.getCloudlet().getStatus() != Cloudlet.Status.FROZEN) {
+            cle.setStatus(Cloudlet.Status.QUEUED);
+        }
+        waitingHeap.add(cle, priorityKey(cle, getVm().getSimulation().clock()));
+    }
+
+    /**
+     * @return a read-only view of the waiting cloudlets in heap (not priority) order
+     */
+    @Override
+    public List<CloudletExecution> getCloudletWaitingList() {
+        return waitingView;
+    }
+
+    @Override
+    protected double moveNextCloudletsFromWaitingToExecList(double currentTime) {
+        double nextFinishTime = Double.MAX_VALUE;
+        List<CloudletExecution> frozen = null;
+        while (!waitingHeap.isEmpty()) {
+            CloudletExecution cle = waitingHeap.peek();
+            if (cle.getCloudlet().getStatus() == Cloudlet.Status.FROZEN) {
+                // Frozen cloudlets wait in place; set aside so the next one can run
+                waitingHeap.poll();
+                if (frozen == null) {
+                    frozen = new ArrayList<>();
+                }
+                frozen.add(cle);
+                continue;
+            }
+            if (!canExecuteCloudletInternal(cle)) {
+                break;
+            }
+            waitingHeap.poll();
+            addCloudletToExecList(cle);
+            nextFinishTime = Math.min(nextFinishTime, cloudletEstimatedFinishTime(cle, currentTime));
+        }
+        if (frozen != null) {
+            frozen.forEach(cle -> waitingHeap.add(cle, priorityKey(cle, currentTime)));
+        }
+        return nextFinishTime;
+    }
+
+    @Override
+    protected Optional<CloudletExecution> findSuitableWaitingCloudlet() {
+        CloudletExecution top = waitingHeap.peek();
+        return top != null && top.getCloudlet().getStatus() != Cloudlet.Status.FROZEN
+                && canExecuteCloudletInternal(top) ? Optional.of(top) : Optional.empty();
+    }
+
+    @Override
+    protected CloudletExecution addWaitingCloudletToExecList(CloudletExecution cle) {
+        waitingHeap.remove(cle);
+        addCloudletToExecList(cle);
+        return cle;
+    }
+
+    @Override
+    protected Optional<CloudletExecution> findCloudletInAllLists(double cloudletId) {
+        return super.findCloudletInAllLists(cloudletId)
+                .or(() -> waitingHeap.stream().filter(cle -> cle.getCloudletId() == cloudletId).findFirst());
+    }
+
+    // Pausing or stopping a waiting cloudlet is rare: it is moved from the heap
+    // to the inherited waiting list, where the inherited implementation finds it.
+
+    @Override
+    public boolean cloudletPause(Cloudlet cloudlet) {
+        moveToInheritedWaitingList(cloudlet);
+        return super.cloudletPause(cloudlet);
+    }
+
+    @Override
+    public Cloudlet cloudletFail(Cloudlet cloudlet) {
+        moveToInheritedWaitingList(cloudlet);
+        return super.cloudletFail(cloudlet);
+    }
+
+    @Override
+    public Cloudlet cloudletCancel(Cloudlet cloudlet) {
+        moveToInheritedWaitingList(cloudlet);
+        return super.cloudletCancel(cloudlet);
+    }
+
+    private void moveToInheritedWaitingList(Cloudlet cloudlet) {
+        findCloudletInList(cloudlet, waitingHeap).ifPresent(cle -> {
+            waitingHeap.remove(cle);
+            super.addCloudletToWaitingList(cle);
+        });
+    }
+
+    @Override
+    public List<Cloudlet> getCloudletList() {
+        List<Cloudlet> cloudlets = new ArrayList<>(super.getCloudletList());
+        waitingHeap.forEach(cle -> cloudlets.add(cle.getCloudlet()));
+        return Collections.unmodifiableList(cloudlets);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return super.isEmpty() && waitingHeap.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        waitingHeap.clear();
+    }
+}
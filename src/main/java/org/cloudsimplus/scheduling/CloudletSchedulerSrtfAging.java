@@ -0,0 +1,234 @@
+package org.cloudsimplus.scheduling;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.cloudlets.CloudletExecution;
+import org.cloudsimplus.util.IndexedMinHeap;
+
+import java.io.Serial;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Preemptive shortest-remaining-time-first scheduler with aging.
+ *
+ * Waiting cloudlets are ordered as in {@link CloudletSchedulerSjfAging}, but
+ * aging counts from the cloudlet's arrival at the VM, so a preempted cloudlet
+ * keeps the credit it has built up. When the best waiting cloudlet's aged
+ * priority beats that of the worst running cloudlet by more than
+ * {@code minAdvantage + preemptionCost} seconds, the running one is put back
+ * in the waiting heap and the waiting one takes its PEs. A cloudlet that is
+ * preempted pays {@code preemptionCost} seconds of extra work, which models
+ * saving and restoring its state. The scheduler keeps that work, in MI, per
+ * {@link CloudletExecution}; the cloudlet's length is left alone, so metrics,
+ * predictors and listeners still see the submitted length. When the cloudlet
+ * runs again, its PEs first work off the overhead and the cloudlet makes no
+ * progress until it is paid; a processing update is requested for the moment
+ * it is.
+ *
+ * A running cloudlet progresses at its CPU utilization times one PE's MIPS,
+ * so its expected run time drops by one second per second and its expected
+ * finish time, and with it the order of the aged priorities of the running
+ * cloudlets, does not change while they run. They are kept in a second
+ * indexed heap, which makes every preemption decision O(log n).
+ *
+ * Preemption is checked whenever the VM's processing is updated. When a new
+ * cloudlet that should preempt arrives, an update is requested right away.
+ */
+public class CloudletSchedulerSrtfAging extends CloudletSchedulerSjfAging {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Aged priority advantage (seconds) the waiting cloudlet needs to preempt */
+    public static final double DEFAULT_MIN_ADVANTAGE = 1.0;
+
+    /** Extra work (seconds) a preempted cloudlet pays when it runs again */
+    public static final double DEFAULT_PREEMPTION_COST = 0.1;
+
+    private final double minAdvantage;
+    private final double preemptionCost;
+    // Running cloudlets keyed by the negated expected finish time plus aging credit,
+    // which is time-invariant while they run: top = worst
+    private final IndexedMinHeap<CloudletExecution> running = new IndexedMinHeap<>();
+    // Preemption overhead (MI of one PE) still to be worked off before the cloudlet progresses again
+    private final Map<CloudletExecution, Double> overhead = new IdentityHashMap<>();
+    private long preemptions;
+
+    public CloudletSchedulerSrtfAging() {
+        this(DEFAULT_AGING_FACTOR, DEFAULT_MIN_ADVANTAGE, DEFAULT_PREEMPTION_COST);
+    }
+
+    /**
+     * @param agingFactor seconds of expected run time a cloudlet gains per second since its arrival
+     * @param minAdvantage aged priority advantage, in seconds, a waiting cloudlet needs to preempt
+     * @param preemptionCost extra run time, in seconds, a preempted cloudlet pays
+     */
+    public CloudletSchedulerSrtfAging(double agingFactor, double minAdvantage, double preemptionCost) {
+        super(agingFactor);
+        if (minAdvantage < 0 || preemptionCost < 0) {
+            throw new IllegalArgumentException("Preemption thresholds must not be negative");
+        }
+        this.minAdvantage = minAdvantage;
+        this.preemptionCost = preemptionCost;
+    }
+
+    /** @return how many times a running cloudlet was preempted */
+    public long getPreemptions() {
+        return preemptions;
+    }
+
+    /**
+     * Ages from the arrival at the VM rather than from the last enqueue,
+     * so preempted cloudlets are not reset to the back.
+     */
+    @Override
+    protected double priorityKey(CloudletExecution cle, double enqueueTime) {
+        return expectedRunTime(cle) + getAgingFactor() * cle.getCloudletArrivalTime();
+    }
+
+    /** Includes the preemption overhead the cloudlet has yet to pay */
+    @Override
+    protected double expectedRunTime(CloudletExecution cle) {
+        Double owed = overhead.get(cle);
+        if (owed == null) {
+            return super.expectedRunTime(cle);
+        }
+        double peMips = getVm().getMips();
+        return super.expectedRunTime(cle) + (peMips > 0 ? owed / peMips : owed);
+    }
+
+    @Override
+    protected void onAgingFactorChanged(double previous) {
+        super.onAgingFactorChanged(previous);
+        double delta = getAgingFactor() - previous;
+        running.rekey((cle, key) -> key - delta * cle.getCloudletArrivalTime());
+    }
+
+    @Override
+    protected double cloudletSubmitInternal(CloudletExecution cle, double fileTransferTime) {
+        double estimatedFinishTime = super.cloudletSubmitInternal(cle, fileTransferTime);
+        double now = getVm().getSimulation().clock();
+        if (estimatedFinishTime == 0.0 && preemptionCandidate(now) != null) {
+            // Ask the datacenter for a processing update, which performs the preemption
+            return getVm().getSimulation().getMinTimeBetweenEvents();
+        }
+        return estimatedFinishTime;
+    }
+
+    @Override
+    protected void addCloudletToExecList(CloudletExecution cle) {
+        super.addCloudletToExecList(cle);
+        double now = getVm().getSimulation().clock();
+        running.add(cle, -(now + expectedRunTime(cle) + getAgingFactor() * cle.getCloudletArrivalTime()));
+    }
+
+    @Override
+    protected CloudletExecution removeCloudletFromExecList(CloudletExecution cle) {
+        running.remove(cle);
+        return super.removeCloudletFromExecList(cle);
+    }
+
+    @Override
+    protected double moveNextCloudletsFromWaitingToExecList(double currentTime) {
+        double nextFinishTime = super.moveNextCloudletsFromWaitingToExecList(currentTime);
+
+        IndexedMinHeap<CloudletExecution> waiting = getWaitingHeap();
+        for (int i = getCloudletExecList().size(); i > 0; i--) {
+            CloudletExecution victim = preemptionCandidate(currentTime);
+            if (victim == null) {
+                break;
+            }
+            CloudletExecution next = waiting.poll();
+            removeCloudletFromExecList(victim);
+            if (preemptionCost > 0) {
+                overhead.merge(victim, preemptionCost * getVm().getMips(), Double::sum);
+            }
+            addCloudletToWaitingList(victim);
+            addCloudletToExecList(next);
+            preemptions++;
+            nextFinishTime = Math.min(nextFinishTime, cloudletEstimatedFinishTime(next, currentTime));
+        }
+        return nextFinishTime;
+    }
+
+    /**
+     * Works off the preemption overhead of the cloudlet before crediting any
+     * progress to it. The update that pays the last of the overhead credits
+     * its whole time span, which {@link #cloudletEstimatedFinishTime} keeps
+     * to the minimum time between events.
+     */
+    @Override
+    protected long updateCloudletProcessing(CloudletExecution cle, double currentTime) {
+        Double owed = overhead.get(cle);
+        if (owed != null) {
+            double paid = getVm().getMips() * timeSpan(currentTime);
+            if (paid < owed * (1 - 1e-9)) {
+                overhead.put(cle, owed - paid);
+                return 0;
+            }
+            overhead.remove(cle);
+        }
+        return super.updateCloudletProcessing(cle, currentTime);
+    }
+
+    /** While overhead is owed, the next update is due when it is paid */
+    @Override
+    protected double cloudletEstimatedFinishTime(CloudletExecution cle, double currentTime) {
+        double estimate = super.cloudletEstimatedFinishTime(cle, currentTime);
+        Double owed = overhead.get(cle);
+        if (owed == null || getVm().getMips() <= 0) {
+            return estimate;
+        }
+        return Math.max(owed / getVm().getMips(), getVm().getSimulation().getMinTimeBetweenEvents());
+    }
+
+    @Override
+    protected void cloudletFinish(CloudletExecution cle) {
+        overhead.remove(cle);
+        super.cloudletFinish(cle);
+    }
+
+    @Override
+    public Cloudlet cloudletCancel(Cloudlet cloudlet) {
+        overhead.keySet().removeIf(cle -> cle.getCloudlet() == cloudlet);
+        return super.cloudletCancel(cloudlet);
+    }
+
+    /**
+     * Returns the running cloudlet the best waiting cloudlet should preempt, or null.
+     */
+    private CloudletExecution preemptionCandidate(double now) {
+        CloudletExecution victim = worstRunning();
+        CloudletExecution next = getWaitingHeap().peek();
+        if (victim == null || next == null || next.getCloudlet().getStatus() == Cloudlet.Status.FROZEN) {
+            return null;
+        }
+        if (victim.getPesNumber() + getFreePes() < next.getPesNumber()) {
+            return null;
+        }
+        // Aged priorities: victim = -runningKey - (1 + aging) * now, next = waitingKey - aging * now
+        double advantage = -running.peekKey() - getWaitingHeap().peekKey() - now;
+        return advantage > minAdvantage + preemptionCost ? victim : null;
+    }
+
+    /**
+     * Running cloudlet with the worst aged priority. Entries of cloudlets that
+     * left the execution list without {@link #removeCloudletFromExecList}
+     * (e.g. paused ones) are dropped here.
+     */
+    private CloudletExecution worstRunning() {
+        CloudletExecution top = running.peek();
+        while (top != null && top.getCloudlet().getStatus() != Cloudlet.Status.INEXEC) {
+            running.poll();
+            top = running.peek();
+        }
+        return top;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        running.clear();
+        overhead.clear();
+    }
+}
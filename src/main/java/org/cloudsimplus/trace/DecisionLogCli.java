@@ -0,0 +1,139 @@
+package org.cloudsimplus.trace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Command line tool to inspect a decision log.
+ *
+ * <pre>
+ * DecisionLogCli summary &lt;dir&gt;
+ * DecisionLogCli filter  &lt;dir&gt; [--vm N] [--cloudlet N] [--from T] [--to T]
+ *                              [--max-margin M] [--limit N]
+ * </pre>
+ *
+ * {@code summary} prints totals and per-VM statistics; {@code filter}
+ * prints matching records as CSV.
+ */
+public class DecisionLogCli {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            printUsage();
+            System.exit(1);
+        }
+
+        DecisionLogReader reader = new DecisionLogReader(Path.of(args[1]));
+        switch (args[0]) {
+            case "summary" -> summary(reader);
+            case "filter" -> filter(reader, args);
+            default -> {
+                printUsage();
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  DecisionLogCli summary <dir>");
+        System.out.println("  DecisionLogCli filter  <dir> [--vm N] [--cloudlet N] [--from T] [--to T]"
+                + " [--max-margin M] [--limit N]");
+    }
+
+    private static void summary(DecisionLogReader reader) throws IOException {
+        Map<Long, VmSummary> perVm = new TreeMap<>();
+        double[] range = {Double.MAX_VALUE, -Double.MAX_VALUE};
+        long[] totals = new long[2]; // records, close calls
+
+        reader.forEach(r -> {
+            range[0] = Math.min(range[0], r.getTimestamp());
+            range[1] = Math.max(range[1], r.getTimestamp());
+            totals[0]++;
+
+            VmSummary vm = perVm.computeIfAbsent(r.getVmId(), id -> new VmSummary());
+            vm.decisions++;
+            vm.totalLength += r.getLength();
+            vm.totalCost += r.getCost();
+            if (!Double.isNaN(r.getMargin())) {
+                vm.totalMargin += r.getMargin();
+                vm.withRunnerUp++;
+                if (r.getMargin() < 0.01 * Math.abs(r.getCost())) {
+                    totals[1]++;
+                }
+            }
+        });
+
+        System.out.println("=".repeat(80));
+        System.out.println("DECISION LOG SUMMARY");
+        System.out.println("=".repeat(80));
+        System.out.printf("Decisions           : %d%n", totals[0]);
+        if (totals[0] == 0) {
+            return;
+        }
+        System.out.printf("Time range          : %.4f - %.4f s%n", range[0], range[1]);
+        System.out.printf("Close calls (<1%%)   : %d (%.2f%%)%n", totals[1], 100.0 * totals[1] / totals[0]);
+        System.out.println("-".repeat(80));
+        System.out.printf("%-6s | %10s | %8s | %16s | %10s | %12s%n",
+                "VM", "Decisions", "Share", "Total Length MI", "Avg Cost", "Avg Margin");
+        System.out.println("-".repeat(80));
+        for (Map.Entry<Long, VmSummary> entry : perVm.entrySet()) {
+            VmSummary vm = entry.getValue();
+            System.out.printf("%-6d | %10d | %7.2f%% | %16d | %10.4f | %12.4f%n",
+                    entry.getKey(), vm.decisions, 100.0 * vm.decisions / totals[0], vm.totalLength,
+                    vm.totalCost / vm.decisions,
+                    vm.withRunnerUp > 0 ? vm.totalMargin / vm.withRunnerUp : Double.NaN);
+        }
+        System.out.println("=".repeat(80));
+    }
+
+    private static void filter(DecisionLogReader reader, String[] args) throws IOException {
+        long vmId = -1;
+        long cloudletId = -1;
+        double from = -Double.MAX_VALUE;
+        double to = Double.MAX_VALUE;
+        double maxMargin = Double.MAX_VALUE;
+        long limit = Long.MAX_VALUE;
+
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--vm" -> vmId = Long.parseLong(value);
+                case "--cloudlet" -> cloudletId = Long.parseLong(value);
+                case "--from" -> from = Double.parseDouble(value);
+                case "--to" -> to = Double.parseDouble(value);
+                case "--max-margin" -> maxMargin = Double.parseDouble(value);
+                case "--limit" -> limit = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        final long vm = vmId, cloudlet = cloudletId, max = limit;
+        final double start = from, end = to, margin = maxMargin;
+        long[] printed = {0};
+
+        System.out.println("timestamp,cloudlet,length,used_length,vm,cost,runner_up_cost");
+        reader.forEach(r -> {
+            if (printed[0] >= max
+                    || (vm >= 0 && r.getVmId() != vm)
+                    || (cloudlet >= 0 && r.getCloudletId() != cloudlet)
+                    || r.getTimestamp() < start || r.getTimestamp() > end
+                    || (margin < Double.MAX_VALUE && !(r.getMargin() <= margin))) {
+                return;
+            }
+            System.out.printf("%.6f,%d,%d,%.1f,%d,%.6f,%.6f%n", r.getTimestamp(), r.getCloudletId(),
+                    r.getLength(), r.getUsedLength(), r.getVmId(), r.getCost(), r.getRunnerUpCost());
+            printed[0]++;
+        });
+    }
+
+    private static class VmSummary {
+        long decisions;
+        long totalLength;
+        double totalCost;
+        double totalMargin;
+        long withRunnerUp;
+    }
+}
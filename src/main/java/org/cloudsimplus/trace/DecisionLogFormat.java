@@ -0,0 +1,56 @@
+package org.cloudsimplus.trace;
+
+/**
+ * On-disk layout of the scheduling decision log.
+ *
+ * A log is a directory of segment files {@code decisions-NNNNN.seg}.
+ * Each segment starts with a fixed header followed by fixed-size records:
+ *
+ * <pre>
+ * header (32 bytes):
+ *   int    magic        'SDLG'
+ *   int    version
+ *   int    recordSize
+ *   int    reserved
+ *   long   recordCount  (-1 while the segment is still being written)
+ *   long   reserved
+ *
+ * record (56 bytes):
+ *   double timestamp    simulation time of the decision
+ *   long   cloudletId
+ *   long   length       true cloudlet length in MI (always &gt; 0)
+ *   long   vmId         chosen VM
+ *   double cost         cost of the chosen VM
+ *   double runnerUpCost cost of the second best VM (NaN if none)
+ *   double usedLength   length in MI the decision used: predicted with a
+ *                       length predictor, otherwise the true length
+ * </pre>
+ */
+final class DecisionLogFormat {
+
+    static final int MAGIC = 0x53444C47; // "SDLG"
+    static final int VERSION = 2;
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_COUNT_OFFSET = 16;
+    static final long UNSEALED = -1L;
+
+    static final int RECORD_SIZE = 56;
+    static final int TIMESTAMP_OFFSET = 0;
+    static final int CLOUDLET_ID_OFFSET = 8;
+    static final int LENGTH_OFFSET = 16;
+    static final int VM_ID_OFFSET = 24;
+    static final int COST_OFFSET = 32;
+    static final int RUNNER_UP_COST_OFFSET = 40;
+    static final int USED_LENGTH_OFFSET = 48;
+
+    static final String SEGMENT_PREFIX = "decisions-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private DecisionLogFormat() {
+    }
+
+    static String segmentName(int index) {
+        return String.format("%s%05d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,85 @@
+package org.cloudsimplus.trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.cloudsimplus.trace.DecisionLogFormat.*;
+
+/**
+ * Sequential reader of a decision log written by {@link DecisionLogWriter}.
+ *
+ * Segments are memory-mapped read-only and scanned in order. A segment
+ * that was never sealed (e.g. the JVM died) is read up to the first
+ * zero-filled record.
+ */
+public class DecisionLogReader {
+
+    private final Path directory;
+
+    public DecisionLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Visits every record in log order. The same {@link DecisionRecord}
+     * instance is passed on each call.
+     */
+    public void forEach(Consumer<DecisionRecord> visitor) throws IOException {
+        DecisionRecord record = new DecisionRecord();
+        for (Path file : listSegments()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() < HEADER_SIZE) {
+                    continue;
+                }
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                checkHeader(file, buf);
+
+                long capacity = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+                long count = buf.getLong(RECORD_COUNT_OFFSET);
+                boolean sealed = count != UNSEALED;
+                long limit = sealed ? Math.min(count, capacity) : capacity;
+
+                for (long i = 0; i < limit; i++) {
+                    int p = (int) (HEADER_SIZE + i * RECORD_SIZE);
+                    record.length = buf.getLong(p + LENGTH_OFFSET);
+                    if (!sealed && record.length == 0) {
+                        break;
+                    }
+                    record.timestamp = buf.getDouble(p + TIMESTAMP_OFFSET);
+                    record.cloudletId = buf.getLong(p + CLOUDLET_ID_OFFSET);
+                    record.vmId = buf.getLong(p + VM_ID_OFFSET);
+                    record.cost = buf.getDouble(p + COST_OFFSET);
+                    record.runnerUpCost = buf.getDouble(p + RUNNER_UP_COST_OFFSET);
+                    record.usedLength = buf.getDouble(p + USED_LENGTH_OFFSET);
+                    visitor.accept(record);
+                }
+            }
+        }
+    }
+
+    /** @return segment files sorted by index */
+    public List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (var stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static void checkHeader(Path file, MappedByteBuffer buf) throws IOException {
+        if (buf.getInt(0) != MAGIC) {
+            throw new IOException("Not a decision log segment: " + file);
+        }
+        if (buf.getInt(4) != VERSION || buf.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Unsupported decision log version in " + file);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.cloudsimplus.trace;
+
+import org.cloudsimplus.cloudlets.Cloudlet;
+import org.cloudsimplus.examples.MappingListener;
+import org.cloudsimplus.vms.Vm;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.cloudsimplus.trace.DecisionLogFormat.*;
+
+/**
+ * Append-only writer of the scheduling decision log.
+ *
+ * Records are written with absolute puts into a memory-mapped segment, so
+ * appending a decision allocates nothing and costs a few stores. When a
+ * segment is full it is sealed (its record count is written to the header)
+ * and the next one is mapped. Segments keep their mapped size, so they are
+ * kept small and a long run rolls over to more of them. See {@link DecisionLogFormat} for the layout.
+ *
+ * Not thread-safe: meant to be fed by the simulation thread only.
+ */
+public class DecisionLogWriter implements MappingListener, AutoCloseable {
+
+    /** Default segment size: 1 MB, about 18.7K decisions */
+    public static final long DEFAULT_SEGMENT_SIZE = 1024L * 1024;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+
+    private int segmentIndex = -1;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private int recordsInSegment;
+    private long totalRecords;
+
+    public DecisionLogWriter(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param directory directory where segments are created (any existing segments are replaced)
+     * @param segmentSize maximum size of each segment file in bytes
+     */
+    public DecisionLogWriter(Path directory, long segmentSize) throws IOException {
+        if (segmentSize < HEADER_SIZE + RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.directory = directory;
+        this.recordsPerSegment = (int) ((segmentSize - HEADER_SIZE) / RECORD_SIZE);
+
+        Files.createDirectories(directory);
+        try (var stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path old : stream) {
+                Files.delete(old);
+            }
+        }
+        openNextSegment();
+    }
+
+    @Override
+    public void onMapping(Cloudlet cloudlet, Vm vm, double length, double cost, double runnerUpCost, double time) {
+        append(time, cloudlet.getId(), cloudlet.getLength(), vm.getId(), cost, runnerUpCost, length);
+    }
+
+    /**
+     * Appends one decision record.
+     *
+     * @param length true length of the cloudlet
+     * @param usedLength length the decision used, e.g. a predicted one
+     */
+    public void append(double timestamp, long cloudletId, long length, long vmId,
+                       double cost, double runnerUpCost, double usedLength) {
+        if (recordsInSegment == recordsPerSegment) {
+            try {
+                sealSegment();
+                openNextSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not roll decision log segment", e);
+            }
+        }
+
+        MappedByteBuffer buf = segment;
+        int p = position;
+        buf.putDouble(p + TIMESTAMP_OFFSET, timestamp);
+        buf.putLong(p + CLOUDLET_ID_OFFSET, cloudletId);
+        buf.putLong(p + LENGTH_OFFSET, length);
+        buf.putLong(p + VM_ID_OFFSET, vmId);
+        buf.putDouble(p + COST_OFFSET, cost);
+        buf.putDouble(p + RUNNER_UP_COST_OFFSET, runnerUpCost);
+        buf.putDouble(p + USED_LENGTH_OFFSET, usedLength);
+
+        position = p + RECORD_SIZE;
+        recordsInSegment++;
+        totalRecords++;
+    }
+
+    /** @return number of records written so far */
+    public long getTotalRecords() {
+        return totalRecords;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        Path file = directory.resolve(segmentName(segmentIndex));
+        long size = HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE;
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, VERSION);
+        segment.putInt(8, RECORD_SIZE);
+        segment.putLong(RECORD_COUNT_OFFSET, UNSEALED);
+
+        position = HEADER_SIZE;
+        recordsInSegment = 0;
+    }
+
+    /**
+     * Writes the record count to the header and flushes the mapping.
+     * The file keeps its full mapped size (truncating a mapped file fails
+     * on Windows); readers rely on the header count instead.
+     */
+    private void sealSegment() throws IOException {
+        segment.putLong(RECORD_COUNT_OFFSET, recordsInSegment);
+        segment.force();
+        segment = null;
+        channel.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (segment != null) {
+            sealSegment();
+        }
+    }
+}
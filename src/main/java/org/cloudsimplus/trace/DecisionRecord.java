@@ -0,0 +1,29 @@
+package org.cloudsimplus.trace;
+
+/**
+ * A single decision read back from the log.
+ *
+ * Instances are reused by {@link DecisionLogReader} while scanning,
+ * so copy the values out if they need to be kept.
+ */
+public class DecisionRecord {
+    double timestamp;
+    long cloudletId;
+    long length;
+    long vmId;
+    double cost;
+    double runnerUpCost;
+    double usedLength;
+
+    public double getTimestamp()    { return timestamp; }
+    public long getCloudletId()     { return cloudletId; }
+    public long getLength()         { return length; }
+    public long getVmId()           { return vmId; }
+    public double getCost()         { return cost; }
+    public double getRunnerUpCost() { return runnerUpCost; }
+    /** @return length the decision used: predicted with a length predictor, otherwise the true one */
+    public double getUsedLength()   { return usedLength; }
+
+    /** @return how much worse the runner-up VM was (NaN if there was none) */
+    public double getMargin()       { return runnerUpCost - cost; }
+}
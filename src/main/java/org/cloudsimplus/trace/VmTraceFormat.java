@@ -0,0 +1,37 @@
+package org.cloudsimplus.trace;
+
+/**
+ * On-disk layout of a VM trace, written by {@link VmTraceWriter}.
+ *
+ * <pre>
+ * header (16 bytes):
+ *   int    magic        'VMTR'
+ *   int    version
+ *   int    vmCount
+ *   int    reserved
+ *
+ * row (8 + 8 * vmCount bytes), one per simulation clock tick:
+ *   double time         simulation time of the sample
+ *   vmCount times:
+ *     int    queueDepth   cloudlets waiting in the VM's scheduler
+ *     float  utilization  VM CPU utilization in [0, 1]
+ * </pre>
+ *
+ * Rows have a fixed size, so the row count follows from the file size
+ * and a trace that was not closed cleanly is still readable.
+ */
+final class VmTraceFormat {
+
+    static final int MAGIC = 0x564D5452; // "VMTR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    static final String FILE_SUFFIX = ".vmtrace";
+
+    private VmTraceFormat() {
+    }
+
+    static int rowSize(int vmCount) {
+        return Double.BYTES + vmCount * (Integer.BYTES + Float.BYTES);
+    }
+}
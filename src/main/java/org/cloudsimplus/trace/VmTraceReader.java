@@ -0,0 +1,93 @@
+package org.cloudsimplus.trace;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.cloudsimplus.trace.VmTraceFormat.*;
+
+/**
+ * Streams the rows of a trace written by {@link VmTraceWriter}.
+ *
+ * Rows are read sequentially in blocks of whole rows and handed to the consumer
+ * in reused arrays, so reading a trace takes constant memory whatever its size.
+ */
+public class VmTraceReader {
+
+    /** Receives one row; the arrays are reused for the next row. */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(double time, int[] queueDepths, float[] utilizations);
+    }
+
+    // About 1 MB per read, rounded down to whole rows
+    private static final int READ_BLOCK_SIZE = 1 << 20;
+
+    private final Path file;
+    private final int vmCount;
+    private final long rowCount;
+
+    public VmTraceReader(Path file) throws IOException {
+        this.file = file;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a VM trace: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported VM trace version " + version + ": " + file);
+            }
+            vmCount = in.readInt();
+        }
+        rowCount = (Files.size(file) - HEADER_SIZE) / rowSize(vmCount);
+    }
+
+    /**
+     * Reads all complete rows in time order.
+     */
+    public void forEach(RowConsumer consumer) throws IOException {
+        int[] queueDepths = new int[vmCount];
+        float[] utilizations = new float[vmCount];
+        int rowSize = rowSize(vmCount);
+        ByteBuffer block = ByteBuffer.allocateDirect(Math.max(1, READ_BLOCK_SIZE / rowSize) * rowSize);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            channel.position(HEADER_SIZE);
+            long remaining = rowCount;
+            while (remaining > 0) {
+                block.clear();
+                block.limit((int) Math.min(block.capacity(), remaining * rowSize));
+                while (block.hasRemaining()) {
+                    if (channel.read(block) < 0) {
+                        throw new IOException("Unexpected end of VM trace: " + file);
+                    }
+                }
+                block.flip();
+                while (block.hasRemaining()) {
+                    double time = block.getDouble();
+                    for (int vm = 0; vm < vmCount; vm++) {
+                        queueDepths[vm] = block.getInt();
+                        utilizations[vm] = block.getFloat();
+                    }
+                    consumer.accept(time, queueDepths, utilizations);
+                    remaining--;
+                }
+            }
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getVmCount() {
+        return vmCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+}
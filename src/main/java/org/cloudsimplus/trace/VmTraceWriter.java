@@ -0,0 +1,90 @@
+package org.cloudsimplus.trace;
+
+import org.cloudsimplus.core.CloudSimPlus;
+import org.cloudsimplus.vms.Vm;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.cloudsimplus.trace.VmTraceFormat.*;
+
+/**
+ * Records the queue depth and CPU utilization of every VM over simulated time.
+ *
+ * One row is sampled on each simulation clock tick and streamed through a
+ * buffer to disk, so a trace of millions of samples never sits in memory.
+ * See {@link VmTraceFormat} for the layout and {@link VmTraceReader} to read it back.
+ *
+ * Not thread-safe: meant to be fed by the simulation thread only.
+ */
+public class VmTraceWriter implements AutoCloseable {
+
+    private final Path file;
+    private final List<Vm> vms;
+    private final DataOutputStream out;
+    private double lastTime = -1;
+    private long rows;
+
+    /**
+     * @param file trace file to create (replaced if it exists)
+     * @param vms VMs to sample, in the order their columns are written
+     */
+    public VmTraceWriter(Path file, List<Vm> vms) throws IOException {
+        this.file = file;
+        this.vms = List.copyOf(vms);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(this.vms.size());
+        out.writeInt(0);
+    }
+
+    /**
+     * Samples the VMs on every clock tick of the simulation.
+     */
+    public void attach(CloudSimPlus simulation) {
+        simulation.addOnClockTickListener(info -> sample(info.getTime()));
+    }
+
+    /**
+     * Writes one row with the current state of all VMs.
+     * Repeated samples at the same time are ignored.
+     */
+    public void sample(double time) {
+        if (time == lastTime) {
+            return;
+        }
+        lastTime = time;
+        try {
+            out.writeDouble(time);
+            for (Vm vm : vms) {
+                out.writeInt(vm.getCloudletScheduler().getCloudletWaitingList().size());
+                out.writeFloat((float) vm.getCpuPercentUtilization());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rows++;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,225 @@
+package org.cloudsimplus.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Indexed binary min-heap of elements ordered by a double key.
+ *
+ * Elements are told apart by {@link Object#equals}, as in a set, so an
+ * element is in the heap at most once.
+ *
+ * Equal keys keep insertion order. Each element's position is tracked, so
+ * besides O(log n) insertion and removal of the minimum, any element can be
+ * removed or re-keyed in O(log n). {@link #forEachUpTo} visits the elements
+ * with a key not above a given one and no others, as the heap property
+ * stops the walk at the first larger key of each branch. Also a read-only
+ * {@link java.util.List} in heap (not sorted) order, apart from
+ * {@link #remove(Object)}.
+ *
+ * @param <T> type of the elements
+ */
+public final class IndexedMinHeap<T> extends AbstractList<T> {
+
+    private Object[] items = new Object[16];
+    private double[] keys = new double[16];
+    private long[] sequence = new long[16];
+    private final Map<T, Integer> positions = new HashMap<>();
+    private int size;
+    private long nextSequence;
+
+    /**
+     * Adds an element, or changes its key if it is already in the heap.
+     */
+    public void add(T item, double key) {
+        Integer position = positions.get(item);
+        if (position != null) {
+            double old = keys[position];
+            keys[position] = key;
+            if (key < old) {
+                siftUp(position);
+            } else {
+                siftDown(position);
+            }
+            return;
+        }
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            sequence = Arrays.copyOf(sequence, size * 2);
+        }
+        items[size] = item;
+        keys[size] = key;
+        sequence[size] = nextSequence++;
+        positions.put(item, size);
+        siftUp(size++);
+    }
+
+    /** @return the element with the smallest key, or null if empty */
+    public T peek() {
+        return size == 0 ? null : item(0);
+    }
+
+    /** @return the smallest key, or {@link Double#MAX_VALUE} if empty */
+    public double peekKey() {
+        return size == 0 ? Double.MAX_VALUE : keys[0];
+    }
+
+    /** Removes and returns the element with the smallest key, or null if empty. */
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T top = item(0);
+        removeAt(0);
+        return top;
+    }
+
+    /**
+     * Removes the given element, if present, in O(log n).
+     * @return true if it was in the heap
+     */
+    @Override
+    public boolean remove(Object item) {
+        Integer position = positions.get(item);
+        if (position == null) {
+            return false;
+        }
+        removeAt(position);
+        return true;
+    }
+
+    /**
+     * Gives every element a new key computed from its current one and
+     * restores the heap order in O(n). Equal keys still keep insertion order.
+     */
+    public void rekey(KeyUpdate<T> update) {
+        for (int i = 0; i < size; i++) {
+            keys[i] = update.newKey(item(i), keys[i]);
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /** New key of an element from its current key */
+    @FunctionalInterface
+    public interface KeyUpdate<T> {
+        double newKey(T item, double key);
+    }
+
+    /** Visits the elements with a key not above the given one, in no particular order */
+    public void forEachUpTo(double key, Consumer<T> action) {
+        forEachUpTo(0, key, action);
+    }
+
+    /** @return the key of the element, or {@link Double#NaN} if it is not in the heap */
+    public double keyOf(Object item) {
+        Integer position = positions.get(item);
+        return position == null ? Double.NaN : keys[position];
+    }
+
+    /** Tells in O(1) whether the element is in the heap */
+    @Override
+    public boolean contains(Object item) {
+        return positions.containsKey(item);
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return item(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int position) {
+        return (T) items[position];
+    }
+
+    private void forEachUpTo(int position, double key, Consumer<T> action) {
+        if (position >= size || keys[position] > key) {
+            return;
+        }
+        action.accept(item(position));
+        forEachUpTo(2 * position + 1, key, action);
+        forEachUpTo(2 * position + 2, key, action);
+    }
+
+    private void removeAt(int position) {
+        positions.remove(item(position));
+        int last = --size;
+        if (position != last) {
+            move(last, position);
+            items[last] = null;
+            siftDown(position);
+            siftUp(position);
+        } else {
+            items[last] = null;
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && sequence[a] < sequence[b]);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(position, parent)) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+            if (!less(smallest, position)) {
+                break;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        T item = item(a);
+        double key = keys[a];
+        long seq = sequence[a];
+        move(b, a);
+        items[b] = item;
+        keys[b] = key;
+        sequence[b] = seq;
+        positions.put(item, b);
+    }
+
+    private void move(int from, int to) {
+        items[to] = items[from];
+        keys[to] = keys[from];
+        sequence[to] = sequence[from];
+        positions.put(item(to), to);
+    }
+}
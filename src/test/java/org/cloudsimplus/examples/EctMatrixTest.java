@@ -0,0 +1,139 @@
+package org.cloudsimplus.examples;
+
+import org.cloudsimplus.examples.BatchModeBroker.Heuristic;
+import org.cloudsimplus.vms.Vm;
+import org.cloudsimplus.vms.VmSimple;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks {@link EctMatrix} against a naive planner that rescans the whole
+ * matrix for every assignment. A wrong pick only shows as a slightly worse
+ * schedule, so the plans must match exactly, cloudlet by cloudlet.
+ */
+class EctMatrixTest {
+
+    private static final int INSTANCES = 200;
+    private static final int CLOUDLETS = 40;
+    private static final int VMS = 6;
+
+    @ParameterizedTest
+    @EnumSource(Heuristic.class)
+    void matchesNaivePlanner(Heuristic heuristic) {
+        Random random = new Random(42);
+        for (int n = 0; n < INSTANCES; n++) {
+            List<Vm> vms = new ArrayList<>();
+            for (int j = 0; j < VMS; j++) {
+                vms.add(new VmSimple(j, 500 + 500L * random.nextInt(4), 1 + random.nextInt(4)));
+            }
+            EctMatrix ect = new EctMatrix();
+            NaivePlanner naive = new NaivePlanner(vms);
+
+            // Two batches, so ready times carried over from the first one are checked too
+            double now = 0;
+            for (int batch = 0; batch < 2; batch++) {
+                double[] lengths = new double[CLOUDLETS];
+                int[] pes = new int[CLOUDLETS];
+                double[] arrivals = new double[CLOUDLETS];
+                for (int i = 0; i < CLOUDLETS; i++) {
+                    lengths[i] = 1000 + random.nextInt(20_000);
+                    pes[i] = 1 + random.nextInt(4);
+                    arrivals[i] = now + random.nextInt(20);
+                }
+
+                EctMatrix.Assignment[] expected = naive.plan(heuristic, lengths, pes, arrivals, now);
+                EctMatrix.Assignment[] actual = ect.plan(heuristic, vms, lengths, pes, arrivals, now);
+                for (int i = 0; i < CLOUDLETS; i++) {
+                    String where = "%s instance %d batch %d cloudlet %d".formatted(heuristic, n, batch, i);
+                    assertSame(expected[i].vm(), actual[i].vm(), where);
+                    assertEquals(expected[i].completionTime(), actual[i].completionTime(), 0, where);
+                }
+                now += 10;
+            }
+        }
+    }
+
+    /** O(k²·V) reference: every step scans every unplanned row on every VM */
+    private static final class NaivePlanner {
+        private final List<Vm> vms;
+        private final double[][] ready;
+
+        NaivePlanner(List<Vm> vms) {
+            this.vms = vms;
+            this.ready = new double[vms.size()][];
+            for (int j = 0; j < vms.size(); j++) {
+                ready[j] = new double[(int) vms.get(j).getPesNumber()];
+            }
+        }
+
+        EctMatrix.Assignment[] plan(Heuristic heuristic, double[] lengths, int[] pes, double[] arrivals, double now) {
+            for (double[] times : ready) {
+                for (int p = 0; p < times.length; p++) {
+                    times[p] = Math.max(times[p], now);
+                }
+            }
+            int k = lengths.length;
+            EctMatrix.Assignment[] plan = new EctMatrix.Assignment[k];
+            boolean[] planned = new boolean[k];
+            for (int step = 0; step < k; step++) {
+                int pick = -1;
+                int pickVm = -1;
+                double pickEct = 0;
+                double pickKey = 0;
+                for (int i = 0; i < k; i++) {
+                    if (planned[i]) {
+                        continue;
+                    }
+                    int best = -1;
+                    int second = -1;
+                    double bestEct = Double.MAX_VALUE;
+                    double secondEct = Double.MAX_VALUE;
+                    for (int j = 0; j < vms.size(); j++) {
+                        if (ready[j].length < pes[i]) {
+                            continue;
+                        }
+                        double ect = Math.max(ready[j][pes[i] - 1], arrivals[i]) + lengths[i] / vms.get(j).getMips();
+                        if (ect < bestEct) {
+                            second = best;
+                            secondEct = bestEct;
+                            best = j;
+                            bestEct = ect;
+                        } else if (ect < secondEct) {
+                            second = j;
+                            secondEct = ect;
+                        }
+                    }
+                    double key = switch (heuristic) {
+                        case MIN_MIN -> bestEct;
+                        case MAX_MIN -> best < 0 ? Double.MAX_VALUE : -bestEct;
+                        case SUFFERAGE -> second < 0 ? -Double.MAX_VALUE : -(secondEct - bestEct);
+                    };
+                    if (pick < 0 || key < pickKey) {
+                        pick = i;
+                        pickVm = best;
+                        pickEct = bestEct;
+                        pickKey = key;
+                    }
+                }
+
+                planned[pick] = true;
+                if (pickVm < 0) {
+                    plan[pick] = new EctMatrix.Assignment(Vm.NULL, Double.NaN);
+                    continue;
+                }
+                plan[pick] = new EctMatrix.Assignment(vms.get(pickVm), pickEct);
+                Arrays.fill(ready[pickVm], 0, pes[pick], pickEct);
+                Arrays.sort(ready[pickVm]);
+            }
+            return plan;
+        }
+    }
+}